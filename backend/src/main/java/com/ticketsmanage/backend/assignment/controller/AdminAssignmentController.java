@@ -0,0 +1,26 @@
+package com.ticketsmanage.backend.assignment.controller;
+
+import com.ticketsmanage.backend.assignment.dto.AgentLoadResponse;
+import com.ticketsmanage.backend.assignment.service.AgentWorkloadTracker;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/assignment")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminAssignmentController {
+
+    private final AgentWorkloadTracker agentWorkloadTracker;
+
+    /**
+     * Per-agent load as this node sees it, least loaded first.
+     */
+    @GetMapping("/load")
+    public List<AgentLoadResponse> load() {
+        return agentWorkloadTracker.snapshot();
+    }
+}
@@ -0,0 +1,17 @@
+package com.ticketsmanage.backend.assignment.dto;
+
+import com.ticketsmanage.backend.ticket.entity.TicketPriority;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Live tickets held by one assignee, as tracked in memory by this node.
+ */
+public record AgentLoadResponse(
+        UUID agentId,
+        boolean eligible,
+        Map<TicketPriority, Integer> open,
+        Map<TicketPriority, Integer> inProgress,
+        int weightedLoad
+) {}
@@ -0,0 +1,416 @@
+package com.ticketsmanage.backend.assignment.service;
+
+import com.ticketsmanage.backend.assignment.dto.AgentLoadResponse;
+import com.ticketsmanage.backend.ticket.entity.TicketPriority;
+import com.ticketsmanage.backend.ticket.entity.TicketStatus;
+import com.ticketsmanage.backend.user.entity.UserRole;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * In-memory count of live tickets per assignee, by status and priority,
+ * with the eligible support agents ordered by weighted load.
+ *
+ * The order is a sorted set, so picking the least-loaded agent and moving
+ * an agent after a change are O(log n). Every read and change happens
+ * under one monitor: a pick and its increment are a single step, so
+ * concurrent creates always see each other's reservations. Changes apply
+ * immediately and are undone if their transaction rolls back.
+ *
+ * Counts are rebuilt from the tickets table at startup and periodically,
+ * which also corrects drift from changes made on other nodes. Changes made
+ * while a rebuild reads the table are recorded and replayed onto its
+ * result, and each rebuild starts a new generation: a rollback of a change
+ * from an earlier generation is dropped, since the rebuilt counts never
+ * included it.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AgentWorkloadTracker {
+
+    private static final String AGENTS_SQL = """
+            select id from users where role = 'SUPPORT_AGENT' and is_active = true
+            """;
+
+    private static final String LOAD_SQL = """
+            select assignee_id, status, priority, count(*) as tickets
+            from tickets
+            where is_deleted = false
+              and assignee_id is not null
+              and status in ('OPEN', 'IN_PROGRESS')
+            group by assignee_id, status, priority
+            """;
+
+    // least weighted load first; among equals the one picked longest ago
+    private static final Comparator<AgentLoad> BY_LOAD = Comparator
+            .comparingInt((AgentLoad a) -> a.weighted)
+            .thenComparingLong(a -> a.lastPicked)
+            .thenComparing(a -> a.id);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // per priority, in declaration order: LOW, MEDIUM, HIGH, URGENT
+    @Value("${app.assignment.priority-weights:1,2,3,5}")
+    private List<Integer> priorityWeights;
+
+    // weighted load at which an agent stops receiving tickets; 0 means no limit
+    @Value("${app.assignment.max-weighted-load:0}")
+    private int maxWeightedLoad;
+
+    private final Map<UUID, AgentLoad> loads = new HashMap<>();
+    private final TreeSet<AgentLoad> queue = new TreeSet<>(BY_LOAD);
+    private final Object rebuildLock = new Object();
+    private long picks;
+
+    // bumped as each rebuild starts; liveGeneration is the one whose counts are in use
+    private long generation;
+    private long liveGeneration;
+
+    // non-null while a rebuild is reading the database
+    private List<Delta> pendingDeltas;
+    private Map<UUID, Boolean> pendingEligibility;
+
+    private record Delta(UUID assigneeId, TicketStatus status, TicketPriority priority, int delta) {
+    }
+
+    private static final class AgentLoad {
+
+        final UUID id;
+        // [0] OPEN, [1] IN_PROGRESS; indexed by priority ordinal
+        final int[][] counts = new int[2][TicketPriority.values().length];
+        boolean eligible;
+        int weighted;
+        long lastPicked;
+
+        AgentLoad(UUID id) {
+            this.id = id;
+        }
+    }
+
+    /**
+     * Picks the least-loaded eligible agent and counts the ticket against
+     * them. Returns null when there is no agent or all are at the limit.
+     * Inside a transaction the reservation is released on rollback.
+     */
+    public synchronized UUID reserve(TicketPriority priority) {
+
+        AgentLoad agent = queue.isEmpty() ? null : queue.first();
+
+        if (agent == null
+                || (maxWeightedLoad > 0 && agent.weighted + weight(priority) > maxWeightedLoad)) {
+            return null;
+        }
+
+        queue.remove(agent);
+        agent.lastPicked = ++picks;
+        queue.add(agent);
+
+        move(null, null, agent.id, TicketStatus.OPEN, priority);
+
+        return agent.id;
+    }
+
+    /**
+     * Records a ticket leaving one assignee or status and arriving at
+     * another. A null assignee, or a status other than OPEN or IN_PROGRESS,
+     * on either side means the ticket does not count there.
+     */
+    public synchronized void move(
+            UUID fromAssignee,
+            TicketStatus fromStatus,
+            UUID toAssignee,
+            TicketStatus toStatus,
+            TicketPriority priority
+    ) {
+
+        boolean counted = counts(fromAssignee, fromStatus);
+        boolean counts = counts(toAssignee, toStatus);
+
+        if (counted && counts && fromAssignee.equals(toAssignee) && fromStatus == toStatus) {
+            return;
+        }
+
+        if (counted) {
+            apply(fromAssignee, fromStatus, priority, -1, true);
+        }
+
+        if (counts) {
+            apply(toAssignee, toStatus, priority, 1, true);
+        }
+
+        long stamp = generation;
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public void afterCompletion(int status) {
+
+                            if (status != STATUS_COMMITTED) {
+                                undo(stamp, fromAssignee, counted ? fromStatus : null,
+                                        toAssignee, counts ? toStatus : null, priority);
+                            }
+                        }
+                    });
+        }
+    }
+
+    /**
+     * Adds a user to or removes them from the candidates; their counts
+     * stay either way.
+     */
+    public synchronized void setEligible(UUID userId, boolean eligible) {
+
+        if (pendingEligibility != null) {
+            pendingEligibility.put(userId, eligible);
+        }
+
+        AgentLoad agent = loads.computeIfAbsent(userId, AgentLoad::new);
+
+        if (agent.eligible == eligible) {
+            return;
+        }
+
+        agent.eligible = eligible;
+
+        if (eligible) {
+            queue.add(agent);
+        } else {
+            queue.remove(agent);
+        }
+    }
+
+    /**
+     * Updates the user's candidacy after a role or status change, once
+     * the transaction making it commits.
+     */
+    public void userChanged(UUID userId, UserRole role, boolean active) {
+
+        boolean eligible = role == UserRole.SUPPORT_AGENT && active;
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public void afterCommit() {
+                            setEligible(userId, eligible);
+                        }
+                    });
+        } else {
+            setEligible(userId, eligible);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        rebuild();
+    }
+
+    /**
+     * Replaces the counts with the ones in the database, then replays the
+     * changes made while it was read. A change whose transaction commits
+     * between the start of the rebuild and the query is counted twice, and
+     * one still uncommitted when the rebuild starts is missed; the next run
+     * corrects both.
+     */
+    @Scheduled(cron = "${app.assignment.rebuild-cron:0 */10 * * * *}", zone = "UTC")
+    public void rebuild() {
+
+        synchronized (rebuildLock) {
+
+            synchronized (this) {
+                generation++;
+                pendingDeltas = new ArrayList<>();
+                pendingEligibility = new HashMap<>();
+            }
+
+            try {
+                rebuildFromDatabase();
+            } finally {
+                synchronized (this) {
+                    pendingDeltas = null;
+                    pendingEligibility = null;
+                }
+            }
+        }
+    }
+
+    private void rebuildFromDatabase() {
+
+        Map<UUID, AgentLoad> rebuilt = new HashMap<>();
+
+        jdbcTemplate.query(LOAD_SQL, rs -> {
+            AgentLoad agent = rebuilt.computeIfAbsent(rs.getObject("assignee_id", UUID.class), AgentLoad::new);
+
+            agent.counts[statusIndex(TicketStatus.valueOf(rs.getString("status")))]
+                    [TicketPriority.valueOf(rs.getString("priority")).ordinal()] = rs.getInt("tickets");
+        });
+
+        Set<UUID> agents = new HashSet<>(jdbcTemplate.queryForList(AGENTS_SQL, UUID.class));
+
+        agents.forEach(id -> rebuilt.computeIfAbsent(id, AgentLoad::new));
+
+        synchronized (this) {
+
+            rebuilt.values().forEach(agent -> agent.eligible = agents.contains(agent.id));
+
+            pendingDeltas.forEach(d -> adjust(
+                    rebuilt.computeIfAbsent(d.assigneeId(), AgentLoad::new), d.status(), d.priority(), d.delta()));
+            pendingEligibility.forEach((id, eligible) ->
+                    rebuilt.computeIfAbsent(id, AgentLoad::new).eligible = eligible);
+
+            rebuilt.values().forEach(agent -> {
+                agent.weighted = weighted(agent);
+
+                // keep the rotation among equally loaded agents
+                AgentLoad previous = loads.get(agent.id);
+                agent.lastPicked = previous != null ? previous.lastPicked : 0;
+            });
+
+            loads.clear();
+            loads.putAll(rebuilt);
+
+            queue.clear();
+            rebuilt.values().stream()
+                    .filter(agent -> agent.eligible)
+                    .forEach(queue::add);
+
+            liveGeneration = generation;
+        }
+
+        log.debug("Agent workload rebuilt for {} agents", agents.size());
+    }
+
+    public synchronized List<AgentLoadResponse> snapshot() {
+
+        return loads.values().stream()
+                .sorted(BY_LOAD)
+                .map(agent -> new AgentLoadResponse(
+                        agent.id,
+                        agent.eligible,
+                        byPriority(agent.counts[0]),
+                        byPriority(agent.counts[1]),
+                        agent.weighted))
+                .toList();
+    }
+
+    /**
+     * Reverses a rolled-back move. A null status means that side was not
+     * counted. A rebuild that started after the move never included it,
+     * so the reversal is not replayed onto one still reading and is
+     * dropped once one is in use.
+     */
+    private synchronized void undo(
+            long stamp,
+            UUID fromAssignee,
+            TicketStatus fromStatus,
+            UUID toAssignee,
+            TicketStatus toStatus,
+            TicketPriority priority
+    ) {
+
+        if (stamp < liveGeneration) {
+            return;
+        }
+
+        boolean record = stamp == generation;
+
+        if (toStatus != null) {
+            apply(toAssignee, toStatus, priority, -1, record);
+        }
+
+        if (fromStatus != null) {
+            apply(fromAssignee, fromStatus, priority, 1, record);
+        }
+    }
+
+    private synchronized void apply(
+            UUID assigneeId,
+            TicketStatus status,
+            TicketPriority priority,
+            int delta,
+            boolean record
+    ) {
+
+        if (record && pendingDeltas != null) {
+            pendingDeltas.add(new Delta(assigneeId, status, priority, delta));
+        }
+
+        AgentLoad agent = loads.computeIfAbsent(assigneeId, AgentLoad::new);
+
+        // the sort key changes, so the agent has to leave the set first
+        boolean queued = agent.eligible && queue.remove(agent);
+
+        adjust(agent, status, priority, delta);
+        agent.weighted = weighted(agent);
+
+        if (queued) {
+            queue.add(agent);
+        }
+    }
+
+    private void adjust(AgentLoad agent, TicketStatus status, TicketPriority priority, int delta) {
+
+        int[] row = agent.counts[statusIndex(status)];
+        row[priority.ordinal()] = Math.max(0, row[priority.ordinal()] + delta);
+    }
+
+    private boolean counts(UUID assigneeId, TicketStatus status) {
+        return assigneeId != null
+                && (status == TicketStatus.OPEN || status == TicketStatus.IN_PROGRESS);
+    }
+
+    private int statusIndex(TicketStatus status) {
+        return status == TicketStatus.OPEN ? 0 : 1;
+    }
+
+    private int weighted(AgentLoad agent) {
+
+        int total = 0;
+
+        for (int[] row : agent.counts) {
+            for (TicketPriority priority : TicketPriority.values()) {
+                total += row[priority.ordinal()] * weight(priority);
+            }
+        }
+
+        return total;
+    }
+
+    private int weight(TicketPriority priority) {
+        return priority.ordinal() < priorityWeights.size()
+                ? priorityWeights.get(priority.ordinal())
+                : 1;
+    }
+
+    private Map<TicketPriority, Integer> byPriority(int[] row) {
+
+        Map<TicketPriority, Integer> counts = new EnumMap<>(TicketPriority.class);
+
+        for (TicketPriority priority : TicketPriority.values()) {
+            counts.put(priority, row[priority.ordinal()]);
+        }
+
+        return counts;
+    }
+}
@@ -0,0 +1,69 @@
+package com.ticketsmanage.backend.assignment.service;
+
+import com.ticketsmanage.backend.ticket.entity.TicketEntity;
+import com.ticketsmanage.backend.ticket.entity.TicketStatus;
+import com.ticketsmanage.backend.user.entity.UserEntity;
+import com.ticketsmanage.backend.user.entity.UserRole;
+import com.ticketsmanage.backend.user.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Assigns new tickets to the least-loaded support agent.
+ */
+@Service
+@RequiredArgsConstructor
+public class AutoAssignmentService {
+
+    // agents deactivated or demoted since the last rebuild are skipped this many times at most
+    private static final int MAX_PICKS = 5;
+
+    private final AgentWorkloadTracker agentWorkloadTracker;
+    private final UserRepository userRepository;
+
+    @Value("${app.assignment.auto-assign:true}")
+    private boolean enabled;
+
+    /**
+     * Picks an agent for the ticket and sets them as its assignee. Empty
+     * when auto-assignment is off, the ticket is assigned already, or no
+     * agent has capacity. Must run in the transaction that saves the
+     * ticket, so a rollback releases the agent's reservation.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Optional<UserEntity> assign(TicketEntity ticket) {
+
+        if (!enabled || ticket.getAssignee() != null) {
+            return Optional.empty();
+        }
+
+        for (int i = 0; i < MAX_PICKS; i++) {
+
+            UUID agentId = agentWorkloadTracker.reserve(ticket.getPriority());
+
+            if (agentId == null) {
+                return Optional.empty();
+            }
+
+            Optional<UserEntity> agent = userRepository.findById(agentId)
+                    .filter(u -> u.isActive() && u.getRole() == UserRole.SUPPORT_AGENT);
+
+            if (agent.isPresent()) {
+                ticket.setAssignee(agent.get());
+                return agent;
+            }
+
+            // stale candidate: give the reservation back and drop them
+            agentWorkloadTracker.move(agentId, TicketStatus.OPEN, null, null, ticket.getPriority());
+            agentWorkloadTracker.setEligible(agentId, false);
+        }
+
+        return Optional.empty();
+    }
+}
@@ -1,14 +1,24 @@
 package com.ticketsmanage.backend.attachment.controller;
 
 import com.ticketsmanage.backend.attachment.dto.AttachmentResponse;
+import com.ticketsmanage.backend.attachment.dto.CompleteUploadRequest;
+import com.ticketsmanage.backend.attachment.dto.DownloadUrlResponse;
+import com.ticketsmanage.backend.attachment.dto.PresignUploadRequest;
+import com.ticketsmanage.backend.attachment.dto.PresignedUploadResponse;
 import com.ticketsmanage.backend.attachment.dto.UploadAttachmentResponse;
 import com.ticketsmanage.backend.attachment.service.AttachmentService;
+import com.ticketsmanage.backend.common.pagination.CursorPage;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.UUID;
 
@@ -27,6 +37,50 @@ public class AttachmentController {
         return attachmentService.upload(ticketId, file);
     }
 
+    /**
+     * Raw-body upload: the request body is the file itself, streamed to
+     * storage without multipart spooling.
+     */
+    @PostMapping("/stream")
+    public UploadAttachmentResponse uploadStream(
+            @PathVariable UUID ticketId,
+            @RequestParam String fileName,
+            @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType,
+            HttpServletRequest request
+    ) throws IOException {
+
+        long length = request.getContentLengthLong();
+
+        return attachmentService.uploadStream(
+                ticketId,
+                fileName,
+                contentType,
+                length >= 0 ? length : null,
+                request.getInputStream());
+    }
+
+    /**
+     * Direct upload, step one: a presigned PUT for sending the file to S3.
+     */
+    @PostMapping("/presign")
+    public PresignedUploadResponse presignUpload(
+            @PathVariable UUID ticketId,
+            @RequestBody @Valid PresignUploadRequest request
+    ) {
+        return attachmentService.presignUpload(ticketId, request);
+    }
+
+    /**
+     * Direct upload, step two: records the attachment once the PUT succeeded.
+     */
+    @PostMapping("/complete")
+    public UploadAttachmentResponse completeUpload(
+            @PathVariable UUID ticketId,
+            @RequestBody @Valid CompleteUploadRequest request
+    ) {
+        return attachmentService.completeUpload(ticketId, request);
+    }
+
     @GetMapping
     public List<AttachmentResponse> list(
             @PathVariable UUID ticketId
@@ -34,12 +88,51 @@ public class AttachmentController {
         return attachmentService.getAttachments(ticketId);
     }
 
+    @GetMapping("/page")
+    public CursorPage<AttachmentResponse> listPage(
+            @PathVariable UUID ticketId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String order
+    ) {
+        return attachmentService.getAttachmentsPage(ticketId, cursor, limit, order);
+    }
+
+    /**
+     * Every attachment on the ticket as one streamed ZIP archive.
+     */
+    @GetMapping("/bundle")
+    public void downloadBundle(
+            @PathVariable UUID ticketId,
+            HttpServletResponse response
+    ) throws IOException {
+        attachmentService.downloadBundle(ticketId, response);
+    }
+
     @GetMapping("/{attachmentId}/download")
     public ResponseEntity<Resource> download(
+            @PathVariable UUID ticketId,
+            @PathVariable UUID attachmentId,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) throws IOException {
+        return attachmentService.download(ticketId, attachmentId, request, response);
+    }
+
+    @GetMapping("/{attachmentId}/thumbnail")
+    public ResponseEntity<byte[]> thumbnail(
+            @PathVariable UUID ticketId,
+            @PathVariable UUID attachmentId
+    ) throws IOException {
+        return attachmentService.getThumbnail(ticketId, attachmentId);
+    }
+
+    @GetMapping("/{attachmentId}/download-url")
+    public DownloadUrlResponse downloadUrl(
             @PathVariable UUID ticketId,
             @PathVariable UUID attachmentId
     ) {
-        return attachmentService.download(ticketId, attachmentId);
+        return attachmentService.getDownloadUrl(ticketId, attachmentId);
     }
 
     @DeleteMapping("/{attachmentId}")
@@ -0,0 +1,9 @@
+package com.ticketsmanage.backend.attachment.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+public record CompleteUploadRequest(
+
+        @NotBlank
+        String storageKey
+) {}
@@ -0,0 +1,8 @@
+package com.ticketsmanage.backend.attachment.dto;
+
+import java.time.Instant;
+
+public record DownloadUrlResponse(
+        String url,
+        Instant expiresAt
+) {}
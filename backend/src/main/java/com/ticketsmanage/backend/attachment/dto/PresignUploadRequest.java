@@ -0,0 +1,22 @@
+package com.ticketsmanage.backend.attachment.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+
+public record PresignUploadRequest(
+
+        @NotBlank
+        String fileName,
+
+        String contentType,
+
+        @NotNull
+        @Positive
+        Long fileSize,
+
+        // hex SHA-256 of the file; when given, S3 verifies the uploaded bytes
+        @Pattern(regexp = "[0-9a-fA-F]{64}")
+        String checksumSha256
+) {}
@@ -0,0 +1,12 @@
+package com.ticketsmanage.backend.attachment.dto;
+
+import java.time.Instant;
+import java.util.Map;
+
+public record PresignedUploadResponse(
+        String storageKey,
+        String url,
+        String method,
+        Map<String, String> headers,
+        Instant expiresAt
+) {}
@@ -0,0 +1,47 @@
+package com.ticketsmanage.backend.attachment.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "attachment_blobs")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AttachmentBlobEntity {
+
+    // hex SHA-256 of the content
+    @Id
+    @Column(length = 64)
+    private String sha256;
+
+    @Column(name = "storage_path", nullable = false, columnDefinition = "TEXT")
+    private String storagePath;
+
+    // bytes as stored, after compression
+    @Column(name = "size_bytes", nullable = false)
+    private long sizeBytes;
+
+    // null when stored as uploaded
+    @Column(name = "content_encoding", length = 16)
+    private String contentEncoding;
+
+    // live (not soft-deleted) attachments pointing at this blob
+    @Column(name = "ref_count", nullable = false)
+    private int refCount;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @Column(name = "released_at")
+    private Instant releasedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = Instant.now();
+    }
+}
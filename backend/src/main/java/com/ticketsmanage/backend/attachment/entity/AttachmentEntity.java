@@ -41,9 +41,29 @@ public class AttachmentEntity {
     @Column(name = "storage_path", nullable = false)
     private String storagePath;
 
+    // codec of the stored bytes, e.g. gzip; null when stored as uploaded
+    @Column(name = "content_encoding", length = 16)
+    private String contentEncoding;
+
+    // bytes in storage; differs from fileSize when compressed, null for older rows
+    @Column(name = "stored_size")
+    private Long storedSize;
+
+    // hex SHA-256 of the uploaded content; null for uploads that predate it
+    @Column(name = "checksum_sha256", length = 64)
+    private String checksumSha256;
+
+    // set once a thumbnail exists next to the stored file
+    @Column(name = "thumbnail_content_type", length = 32)
+    private String thumbnailContentType;
+
     @Column(nullable = false)
     private boolean deleted = false;
 
+    // hard-deleted by AttachmentReclaimService once past the grace period
+    @Column(name = "deleted_at")
+    private Instant deletedAt;
+
     @Column(name = "created_at", updatable = false)
     private Instant createdAt;
 
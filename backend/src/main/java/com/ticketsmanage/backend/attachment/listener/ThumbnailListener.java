@@ -0,0 +1,20 @@
+package com.ticketsmanage.backend.attachment.listener;
+
+import com.ticketsmanage.backend.attachment.service.ThumbnailService;
+import com.ticketsmanage.backend.notification.event.AttachmentUploadedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+// Only hands the attachment to the thumbnail pool, so the upload thread never waits on it
+@Component
+@RequiredArgsConstructor
+public class ThumbnailListener {
+
+    private final ThumbnailService thumbnailService;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAttachmentUploaded(AttachmentUploadedEvent event) {
+        thumbnailService.submit(event.attachmentId());
+    }
+}
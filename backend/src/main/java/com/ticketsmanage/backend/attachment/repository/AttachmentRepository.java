@@ -2,8 +2,13 @@ package com.ticketsmanage.backend.attachment.repository;
 
 import com.ticketsmanage.backend.attachment.entity.AttachmentEntity;
 import com.ticketsmanage.backend.ticket.entity.TicketEntity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -18,4 +23,78 @@ public interface AttachmentRepository
     Optional<AttachmentEntity> findByIdAndDeletedFalse(
             UUID id
     );
+
+    boolean existsByStoragePath(
+            String storagePath
+    );
+
+    /**
+     * Holds a transaction-level advisory lock on the storage path, so a
+     * check for an existing row and the insert that follows it run one
+     * caller at a time per path; storage_path is not unique.
+     */
+    @Query(value = """
+        select count(*)
+        from (
+            select pg_advisory_xact_lock(hashtext(:storagePath))
+        ) locked
+    """, nativeQuery = true)
+    long lockStoragePath(@Param("storagePath") String storagePath);
+
+    // deduplicated uploads share a stored file, and so its thumbnail
+    Optional<AttachmentEntity> findFirstByStoragePathAndThumbnailContentTypeIsNotNull(
+            String storagePath
+    );
+
+    @Modifying
+    @Query("""
+        update AttachmentEntity a
+        set a.thumbnailContentType = :contentType
+        where a.id = :id
+    """)
+    int setThumbnailContentType(
+            @Param("id") UUID id,
+            @Param("contentType") String contentType
+    );
+
+    @Query("""
+        select a
+        from AttachmentEntity a
+        where a.ticket.id = :ticketId
+          and a.deleted = false
+    """)
+    List<AttachmentEntity> findPageByTicket(
+            @Param("ticketId") UUID ticketId,
+            Pageable pageable
+    );
+
+    @Query("""
+        select a
+        from AttachmentEntity a
+        where a.ticket.id = :ticketId
+          and a.deleted = false
+          and (a.createdAt < :createdAt
+               or (a.createdAt = :createdAt and a.id < :id))
+    """)
+    List<AttachmentEntity> findPageByTicketBefore(
+            @Param("ticketId") UUID ticketId,
+            @Param("createdAt") Instant createdAt,
+            @Param("id") UUID id,
+            Pageable pageable
+    );
+
+    @Query("""
+        select a
+        from AttachmentEntity a
+        where a.ticket.id = :ticketId
+          and a.deleted = false
+          and (a.createdAt > :createdAt
+               or (a.createdAt = :createdAt and a.id > :id))
+    """)
+    List<AttachmentEntity> findPageByTicketAfter(
+            @Param("ticketId") UUID ticketId,
+            @Param("createdAt") Instant createdAt,
+            @Param("id") UUID id,
+            Pageable pageable
+    );
 }
@@ -0,0 +1,194 @@
+package com.ticketsmanage.backend.attachment.service;
+
+import com.ticketsmanage.backend.common.lock.ClusterLock;
+import com.ticketsmanage.backend.common.storage.BlobStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reference-counted, content-addressed storage behind attachments.
+ *
+ * Uploads are written to a fresh storage path while their SHA-256 is
+ * computed, then registered here in the same transaction that inserts
+ * the attachment row. If a blob with that hash already exists, the new
+ * attachment points at it and the freshly written copy is deleted once
+ * the transaction commits. Attachments recorded before blobs existed
+ * have no row here and are never counted or collected.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AttachmentBlobService {
+
+    private static final String REGISTER_SQL = """
+            insert into attachment_blobs (sha256, storage_path, size_bytes, content_encoding, ref_count, created_at)
+            values (?, ?, ?, ?, 1, now())
+            on conflict (sha256) do update
+                set ref_count = attachment_blobs.ref_count + 1,
+                    released_at = null
+            returning storage_path, size_bytes, content_encoding
+            """;
+
+    // the path check keeps pre-blob attachments with a matching checksum out of the count
+    private static final String RELEASE_SQL = """
+            update attachment_blobs
+            set ref_count = ref_count - 1,
+                released_at = case when ref_count = 1 then now() else released_at end
+            where sha256 = ?
+              and storage_path = ?
+              and ref_count > 0
+            """;
+
+    private static final String UNREFERENCED_SQL = """
+            select sha256
+            from attachment_blobs
+            where ref_count = 0
+            order by released_at
+            limit ?
+            """;
+
+    // re-checked under the row lock, a concurrent upload may have taken a reference
+    private static final String COLLECT_SQL = """
+            delete from attachment_blobs
+            where sha256 = ?
+              and ref_count = 0
+            returning storage_path
+            """;
+
+    /**
+     * Where a blob's bytes live and how they are encoded there; a duplicate
+     * upload takes these from the existing blob, not from its own copy.
+     */
+    public record StoredBlob(String storagePath, long sizeBytes, String contentEncoding) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BlobStore blobStore;
+    private final ClusterLock clusterLock;
+
+    @Value("${app.attachments.blob-gc.batch-size:500}")
+    private int gcBatchSize;
+
+    /**
+     * Takes a reference on the blob with this hash, creating it from the
+     * freshly written copy if it is new. Must run inside the transaction
+     * that records the attachment; returns the blob the attachment uses.
+     * Size and encoding describe the bytes as stored.
+     */
+    public StoredBlob register(String sha256, String writtenPath, long storedSize, String contentEncoding) {
+
+        StoredBlob blob = jdbcTemplate.queryForObject(
+                REGISTER_SQL,
+                (rs, rowNum) -> new StoredBlob(
+                        rs.getString("storage_path"),
+                        rs.getLong("size_bytes"),
+                        rs.getString("content_encoding")),
+                sha256,
+                writtenPath,
+                storedSize,
+                contentEncoding);
+
+        boolean duplicate = !writtenPath.equals(blob.storagePath());
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                // nothing references the written copy unless it became the blob and committed
+                if (duplicate || status != STATUS_COMMITTED) {
+                    deleteStored(writtenPath);
+                }
+            }
+        });
+
+        if (duplicate) {
+            log.debug("Deduplicated upload {} onto existing blob", sha256);
+        }
+
+        return blob;
+    }
+
+    /**
+     * Drops one reference; must run in the transaction that soft-deletes the
+     * attachment. Does nothing for attachments stored before blobs.
+     */
+    public void release(String sha256, String storagePath) {
+
+        if (sha256 == null) {
+            return;
+        }
+
+        jdbcTemplate.update(RELEASE_SQL, sha256, storagePath);
+    }
+
+    @Scheduled(cron = "${app.attachments.blob-gc.cron:0 30 3 * * *}", zone = "UTC")
+    public void collectGarbage() {
+
+        clusterLock.runExclusive("attachment-blob-gc", () -> {
+
+            int collected = 0;
+            List<String> candidates;
+
+            do {
+                candidates = jdbcTemplate.queryForList(UNREFERENCED_SQL, String.class, gcBatchSize);
+
+                List<String> keys = new ArrayList<>();
+
+                for (String sha256 : candidates) {
+
+                    // each delete commits on its own before the bytes go
+                    List<String> paths = jdbcTemplate.queryForList(COLLECT_SQL, String.class, sha256);
+
+                    for (String path : paths) {
+                        keys.add(path);
+                        keys.add(ThumbnailService.thumbnailPath(path));
+                        collected++;
+                    }
+                }
+
+                // one multi-object delete per batch; failures are left to reconciliation
+                deleteAllStored(keys);
+
+            } while (candidates.size() == gcBatchSize);
+
+            if (collected > 0) {
+                log.info("Collected {} unreferenced attachment blobs", collected);
+            }
+        });
+    }
+
+    private void deleteAllStored(List<String> keys) {
+
+        if (keys.isEmpty()) {
+            return;
+        }
+
+        try {
+            List<String> failed = BlobStore.await(blobStore.deleteAll(keys));
+
+            if (!failed.isEmpty()) {
+                log.warn("Failed to delete {} stored attachments, first {}", failed.size(), failed.get(0));
+            }
+
+        } catch (RuntimeException e) {
+            log.warn("Failed to delete {} stored attachments", keys.size(), e);
+        }
+    }
+
+    private void deleteStored(String path) {
+        try {
+            BlobStore.await(blobStore.delete(path));
+        } catch (RuntimeException e) {
+            // an orphaned object only costs space; nothing references it
+            log.warn("Failed to delete stored attachment {}", path, e);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.ticketsmanage.backend.attachment.service;
+
+import com.ticketsmanage.backend.attachment.entity.AttachmentEntity;
+import com.ticketsmanage.backend.common.storage.BlobStore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Streams attachments into a ZIP archive as they are read from storage.
+ *
+ * The next attachment is opened while the current one is being written,
+ * so its first bytes are already on their way when the writer gets to
+ * it. Only the current and the next stream are open at any time, so
+ * memory stays bounded by the store's read-ahead whatever the bundle size.
+ */
+@Component
+@RequiredArgsConstructor
+class AttachmentBundleWriter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final BlobStore blobStore;
+    private final AttachmentCompression attachmentCompression;
+
+    /**
+     * Writes the archive to the stream and finishes it, without closing
+     * the stream. A storage failure aborts the archive half-written, so
+     * the client sees a failed download rather than a bundle with files
+     * missing.
+     */
+    void write(List<AttachmentEntity> attachments, OutputStream out) throws IOException {
+
+        ZipOutputStream zip = new ZipOutputStream(new BufferedOutputStream(out, BUFFER_SIZE));
+        Set<String> names = new HashSet<>();
+
+        CompletableFuture<InputStream> next = attachments.isEmpty()
+                ? null
+                : blobStore.open(attachments.get(0).getStoragePath());
+
+        try {
+            for (int i = 0; i < attachments.size(); i++) {
+
+                AttachmentEntity attachment = attachments.get(i);
+                CompletableFuture<InputStream> current = next;
+
+                next = i + 1 < attachments.size()
+                        ? blobStore.open(attachments.get(i + 1).getStoragePath())
+                        : null;
+
+                try (InputStream in = AttachmentCompression.decode(
+                        BlobStore.await(current),
+                        attachment.getContentEncoding())) {
+
+                    ZipEntry entry = new ZipEntry(uniqueName(attachment.getFileName(), names));
+
+                    if (attachment.getCreatedAt() != null) {
+                        entry.setTime(attachment.getCreatedAt().toEpochMilli());
+                    }
+
+                    // images, archives and media are compressed already; deflating them again only costs CPU
+                    zip.setLevel(attachmentCompression.isCompressible(attachment.getContentType())
+                            ? Deflater.DEFAULT_COMPRESSION
+                            : Deflater.NO_COMPRESSION);
+
+                    zip.putNextEntry(entry);
+                    in.transferTo(zip);
+                    zip.closeEntry();
+                }
+            }
+
+            zip.finish();
+            zip.flush();
+
+        } catch (IOException | RuntimeException e) {
+            discard(next);
+            throw e;
+        }
+    }
+
+    private void discard(CompletableFuture<InputStream> pending) {
+
+        if (pending == null) {
+            return;
+        }
+
+        pending.thenAccept(in -> {
+            try {
+                in.close();
+            } catch (IOException e) {
+                // nothing was read from it
+            }
+        });
+    }
+
+    /**
+     * Attachments on one ticket may share a name; later ones get a counter
+     * before the extension, as file managers do.
+     */
+    private String uniqueName(String fileName, Set<String> taken) {
+
+        String name = fileName == null || fileName.isBlank() ? "attachment" : fileName;
+
+        if (taken.add(name)) {
+            return name;
+        }
+
+        int dot = name.lastIndexOf('.');
+        String base = dot > 0 ? name.substring(0, dot) : name;
+        String extension = dot > 0 ? name.substring(dot) : "";
+
+        for (int n = 2; ; n++) {
+            String candidate = base + " (" + n + ")" + extension;
+
+            if (taken.add(candidate)) {
+                return candidate;
+            }
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.ticketsmanage.backend.attachment.service;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Decides which uploads are stored compressed and encodes or decodes them.
+ *
+ * Only text-like types are compressed; images, archives and media are
+ * already compressed and would only cost CPU. The attachment keeps its
+ * original size and checksum, the codec is recorded next to them.
+ */
+@Component
+class AttachmentCompression {
+
+    static final String GZIP = "gzip";
+
+    @Value("${app.attachments.compression.enabled:true}")
+    private boolean enabled;
+
+    // exact types, or prefixes ending in '/'
+    @Value("${app.attachments.compression.types:text/,application/json,application/x-ndjson,application/xml,application/csv,application/javascript,application/x-yaml,application/sql}")
+    private List<String> types;
+
+    // below this the gzip framing eats most of the saving
+    @Value("${app.attachments.compression.min-size-bytes:1024}")
+    private long minSizeBytes;
+
+    @Value("${app.attachments.compression.level:6}")
+    private int level;
+
+    /**
+     * Whether an upload of this type should be stored compressed. An
+     * unknown length counts as large enough.
+     */
+    boolean shouldCompress(String contentType, Long contentLength) {
+
+        if (!enabled || (contentLength != null && contentLength < minSizeBytes)) {
+            return false;
+        }
+
+        return isCompressible(contentType);
+    }
+
+    /**
+     * Whether the type is text-like and worth deflating, regardless of
+     * whether stored compression is enabled.
+     */
+    boolean isCompressible(String contentType) {
+
+        if (contentType == null) {
+            return false;
+        }
+
+        // drop parameters such as charset
+        String type = contentType.split(";", 2)[0].trim().toLowerCase(Locale.ROOT);
+
+        return type.endsWith("+json")
+                || type.endsWith("+xml")
+                || types.stream().anyMatch(t -> t.endsWith("/") ? type.startsWith(t) : type.equals(t));
+    }
+
+    GzipCompressingInputStream compress(InputStream in) {
+        return new GzipCompressingInputStream(in, level);
+    }
+
+    /**
+     * Wraps stored bytes so they read as the original content.
+     */
+    static InputStream decode(InputStream stored, String contentEncoding) throws IOException {
+
+        if (contentEncoding == null) {
+            return stored;
+        }
+
+        if (GZIP.equals(contentEncoding)) {
+            return new GZIPInputStream(stored, 64 * 1024);
+        }
+
+        stored.close();
+        throw new IOException("Unsupported content encoding: " + contentEncoding);
+    }
+
+    /**
+     * Whether the request's Accept-Encoding allows the coding, q=0 excluded.
+     */
+    static boolean accepts(HttpServletRequest request, String coding) {
+
+        String header = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+
+        if (header == null) {
+            return false;
+        }
+
+        for (String part : header.split(",")) {
+
+            String[] tokens = part.split(";");
+            String name = tokens[0].trim();
+
+            if (!name.equalsIgnoreCase(coding) && !name.equals("*")) {
+                continue;
+            }
+
+            boolean rejected = false;
+
+            for (int i = 1; i < tokens.length; i++) {
+                String param = tokens[i].trim();
+
+                if (param.startsWith("q=")) {
+                    try {
+                        rejected = Double.parseDouble(param.substring(2)) == 0;
+                    } catch (NumberFormatException e) {
+                        rejected = true;
+                    }
+                }
+            }
+
+            if (!rejected) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
@@ -0,0 +1,327 @@
+package com.ticketsmanage.backend.attachment.service;
+
+import com.ticketsmanage.backend.common.storage.BlobStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Size-bounded, least-recently-used copy of remote objects on local disk.
+ *
+ * Concurrent misses for the same key share one fetch. Objects are
+ * checked against the stored SHA-256 before they enter the cache, and
+ * the cache directory is re-indexed on startup, so it survives restarts.
+ */
+@Slf4j
+@Component
+class AttachmentDiskCache {
+
+    private record Entry(Path file, long size) {
+    }
+
+    private final BlobStore blobStore;
+    private final MeterRegistry meterRegistry;
+
+    // access-ordered, so iteration starts at the least recently used entry
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private final Map<String, CompletableFuture<Entry>> loading = new ConcurrentHashMap<>();
+
+    private long totalBytes;
+
+    private Counter hits;
+    private Counter misses;
+    private Counter evictions;
+    private Counter corrupt;
+
+    @Value("${app.attachments.disk-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.attachments.disk-cache.dir:cache/attachments}")
+    private String dir;
+
+    @Value("${app.attachments.disk-cache.max-bytes:2147483648}")
+    private long maxBytes;
+
+    // larger objects stream straight from the store rather than flushing the cache
+    @Value("${app.attachments.disk-cache.max-entry-bytes:104857600}")
+    private long maxEntryBytes;
+
+    AttachmentDiskCache(BlobStore blobStore, MeterRegistry meterRegistry) {
+        this.blobStore = blobStore;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    void init() throws IOException {
+
+        if (!isActive()) {
+            return;
+        }
+
+        hits = meterRegistry.counter("attachment.disk_cache", "result", "hit");
+        misses = meterRegistry.counter("attachment.disk_cache", "result", "miss");
+        evictions = meterRegistry.counter("attachment.disk_cache", "result", "eviction");
+        corrupt = meterRegistry.counter("attachment.disk_cache", "result", "checksum_mismatch");
+
+        Gauge.builder("attachment.disk_cache.bytes", this, c -> c.currentBytes())
+                .register(meterRegistry);
+
+        Path root = Paths.get(dir);
+        Files.createDirectories(root);
+
+        List<Path> files = new ArrayList<>();
+
+        try (Stream<Path> listing = Files.list(root)) {
+            listing.forEach(files::add);
+        }
+
+        // oldest first, so the most recently filled entries end up most recently used
+        files.sort(Comparator.comparingLong(this::lastModified));
+
+        for (Path file : files) {
+
+            String name = file.getFileName().toString();
+
+            if (name.endsWith(".tmp")) {
+                // a fill that never finished
+                Files.deleteIfExists(file);
+                continue;
+            }
+
+            // file names are the hashed keys, so they index the entries directly
+            synchronized (this) {
+                entries.put(name, new Entry(file, Files.size(file)));
+                totalBytes += Files.size(file);
+            }
+        }
+
+        evictOverflow();
+
+        log.info("Attachment disk cache at {} holds {} bytes", root.toAbsolutePath(), currentBytes());
+    }
+
+    boolean isActive() {
+        // local stores are already on disk
+        return enabled && blobStore.isRemote();
+    }
+
+    /**
+     * Opens the object, from disk if cached, otherwise fetching it from the
+     * store into the cache first. Objects over the entry limit bypass the cache.
+     */
+    InputStream open(String key, long size, String checksumSha256) throws IOException {
+
+        if (!isActive() || size > maxEntryBytes) {
+            return openRemote(key);
+        }
+
+        String name = fileName(key);
+
+        for (int attempt = 0; attempt < 2; attempt++) {
+
+            Entry entry = lookup(name);
+
+            if (entry != null && entry.size() == size) {
+                try {
+                    InputStream in = Files.newInputStream(entry.file());
+                    hits.increment();
+                    return in;
+                } catch (NoSuchFileException e) {
+                    // evicted between lookup and open
+                    remove(name, entry);
+                    continue;
+                }
+            }
+
+            if (entry != null) {
+                // size no longer matches the attachment; refetch
+                remove(name, entry);
+            }
+
+            Entry filled = fill(name, key, size, checksumSha256);
+
+            try {
+                return Files.newInputStream(filled.file());
+            } catch (NoSuchFileException e) {
+                // evicted right away by a burst of larger fills; try once more
+            }
+        }
+
+        return openRemote(key);
+    }
+
+    private Entry fill(String name, String key, long size, String checksumSha256) throws IOException {
+
+        CompletableFuture<Entry> mine = new CompletableFuture<>();
+        CompletableFuture<Entry> existing = loading.putIfAbsent(name, mine);
+
+        if (existing != null) {
+            return await(existing);
+        }
+
+        try {
+            misses.increment();
+
+            Entry entry = download(name, key, size, checksumSha256);
+
+            synchronized (this) {
+                Entry previous = entries.put(name, entry);
+                totalBytes += entry.size() - (previous != null ? previous.size() : 0);
+            }
+
+            evictOverflow();
+
+            mine.complete(entry);
+            return entry;
+
+        } catch (IOException | RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+
+        } finally {
+            loading.remove(name, mine);
+        }
+    }
+
+    private Entry download(String name, String key, long size, String checksumSha256) throws IOException {
+
+        Path target = Paths.get(dir, name);
+        // fills are single-flight per key, so the temp name cannot collide
+        Path temp = Paths.get(dir, name + ".tmp");
+
+        MessageDigest digest = sha256();
+        long written;
+
+        try (InputStream in = openRemote(key)) {
+
+            written = Files.copy(new DigestInputStream(in, digest), temp,
+                    StandardCopyOption.REPLACE_EXISTING);
+
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+
+        String actual = HexFormat.of().formatHex(digest.digest());
+
+        if (written != size || (checksumSha256 != null && !checksumSha256.equalsIgnoreCase(actual))) {
+            Files.deleteIfExists(temp);
+            corrupt.increment();
+            throw new IOException("Checksum mismatch for " + key);
+        }
+
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        return new Entry(target, written);
+    }
+
+    private InputStream openRemote(String key) throws IOException {
+        try {
+            return BlobStore.await(blobStore.open(key));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private synchronized Entry lookup(String name) {
+        return entries.get(name);
+    }
+
+    private synchronized void remove(String name, Entry entry) {
+        if (entries.remove(name, entry)) {
+            totalBytes -= entry.size();
+        }
+    }
+
+    private void evictOverflow() {
+
+        List<Entry> victims = new ArrayList<>();
+
+        synchronized (this) {
+            Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+
+            while (totalBytes > maxBytes && it.hasNext()) {
+                Entry victim = it.next().getValue();
+                it.remove();
+                totalBytes -= victim.size();
+                victims.add(victim);
+            }
+        }
+
+        // readers that already opened a victim keep reading the unlinked file
+        for (Entry victim : victims) {
+            try {
+                Files.deleteIfExists(victim.file());
+                evictions.increment();
+            } catch (IOException e) {
+                log.warn("Failed to evict cached attachment {}", victim.file(), e);
+            }
+        }
+    }
+
+    private synchronized long currentBytes() {
+        return totalBytes;
+    }
+
+    private Entry await(CompletableFuture<Entry> future) throws IOException {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    private String fileName(String key) {
+        return HexFormat.of().formatHex(sha256().digest(key.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private long lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
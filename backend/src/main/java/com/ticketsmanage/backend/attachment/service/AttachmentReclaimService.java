@@ -0,0 +1,341 @@
+package com.ticketsmanage.backend.attachment.service;
+
+import com.ticketsmanage.backend.common.lock.ClusterLock;
+import com.ticketsmanage.backend.common.storage.BlobListing;
+import com.ticketsmanage.backend.common.storage.BlobStore;
+import com.ticketsmanage.backend.user.service.UserPhotoService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Gives back the storage of deleted attachments.
+ *
+ * Soft-deleted rows past the grace period are hard-deleted in batches; each
+ * batch commits before its bytes are deleted, so a crash can only leave
+ * orphaned objects, never rows pointing at missing ones. Bytes behind a
+ * blob are left to {@link AttachmentBlobService}, which counts references.
+ *
+ * A reconciliation pass then lists stored keys and deletes those no row
+ * references, which catches uploads that failed before their row
+ * committed and deletes that failed above. It remembers where it stopped
+ * per key prefix, so a bounded run resumes on the next schedule.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AttachmentReclaimService {
+
+    // rows soft-deleted before deleted_at existed and restored from the archive have no timestamp
+    private static final String RECLAIM_SQL = """
+            delete from ticket_attachments
+            where id in (
+                select id
+                from ticket_attachments
+                where deleted = true
+                  and (deleted_at is null or deleted_at < ?)
+                order by deleted_at nulls first
+                limit ?
+                for update skip locked)
+            returning storage_path
+            """;
+
+    private static final String REFERENCED_ATTACHMENT_PATHS_SQL = """
+            select storage_path from ticket_attachments where storage_path in (:paths)
+            union
+            select storage_path from attachment_blobs where storage_path in (:paths)
+            """;
+
+    // raw uploads from before photos were resized
+    private static final String REFERENCED_PHOTO_PATHS_SQL = """
+            select profile_picture_url from users where profile_picture_url in (:paths)
+            """;
+
+    private static final String PHOTO_VERSIONS_SQL = """
+            select id, photo_version from users where id in (:ids) and photo_version is not null
+            """;
+
+    // archived attachment rows live in cold segments, so their keys are not in the tables
+    private static final String ARCHIVED_TICKETS_SQL = """
+            select ticket_id from ticket_archive_index where ticket_id in (:ids)
+            """;
+
+    private static final String CURSOR_SQL = """
+            select last_key from storage_reconcile_cursors where prefix = ?
+            """;
+
+    private static final String SAVE_CURSOR_SQL = """
+            insert into storage_reconcile_cursors (prefix, last_key, updated_at)
+            values (?, ?, now())
+            on conflict (prefix) do update
+                set last_key = excluded.last_key,
+                    updated_at = excluded.updated_at
+            """;
+
+    // every key the application writes starts with one of these
+    private static final List<String> PREFIXES = List.of("blobs/", "tickets/", "users/");
+
+    private static final String THUMBNAIL_SUFFIX = ThumbnailService.thumbnailPath("");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BlobStore blobStore;
+    private final ClusterLock clusterLock;
+
+    @Value("${app.attachments.reclaim.grace-days:7}")
+    private int graceDays;
+
+    @Value("${app.attachments.reclaim.batch-size:500}")
+    private int batchSize;
+
+    // uploads in flight have written their object but not yet their row
+    @Value("${app.attachments.reclaim.orphan-grace-hours:24}")
+    private int orphanGraceHours;
+
+    @Value("${app.attachments.reclaim.max-keys-per-run:100000}")
+    private int maxKeysPerRun;
+
+    @Scheduled(cron = "${app.attachments.reclaim.cron:0 0 3 * * *}", zone = "UTC")
+    public void reclaim() {
+
+        clusterLock.runExclusive("attachment-reclaim", () -> {
+            reclaimDeleted();
+
+            for (String prefix : PREFIXES) {
+                reconcile(prefix);
+            }
+        });
+    }
+
+    private void reclaimDeleted() {
+
+        Timestamp cutoff = Timestamp.from(Instant.now().minus(Duration.ofDays(graceDays)));
+
+        int rows = 0;
+        int objects = 0;
+        List<String> paths;
+
+        do {
+            List<String> unreferenced = new ArrayList<>();
+
+            paths = transactionTemplate.execute(status -> {
+
+                List<String> deleted = jdbcTemplate.queryForList(RECLAIM_SQL, String.class, cutoff, batchSize);
+
+                if (!deleted.isEmpty()) {
+                    // deduplicated rows share a path; only the last reference lets the bytes go
+                    Set<String> candidates = new HashSet<>(deleted);
+
+                    candidates.removeAll(namedJdbcTemplate.queryForList(
+                            REFERENCED_ATTACHMENT_PATHS_SQL,
+                            Map.of("paths", candidates),
+                            String.class));
+
+                    unreferenced.addAll(candidates);
+                }
+
+                return deleted;
+            });
+
+            rows += paths.size();
+            objects += deleteObjects(unreferenced, true);
+
+        } while (paths.size() == batchSize);
+
+        if (rows > 0) {
+            log.info("Reclaimed {} deleted attachments and {} stored objects", rows, objects);
+        }
+    }
+
+    private void reconcile(String prefix) {
+
+        Instant orphanCutoff = Instant.now().minus(Duration.ofHours(orphanGraceHours));
+
+        String cursor = jdbcTemplate.queryForList(CURSOR_SQL, String.class, prefix)
+                .stream()
+                .findFirst()
+                .orElse(null);
+
+        int scanned = 0;
+        int deleted = 0;
+        List<BlobListing> page;
+
+        do {
+            page = BlobStore.await(blobStore.list(prefix, cursor, Math.min(batchSize, 1000)));
+
+            List<String> candidates = page.stream()
+                    .filter(o -> o.lastModified().isBefore(orphanCutoff))
+                    .map(BlobListing::key)
+                    .toList();
+
+            // thumbnails are listed like any other key
+            deleted += deleteObjects(orphans(prefix, candidates), false);
+            scanned += page.size();
+
+            // an empty page means the listing wrapped; the next run starts over
+            cursor = page.isEmpty() ? null : page.get(page.size() - 1).key();
+            jdbcTemplate.update(SAVE_CURSOR_SQL, prefix, cursor);
+
+        } while (!page.isEmpty() && scanned < maxKeysPerRun);
+
+        if (deleted > 0) {
+            log.info("Deleted {} orphaned objects under {}", deleted, prefix);
+        }
+    }
+
+    /**
+     * The keys that nothing references. Thumbnails count as referenced
+     * while their original is.
+     */
+    private List<String> orphans(String prefix, List<String> keys) {
+
+        if (keys.isEmpty()) {
+            return List.of();
+        }
+
+        Map<String, Object> params = Map.of("paths", keys.stream().map(this::ownerKey).distinct().toList());
+
+        Set<String> referenced = new HashSet<>(prefix.equals("users/")
+                ? namedJdbcTemplate.queryForList(REFERENCED_PHOTO_PATHS_SQL, params, String.class)
+                : namedJdbcTemplate.queryForList(REFERENCED_ATTACHMENT_PATHS_SQL, params, String.class));
+
+        // photo variants count as referenced while their version is the user's current one
+        Set<String> photoVersions = prefix.equals("users/")
+                ? currentPhotoVersions(keys)
+                : Set.of();
+
+        Set<UUID> archived = prefix.equals("tickets/")
+                ? archivedTickets(keys)
+                : Set.of();
+
+        return keys.stream()
+                .filter(key -> !referenced.contains(ownerKey(key)))
+                .filter(key -> !photoVersions.contains(photoVersionPrefix(key)))
+                .filter(key -> !archived.contains(ticketId(key)))
+                .toList();
+    }
+
+    private Set<UUID> archivedTickets(List<String> keys) {
+
+        List<UUID> ids = keys.stream()
+                .map(this::ticketId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+
+        if (ids.isEmpty()) {
+            return Set.of();
+        }
+
+        return new HashSet<>(namedJdbcTemplate.queryForList(
+                ARCHIVED_TICKETS_SQL,
+                Map.of("ids", ids),
+                UUID.class));
+    }
+
+    private Set<String> currentPhotoVersions(List<String> keys) {
+
+        List<UUID> ids = keys.stream()
+                .filter(key -> photoVersionPrefix(key) != null)
+                .map(this::userId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+
+        if (ids.isEmpty()) {
+            return Set.of();
+        }
+
+        return new HashSet<>(namedJdbcTemplate.query(
+                PHOTO_VERSIONS_SQL,
+                Map.of("ids", ids),
+                (rs, rowNum) -> UserPhotoService.versionPrefix(
+                        rs.getObject("id", UUID.class),
+                        rs.getString("photo_version"))));
+    }
+
+    private int deleteObjects(Collection<String> paths, boolean withThumbnails) {
+
+        if (paths.isEmpty()) {
+            return 0;
+        }
+
+        List<String> keys = new ArrayList<>(paths);
+
+        if (withThumbnails) {
+            paths.forEach(p -> keys.add(ThumbnailService.thumbnailPath(p)));
+        }
+
+        List<String> failed = BlobStore.await(blobStore.deleteAll(keys));
+
+        if (!failed.isEmpty()) {
+            // reconciliation finds them again on a later pass
+            log.warn("Failed to delete {} stored objects, first {}", failed.size(), failed.get(0));
+        }
+
+        return keys.size() - failed.size();
+    }
+
+    private String ownerKey(String key) {
+        return key.endsWith(THUMBNAIL_SUFFIX)
+                ? key.substring(0, key.length() - THUMBNAIL_SUFFIX.length())
+                : key;
+    }
+
+    // tickets/<ticketId>/<uuid>_<name>; null for anything else
+    private UUID ticketId(String key) {
+        return leadingId("tickets/", key);
+    }
+
+    // users/<userId>/...; null for anything else
+    private UUID userId(String key) {
+        return leadingId("users/", key);
+    }
+
+    private UUID leadingId(String prefix, String key) {
+
+        int end = key.indexOf('/', prefix.length());
+
+        if (!key.startsWith(prefix) || end < 0) {
+            return null;
+        }
+
+        try {
+            return UUID.fromString(key.substring(prefix.length(), end));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    // users/<userId>/<version>/ of a photo variant key; null for raw uploads and anything else
+    private String photoVersionPrefix(String key) {
+
+        if (!key.startsWith("users/")) {
+            return null;
+        }
+
+        String[] parts = key.split("/");
+
+        return parts.length == 4
+                ? parts[0] + "/" + parts[1] + "/" + parts[2] + "/"
+                : null;
+    }
+}
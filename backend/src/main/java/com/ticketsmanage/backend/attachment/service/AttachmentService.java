@@ -1,34 +1,62 @@
 package com.ticketsmanage.backend.attachment.service;
 
 import com.ticketsmanage.backend.attachment.dto.AttachmentResponse;
+import com.ticketsmanage.backend.attachment.dto.CompleteUploadRequest;
+import com.ticketsmanage.backend.attachment.dto.DownloadUrlResponse;
+import com.ticketsmanage.backend.attachment.dto.PresignUploadRequest;
+import com.ticketsmanage.backend.attachment.dto.PresignedUploadResponse;
 import com.ticketsmanage.backend.attachment.dto.UploadAttachmentResponse;
 import com.ticketsmanage.backend.attachment.entity.AttachmentEntity;
 import com.ticketsmanage.backend.attachment.repository.AttachmentRepository;
+import com.ticketsmanage.backend.attachment.service.AttachmentBlobService.StoredBlob;
+import com.ticketsmanage.backend.common.pagination.Cursor;
+import com.ticketsmanage.backend.common.pagination.CursorPage;
+import com.ticketsmanage.backend.common.pagination.PageOrder;
+import com.ticketsmanage.backend.common.storage.BlobMetadata;
+import com.ticketsmanage.backend.common.storage.BlobStore;
+import com.ticketsmanage.backend.common.storage.PresignedRequest;
+import com.ticketsmanage.backend.notification.event.AttachmentUploadedEvent;
+import com.ticketsmanage.backend.quota.service.StorageQuotaService;
 import com.ticketsmanage.backend.security.util.SecurityUtils;
 import com.ticketsmanage.backend.ticket.entity.TicketEntity;
 import com.ticketsmanage.backend.ticket.repository.TicketRepository;
 import com.ticketsmanage.backend.user.entity.UserEntity;
 import com.ticketsmanage.backend.user.entity.UserRole;
 import com.ticketsmanage.backend.user.repository.UserRepository;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.net.MalformedURLException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 
 @Service
@@ -38,18 +66,58 @@ public class AttachmentService {
         private final AttachmentRepository attachmentRepository;
         private final TicketRepository ticketRepository;
         private final UserRepository userRepository;
-        private final S3Service s3Service;
+        private final BlobStore blobStore;
+        private final ApplicationEventPublisher eventPublisher;
+        private final TransactionTemplate transactionTemplate;
+        private final LocalFileSender localFileSender;
+        private final AttachmentBlobService attachmentBlobService;
+        private final ThumbnailService thumbnailService;
+        private final AttachmentDiskCache attachmentDiskCache;
+        private final AttachmentCompression attachmentCompression;
+        private final AttachmentBundleWriter attachmentBundleWriter;
+        private final StorageQuotaService storageQuotaService;
+
+        @Value("${app.attachments.max-size-bytes:104857600}")
+        private long maxUploadBytes;
+
+        // clients move bytes to and from storage themselves via presigned URLs
+        @Value("${app.attachments.direct-transfer:false}")
+        private boolean directTransfer;
+
+        @Value("${app.attachments.presign-ttl-seconds:300}")
+        private long presignTtlSeconds;
 
-        @Value("${aws.s3.enabled:false}")
-        private boolean s3Enabled;
-
-        private static final Path BASE_DIR = Paths.get("uploads/tickets");
-
-        @Transactional
         public UploadAttachmentResponse upload(
                         UUID ticketId,
                         MultipartFile file) {
 
+                try (InputStream in = file.getInputStream()) {
+
+                        return uploadStream(
+                                        ticketId,
+                                        file.getOriginalFilename(),
+                                        file.getContentType(),
+                                        file.getSize(),
+                                        in);
+
+                } catch (IOException e) {
+                        throw new RuntimeException(
+                                        "Failed to store file", e);
+                }
+        }
+
+        /**
+         * Streams the request body straight to storage, hashing and counting
+         * it on the way. Nothing is spooled, and the size limit is enforced as
+         * bytes arrive. No transaction is held while the body streams.
+         */
+        public UploadAttachmentResponse uploadStream(
+                        UUID ticketId,
+                        String fileName,
+                        String contentType,
+                        Long contentLength,
+                        InputStream body) {
+
                 TicketEntity ticket = ticketRepository.findByIdAndDeletedFalse(ticketId)
                                 .orElseThrow(() -> new RuntimeException("Ticket not found"));
 
@@ -57,47 +125,234 @@ public class AttachmentService {
 
                 validateCanAccess(ticket, currentUser);
 
-                try {
-                        String storedName = UUID.randomUUID() + "_" +
-                                        file.getOriginalFilename();
+                if (fileName == null || fileName.isBlank()) {
+                        throw new IllegalArgumentException("File name is required");
+                }
 
-                        String storagePath;
+                if (contentLength != null && contentLength > maxUploadBytes) {
+                        throw new MaxUploadSizeExceededException(maxUploadBytes);
+                }
+
+                // the stream stops at whichever limit is nearer, the upload cap or the quota
+                long quotaRemaining = storageQuotaService.remaining(currentUser.getId(), ticketId);
+                long limit = Math.min(maxUploadBytes, quotaRemaining);
 
-                        if (s3Enabled) {
-                                // S3 storage
-                                String s3Key = "tickets/" + ticketId + "/" + storedName;
-                                s3Service.uploadFile(file, s3Key);
-                                storagePath = s3Key;
-                        } else {
-                                // Local file storage
-                                Path ticketDir = BASE_DIR.resolve(ticketId.toString());
+                if (contentLength != null && contentLength > limit) {
+                        storageQuotaService.checkUpload(currentUser.getId(), ticketId, contentLength);
+                }
 
-                                Files.createDirectories(ticketDir);
+                // the name comes from a query parameter, so drop any path segments
+                String originalName = Paths.get(fileName).getFileName().toString();
+                String writtenPath = "blobs/" + UUID.randomUUID();
+                String type = contentType != null ? contentType : MediaType.APPLICATION_OCTET_STREAM_VALUE;
 
-                                Path targetPath = ticketDir.resolve(storedName);
+                // size limit and checksum apply to the content as uploaded, before compression
+                CountingDigestInputStream in = new CountingDigestInputStream(body, limit);
 
-                                Files.copy(file.getInputStream(), targetPath);
-                                storagePath = targetPath.toString();
+                GzipCompressingInputStream compressed = attachmentCompression.shouldCompress(type, contentLength)
+                                ? attachmentCompression.compress(in)
+                                : null;
+
+                try {
+                        // the body is read on this thread; only the store's own I/O runs elsewhere
+                        BlobStore.await(compressed != null
+                                        ? blobStore.put(writtenPath, compressed, null, type)
+                                        : blobStore.put(writtenPath, in, contentLength, type));
+
+                } catch (RuntimeException e) {
+                        if (in.isLimitExceeded()) {
+                                if (quotaRemaining < maxUploadBytes) {
+                                        storageQuotaService.checkUpload(currentUser.getId(), ticketId, in.getCount());
+                                }
+
+                                throw new MaxUploadSizeExceededException(maxUploadBytes);
                         }
 
-                        AttachmentEntity entity = AttachmentEntity.builder()
+                        throw new RuntimeException("Failed to store file", e);
+
+                } finally {
+                        closeQuietly(compressed);
+                }
+
+                String checksum = in.getChecksum();
+                long storedSize = compressed != null ? compressed.getCompressedCount() : in.getCount();
+                String contentEncoding = compressed != null ? AttachmentCompression.GZIP : null;
+
+                AttachmentEntity saved = transactionTemplate.execute(status -> {
+
+                        // a duplicate points at the existing blob, the copy just written is dropped
+                        StoredBlob blob = attachmentBlobService.register(
+                                        checksum,
+                                        writtenPath,
+                                        storedSize,
+                                        contentEncoding);
+
+                        // after register, so a rejected charge also drops the written copy
+                        storageQuotaService.charge(currentUser.getId(), ticketId, in.getCount());
+
+                        AttachmentEntity row = attachmentRepository.save(AttachmentEntity.builder()
                                         .ticket(ticket)
                                         .uploadedBy(currentUser)
-                                        .fileName(file.getOriginalFilename())
-                                        .contentType(file.getContentType())
-                                        .fileSize(file.getSize())
-                                        .storagePath(storagePath)
+                                        .fileName(originalName)
+                                        .contentType(type)
+                                        .fileSize(in.getCount())
+                                        .storagePath(blob.storagePath())
+                                        .contentEncoding(blob.contentEncoding())
+                                        .storedSize(blob.sizeBytes())
+                                        .checksumSha256(checksum)
                                         .deleted(false)
-                                        .build();
+                                        .build());
 
-                        AttachmentEntity saved = attachmentRepository.save(entity);
+                        eventPublisher.publishEvent(new AttachmentUploadedEvent(
+                                        ticket.getId(),
+                                        row.getId(),
+                                        currentUser.getId()));
 
-                        return new UploadAttachmentResponse(saved.getId());
+                        return row;
+                });
 
-                } catch (IOException e) {
-                        throw new RuntimeException(
-                                        "Failed to store file", e);
+                return new UploadAttachmentResponse(saved.getId());
+        }
+
+        /**
+         * Signs a PUT the client uses to send the file straight to storage. The
+         * attachment is only recorded once {@link #completeUpload} confirms
+         * the object exists.
+         */
+        public PresignedUploadResponse presignUpload(
+                        UUID ticketId,
+                        PresignUploadRequest request) {
+
+                requireDirectTransfer();
+
+                TicketEntity ticket = ticketRepository.findByIdAndDeletedFalse(ticketId)
+                                .orElseThrow(() -> new RuntimeException("Ticket not found"));
+
+                UserEntity currentUser = getCurrentUser();
+
+                validateCanAccess(ticket, currentUser);
+
+                if (request.fileSize() > maxUploadBytes) {
+                        throw new MaxUploadSizeExceededException(maxUploadBytes);
                 }
+
+                storageQuotaService.checkUpload(currentUser.getId(), ticketId, request.fileSize());
+
+                String originalName = Paths.get(request.fileName()).getFileName().toString();
+                String key = "tickets/" + ticketId + "/" + UUID.randomUUID() + "_" + originalName;
+                String type = request.contentType() != null
+                                ? request.contentType()
+                                : MediaType.APPLICATION_OCTET_STREAM_VALUE;
+
+                String checksum = request.checksumSha256() != null
+                                ? Base64.getEncoder().encodeToString(
+                                                HexFormat.of().parseHex(request.checksumSha256()))
+                                : null;
+
+                PresignedRequest presigned = blobStore.presignPut(
+                                key,
+                                type,
+                                request.fileSize(),
+                                checksum,
+                                Duration.ofSeconds(presignTtlSeconds));
+
+                // the client has to send these exactly as signed; Host is set by the HTTP client
+                Map<String, String> headers = new LinkedHashMap<>();
+
+                presigned.signedHeaders().forEach((name, values) -> {
+                        if (!name.equalsIgnoreCase(HttpHeaders.HOST)) {
+                                headers.put(name, String.join(",", values));
+                        }
+                });
+
+                return new PresignedUploadResponse(
+                                key,
+                                presigned.url(),
+                                "PUT",
+                                headers,
+                                presigned.expiresAt());
+        }
+
+        /**
+         * Records an attachment the client uploaded with a presigned PUT.
+         * Size and checksum are taken from the stored object, not the client.
+         */
+        public UploadAttachmentResponse completeUpload(
+                        UUID ticketId,
+                        CompleteUploadRequest request) {
+
+                requireDirectTransfer();
+
+                TicketEntity ticket = ticketRepository.findByIdAndDeletedFalse(ticketId)
+                                .orElseThrow(() -> new RuntimeException("Ticket not found"));
+
+                UserEntity currentUser = getCurrentUser();
+
+                validateCanAccess(ticket, currentUser);
+
+                String key = request.storageKey();
+                String prefix = "tickets/" + ticketId + "/";
+
+                // <prefix><uuid>_<file name>, as issued by presignUpload
+                if (!key.startsWith(prefix)
+                                || key.indexOf('/', prefix.length()) >= 0
+                                || key.length() < prefix.length() + 38
+                                || key.charAt(prefix.length() + 36) != '_') {
+                        throw new IllegalArgumentException("Unknown upload");
+                }
+
+                BlobMetadata stored = BlobStore.await(blobStore.head(key))
+                                .orElseThrow(() -> new IllegalArgumentException(
+                                                "Upload not found in storage"));
+
+                if (stored.size() > maxUploadBytes) {
+                        BlobStore.await(blobStore.delete(key));
+                        throw new MaxUploadSizeExceededException(maxUploadBytes);
+                }
+
+                String checksum = stored.checksumSha256();
+
+                AttachmentEntity saved = transactionTemplate.execute(status -> {
+
+                        // a retried or duplicated completion waits here until the first commits
+                        attachmentRepository.lockStoragePath(key);
+
+                        if (attachmentRepository.existsByStoragePath(key)) {
+                                throw new IllegalArgumentException("Upload already completed");
+                        }
+
+                        // without a client checksum the store has none either, so it cannot be deduplicated
+                        StoredBlob blob = checksum != null
+                                        ? attachmentBlobService.register(checksum, key, stored.size(), null)
+                                        : new StoredBlob(key, stored.size(), null);
+
+                        // an object over quota is left to reconciliation unless the blob rollback drops it
+                        storageQuotaService.charge(currentUser.getId(), ticketId, stored.size());
+
+                        AttachmentEntity row = attachmentRepository.save(AttachmentEntity.builder()
+                                        .ticket(ticket)
+                                        .uploadedBy(currentUser)
+                                        .fileName(key.substring(prefix.length() + 37))
+                                        .contentType(stored.contentType() != null
+                                                        ? stored.contentType()
+                                                        : MediaType.APPLICATION_OCTET_STREAM_VALUE)
+                                        .fileSize(stored.size())
+                                        .storagePath(blob.storagePath())
+                                        .contentEncoding(blob.contentEncoding())
+                                        .storedSize(blob.sizeBytes())
+                                        .checksumSha256(checksum)
+                                        .deleted(false)
+                                        .build());
+
+                        eventPublisher.publishEvent(new AttachmentUploadedEvent(
+                                        ticket.getId(),
+                                        row.getId(),
+                                        currentUser.getId()));
+
+                        return row;
+                });
+
+                return new UploadAttachmentResponse(saved.getId());
         }
 
         @Transactional(readOnly = true)
@@ -118,61 +373,222 @@ public class AttachmentService {
                                 .toList();
         }
 
+        /**
+         * Keyset page of live attachments on (created_at, id).
+         */
         @Transactional(readOnly = true)
-        public ResponseEntity<Resource> download(
+        public CursorPage<AttachmentResponse> getAttachmentsPage(
                         UUID ticketId,
-                        UUID attachmentId) {
+                        String cursor,
+                        Integer limit,
+                        String order) {
 
-                AttachmentEntity attachment = attachmentRepository
-                                .findByIdAndDeletedFalse(attachmentId)
-                                .orElseThrow(() -> new RuntimeException(
-                                                "Attachment not found"));
-
-                TicketEntity ticket = attachment.getTicket();
+                TicketEntity ticket = ticketRepository.findByIdAndDeletedFalse(ticketId)
+                                .orElseThrow(() -> new RuntimeException("Ticket not found"));
 
                 UserEntity currentUser = getCurrentUser();
 
                 validateCanAccess(ticket, currentUser);
 
-                if (!ticket.getId().equals(ticketId)) {
-                        throw new RuntimeException(
-                                        "Attachment does not belong to ticket");
+                return fetchAttachmentsPage(
+                                ticketId,
+                                Cursor.decode(cursor),
+                                CursorPage.clampLimit(limit),
+                                PageOrder.parse(order));
+        }
+
+        /**
+         * Keyset page of attachments without an access check; callers must
+         * have validated access to the ticket already.
+         */
+        @Transactional(readOnly = true)
+        public CursorPage<AttachmentResponse> fetchAttachmentsPage(
+                        UUID ticketId,
+                        Cursor position,
+                        int size,
+                        PageOrder pageOrder) {
+
+                Pageable pageable = pageOrder.pageable(size);
+
+                List<AttachmentEntity> rows;
+
+                if (position == null) {
+                        rows = attachmentRepository.findPageByTicket(ticketId, pageable);
+                } else if (pageOrder == PageOrder.NEWEST_FIRST) {
+                        rows = attachmentRepository.findPageByTicketBefore(
+                                        ticketId, position.createdAt(), position.id(), pageable);
+                } else {
+                        rows = attachmentRepository.findPageByTicketAfter(
+                                        ticketId, position.createdAt(), position.id(), pageable);
                 }
 
-                try {
-                        Resource resource;
-
-                        if (s3Enabled) {
-                                // S3 storage
-                                InputStream inputStream = s3Service.downloadFile(attachment.getStoragePath());
-                                resource = new org.springframework.core.io.InputStreamResource(inputStream);
-                        } else {
-                                // Local file storage
-                                Path path = Paths.get(
-                                                attachment.getStoragePath());
-
-                                resource = new UrlResource(path.toUri());
-
-                                if (!resource.exists()) {
-                                        throw new RuntimeException(
-                                                        "File missing on disk");
-                                }
+                return CursorPage.of(
+                                rows,
+                                size,
+                                a -> new Cursor(a.getCreatedAt(), a.getId()),
+                                this::toResponse);
+        }
+
+        /**
+         * Files on local disk are written straight to the response with ranges
+         * and conditional requests, and null is returned. Remote objects are
+         * proxied or redirected. Compressed attachments go out as stored with
+         * Content-Encoding when the client accepts it, otherwise they are
+         * decompressed on the fly. No transaction is held while bytes are sent.
+         */
+        public ResponseEntity<Resource> download(
+                        UUID ticketId,
+                        UUID attachmentId,
+                        HttpServletRequest request,
+                        HttpServletResponse response) throws IOException {
+
+                AttachmentEntity attachment = transactionTemplate.execute(
+                                status -> getAccessibleAttachment(ticketId, attachmentId));
+
+                String encoding = attachment.getContentEncoding();
+                boolean passThrough = encoding == null || AttachmentCompression.accepts(request, encoding);
+
+                Optional<Path> localFile = blobStore.localPath(attachment.getStoragePath());
+
+                if (localFile.isPresent() && passThrough) {
+                        localFileSender.send(
+                                        localFile.get(),
+                                        attachment.getContentType(),
+                                        attachment.getFileName(),
+                                        attachment.getChecksumSha256(),
+                                        encoding,
+                                        request,
+                                        response);
+                        return null;
+                }
+
+                if (localFile.isEmpty() && passThrough && isDirectTransfer()) {
+                        // the client fetches the bytes from storage itself
+                        return ResponseEntity.status(HttpStatus.FOUND)
+                                        .header(HttpHeaders.LOCATION, presignDownload(attachment).url())
+                                        .build();
+                }
+
+                long storedSize = attachment.getStoredSize() != null
+                                ? attachment.getStoredSize()
+                                : attachment.getFileSize();
+
+                // the checksum is of the original content, so compressed copies are checked by size only
+                InputStream stored = localFile.isPresent()
+                                ? Files.newInputStream(localFile.get())
+                                : attachmentDiskCache.open(
+                                                attachment.getStoragePath(),
+                                                storedSize,
+                                                encoding == null ? attachment.getChecksumSha256() : null);
+
+                ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                                .contentType(
+                                                MediaType.parseMediaType(
+                                                                attachment.getContentType()))
+                                .header(
+                                                HttpHeaders.CONTENT_DISPOSITION,
+                                                "inline; filename=\"" +
+                                                                attachment.getFileName() + "\"");
+
+                if (encoding == null) {
+                        return builder.body(new InputStreamResource(stored));
+                }
+
+                builder.header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+                if (passThrough) {
+                        return builder
+                                        .header(HttpHeaders.CONTENT_ENCODING, encoding)
+                                        .contentLength(storedSize)
+                                        .body(new InputStreamResource(stored));
+                }
+
+                return builder
+                                .contentLength(attachment.getFileSize())
+                                .body(new InputStreamResource(AttachmentCompression.decode(stored, encoding)));
+        }
+
+        /**
+         * Streams every live attachment on the ticket as one ZIP archive,
+         * oldest first. Nothing is assembled in memory or on disk, and no
+         * transaction is held while the archive is written.
+         */
+        public void downloadBundle(
+                        UUID ticketId,
+                        HttpServletResponse response) throws IOException {
+
+                List<AttachmentEntity> attachments = transactionTemplate.execute(status -> {
+
+                        TicketEntity ticket = ticketRepository.findByIdAndDeletedFalse(ticketId)
+                                        .orElseThrow(() -> new RuntimeException("Ticket not found"));
+
+                        validateCanAccess(ticket, getCurrentUser());
+
+                        return attachmentRepository.findByTicketAndDeletedFalse(ticket)
+                                        .stream()
+                                        .sorted(Comparator.comparing(AttachmentEntity::getCreatedAt)
+                                                        .thenComparing(AttachmentEntity::getId))
+                                        .toList();
+                });
+
+                response.setContentType("application/zip");
+                response.setHeader(
+                                HttpHeaders.CONTENT_DISPOSITION,
+                                "attachment; filename=\"ticket-" + ticketId + "-attachments.zip\"");
+                response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-store");
+
+                attachmentBundleWriter.write(attachments, response.getOutputStream());
+        }
+
+        /**
+         * Serves the thumbnail of an image attachment. Thumbnails never change
+         * for a given attachment, so they are cacheable for a year. A missing
+         * one is queued again, which covers requests dropped under load.
+         */
+        public ResponseEntity<byte[]> getThumbnail(
+                        UUID ticketId,
+                        UUID attachmentId) throws IOException {
+
+                AttachmentEntity attachment = transactionTemplate.execute(
+                                status -> getAccessibleAttachment(ticketId, attachmentId));
+
+                if (attachment.getThumbnailContentType() == null) {
+
+                        if (ThumbnailService.isSupported(attachment.getContentType())) {
+                                thumbnailService.submit(attachmentId);
                         }
 
-                        return ResponseEntity.ok()
-                                        .contentType(
-                                                        MediaType.parseMediaType(
-                                                                        attachment.getContentType()))
-                                        .header(
-                                                        HttpHeaders.CONTENT_DISPOSITION,
-                                                        "inline; filename=\"" +
-                                                                        attachment.getFileName() + "\"")
-                                        .body(resource);
-
-                } catch (MalformedURLException e) {
-                        throw new RuntimeException(
-                                        "Invalid file path", e);
+                        return ResponseEntity.notFound().build();
                 }
+
+                return ResponseEntity.ok()
+                                .contentType(MediaType.parseMediaType(attachment.getThumbnailContentType()))
+                                .cacheControl(CacheControl.maxAge(Duration.ofDays(365)).cachePrivate().immutable())
+                                .body(thumbnailService.read(attachment.getStoragePath()));
+        }
+
+        /**
+         * Where the client should fetch the file from: a short-lived presigned
+         * URL with direct transfer, otherwise the proxied download path.
+         */
+        @Transactional(readOnly = true)
+        public DownloadUrlResponse getDownloadUrl(
+                        UUID ticketId,
+                        UUID attachmentId) {
+
+                AttachmentEntity attachment = getAccessibleAttachment(ticketId, attachmentId);
+
+                if (isDirectTransfer()) {
+                        PresignedRequest presigned = presignDownload(attachment);
+
+                        return new DownloadUrlResponse(
+                                        presigned.url(),
+                                        presigned.expiresAt());
+                }
+
+                return new DownloadUrlResponse(
+                                "/api/tickets/" + ticketId + "/attachments/" + attachmentId + "/download",
+                                null);
         }
 
         @Transactional
@@ -204,11 +620,76 @@ public class AttachmentService {
 
                 // Mark as deleted in database
                 attachment.setDeleted(true);
+                attachment.setDeletedAt(Instant.now());
+
+                storageQuotaService.release(
+                                attachment.getUploadedBy().getId(),
+                                ticketId,
+                                attachment.getFileSize());
+
+                // the bytes go once no attachment references the blob, see AttachmentBlobService
+                attachmentBlobService.release(
+                                attachment.getChecksumSha256(),
+                                attachment.getStoragePath());
+        }
+
+        private AttachmentEntity getAccessibleAttachment(
+                        UUID ticketId,
+                        UUID attachmentId) {
+
+                AttachmentEntity attachment = attachmentRepository
+                                .findByIdAndDeletedFalse(attachmentId)
+                                .orElseThrow(() -> new RuntimeException(
+                                                "Attachment not found"));
+
+                TicketEntity ticket = attachment.getTicket();
+
+                UserEntity currentUser = getCurrentUser();
+
+                validateCanAccess(ticket, currentUser);
 
-                // Optionally delete from S3 (we'll keep it for now, just soft delete in DB)
-                // if (s3Enabled) {
-                // s3Service.deleteFile(attachment.getStoragePath());
-                // }
+                if (!ticket.getId().equals(ticketId)) {
+                        throw new RuntimeException(
+                                        "Attachment does not belong to ticket");
+                }
+
+                return attachment;
+        }
+
+        private PresignedRequest presignDownload(
+                        AttachmentEntity attachment) {
+
+                return blobStore.presignGet(
+                                attachment.getStoragePath(),
+                                attachment.getFileName(),
+                                attachment.getContentType(),
+                                attachment.getContentEncoding(),
+                                Duration.ofSeconds(presignTtlSeconds));
+        }
+
+        private void closeQuietly(InputStream in) {
+
+                if (in == null) {
+                        return;
+                }
+
+                try {
+                        in.close();
+                } catch (IOException e) {
+                        // the body is closed again by the caller, which reports any real failure
+                }
+        }
+
+        private boolean isDirectTransfer() {
+                return directTransfer && blobStore.supportsPresigning();
+        }
+
+        private void requireDirectTransfer() {
+
+                if (!isDirectTransfer()) {
+                        throw new IllegalArgumentException(
+                                        "Direct uploads are not enabled, use the stream upload instead");
+                }
         }
 
         private UserEntity getCurrentUser() {
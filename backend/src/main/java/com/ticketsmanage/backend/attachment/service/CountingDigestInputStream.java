@@ -0,0 +1,109 @@
+package com.ticketsmanage.backend.attachment.service;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Counts and SHA-256 hashes bytes as they pass through, and fails the
+ * read that crosses {@code maxBytes} so oversized uploads stop mid-stream.
+ */
+class CountingDigestInputStream extends FilterInputStream {
+
+    private final MessageDigest digest;
+    private final long maxBytes;
+
+    private long count;
+    private boolean limitExceeded;
+
+    CountingDigestInputStream(InputStream in, long maxBytes) {
+        super(in);
+        this.maxBytes = maxBytes;
+
+        try {
+            this.digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public int read() throws IOException {
+
+        int b = super.read();
+
+        if (b >= 0) {
+            advance(1);
+            digest.update((byte) b);
+        }
+
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+
+        int n = super.read(b, off, len);
+
+        if (n > 0) {
+            advance(n);
+            digest.update(b, off, n);
+        }
+
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+
+        // skipped bytes must still be counted and hashed
+        byte[] buffer = new byte[8192];
+        long skipped = 0;
+
+        while (skipped < n) {
+
+            int read = read(buffer, 0, (int) Math.min(buffer.length, n - skipped));
+
+            if (read < 0) {
+                break;
+            }
+
+            skipped += read;
+        }
+
+        return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    long getCount() {
+        return count;
+    }
+
+    boolean isLimitExceeded() {
+        return limitExceeded;
+    }
+
+    /**
+     * Hex SHA-256 of everything read; only meaningful once the stream is drained.
+     */
+    String getChecksum() {
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private void advance(int n) throws IOException {
+
+        count += n;
+
+        if (count > maxBytes) {
+            limitExceeded = true;
+            throw new IOException("Upload exceeds " + maxBytes + " bytes");
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.ticketsmanage.backend.attachment.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Reads as the gzip encoding of the wrapped stream, compressing as it is
+ * pulled, so a compressed upload can be handed to storage without
+ * buffering the whole body or running a separate writer thread.
+ */
+class GzipCompressingInputStream extends InputStream {
+
+    // magic, deflate, no flags, no mtime, no extra flags, unknown OS
+    private static final byte[] HEADER = {
+            0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff
+    };
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private enum State { HEADER, BODY, TRAILER, DONE }
+
+    private final InputStream source;
+    private final Deflater deflater;
+    private final CRC32 crc = new CRC32();
+
+    private final byte[] input = new byte[BUFFER_SIZE];
+    private final byte[] output = new byte[BUFFER_SIZE];
+    private int outputPosition;
+    private int outputLength;
+
+    private State state = State.HEADER;
+    private long produced;
+
+    GzipCompressingInputStream(InputStream source, int level) {
+        this.source = source;
+        // raw deflate, the gzip framing is written here
+        this.deflater = new Deflater(level, true);
+    }
+
+    @Override
+    public int read() throws IOException {
+
+        byte[] single = new byte[1];
+        int n = read(single, 0, 1);
+
+        return n < 0 ? -1 : single[0] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+
+        if (len == 0) {
+            return 0;
+        }
+
+        while (outputPosition == outputLength) {
+            if (!fill()) {
+                return -1;
+            }
+        }
+
+        int n = Math.min(len, outputLength - outputPosition);
+        System.arraycopy(output, outputPosition, b, off, n);
+        outputPosition += n;
+
+        return n;
+    }
+
+    /**
+     * Bytes of compressed output handed out so far, header and trailer included.
+     */
+    long getCompressedCount() {
+        return produced;
+    }
+
+    @Override
+    public void close() throws IOException {
+        deflater.end();
+        source.close();
+    }
+
+    private boolean fill() throws IOException {
+
+        switch (state) {
+
+            case HEADER -> {
+                set(HEADER, HEADER.length);
+                state = State.BODY;
+                return true;
+            }
+
+            case BODY -> {
+                while (true) {
+
+                    if (deflater.needsInput() && !deflater.finished()) {
+
+                        int n = source.read(input, 0, input.length);
+
+                        if (n < 0) {
+                            deflater.finish();
+                        } else if (n > 0) {
+                            crc.update(input, 0, n);
+                            deflater.setInput(input, 0, n);
+                        }
+                    }
+
+                    int n = deflater.deflate(output, 0, output.length);
+
+                    if (n > 0) {
+                        set(output, n);
+                        return true;
+                    }
+
+                    if (deflater.finished()) {
+                        state = State.TRAILER;
+                        return fill();
+                    }
+                }
+            }
+
+            case TRAILER -> {
+                byte[] trailer = new byte[8];
+                writeIntLe(trailer, 0, crc.getValue());
+                // ISIZE is the uncompressed length modulo 2^32
+                writeIntLe(trailer, 4, deflater.getBytesRead());
+
+                set(trailer, trailer.length);
+                state = State.DONE;
+                return true;
+            }
+
+            default -> {
+                return false;
+            }
+        }
+    }
+
+    private void set(byte[] bytes, int length) {
+
+        if (bytes != output) {
+            // keep the working buffer, the header and trailer are one-offs
+            System.arraycopy(bytes, 0, output, 0, length);
+        }
+
+        outputPosition = 0;
+        outputLength = length;
+        produced += length;
+    }
+
+    private static void writeIntLe(byte[] target, int offset, long value) {
+        for (int i = 0; i < 4; i++) {
+            target[offset + i] = (byte) (value >>> (8 * i));
+        }
+    }
+}
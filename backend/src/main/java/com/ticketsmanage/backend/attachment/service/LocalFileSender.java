@@ -0,0 +1,376 @@
+package com.ticketsmanage.backend.attachment.service;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Serves a file from local disk with validators, conditional requests and
+ * byte ranges. Bodies go out through Tomcat's sendfile where the connector
+ * supports it, otherwise through {@link FileChannel#transferTo}.
+ */
+@Component
+class LocalFileSender {
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    // below this the connector's own buffered write is as cheap as sendfile
+    private static final long SENDFILE_MIN_BYTES = 48 * 1024;
+
+    // more ranges than this is treated as abuse and answered with the whole file
+    private static final int MAX_RANGES = 16;
+
+    private record Range(long start, long end) {
+
+        long length() {
+            return end - start + 1;
+        }
+    }
+
+    void send(
+            Path file,
+            String contentType,
+            String fileName,
+            String checksumSha256,
+            String contentEncoding,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) throws IOException {
+
+        if (!Files.isRegularFile(file)) {
+            throw new RuntimeException("File missing on disk");
+        }
+
+        long size = Files.size(file);
+        // HTTP dates have second precision
+        long lastModified = Files.getLastModifiedTime(file).toMillis() / 1000 * 1000;
+
+        // an encoded file is a different representation and needs its own validator
+        String suffix = contentEncoding != null ? "-" + contentEncoding : "";
+
+        String etag = checksumSha256 != null
+                ? "\"" + checksumSha256 + suffix + "\""
+                : "W/\"" + Long.toHexString(size) + "-" + Long.toHexString(lastModified) + suffix + "\"";
+
+        if (contentEncoding != null) {
+            // ranges then apply to the encoded bytes, as HTTP defines them
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, contentEncoding);
+            response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, lastModified);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        // attachments are access-controlled: cache per user, always revalidate
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+
+        if (notModified(request, etag, lastModified)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        String type = contentType != null ? contentType : MediaType.APPLICATION_OCTET_STREAM_VALUE;
+
+        response.setHeader(
+                HttpHeaders.CONTENT_DISPOSITION,
+                "inline; filename=\"" + fileName + "\"");
+
+        List<Range> ranges = rangeApplies(request, etag, lastModified)
+                ? parseRanges(request.getHeader(HttpHeaders.RANGE), size)
+                : null;
+
+        boolean head = "HEAD".equals(request.getMethod());
+
+        if (ranges == null) {
+            response.setStatus(HttpServletResponse.SC_OK);
+            response.setContentType(type);
+            response.setContentLengthLong(size);
+
+            if (!head) {
+                transfer(file, new Range(0, size - 1), request, response);
+            }
+            return;
+        }
+
+        if (ranges.isEmpty()) {
+            response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+            return;
+        }
+
+        response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+
+        if (ranges.size() == 1) {
+            Range range = ranges.get(0);
+
+            response.setContentType(type);
+            response.setContentLengthLong(range.length());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, contentRange(range, size));
+
+            if (!head) {
+                transfer(file, range, request, response);
+            }
+            return;
+        }
+
+        sendMultipart(file, type, size, ranges, head, response);
+    }
+
+    private boolean notModified(
+            HttpServletRequest request,
+            String etag,
+            long lastModified
+    ) {
+
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+
+        // If-None-Match takes precedence; If-Modified-Since is then ignored
+        if (ifNoneMatch != null) {
+            return matchesWeakly(ifNoneMatch, etag);
+        }
+
+        long ifModifiedSince = dateHeader(request, HttpHeaders.IF_MODIFIED_SINCE);
+
+        return ifModifiedSince >= 0 && lastModified <= ifModifiedSince;
+    }
+
+    /**
+     * A Range is honoured only if If-Range is absent or still matches,
+     * so a client never stitches together two versions of the file.
+     */
+    private boolean rangeApplies(
+            HttpServletRequest request,
+            String etag,
+            long lastModified
+    ) {
+
+        if (request.getHeader(HttpHeaders.RANGE) == null) {
+            return false;
+        }
+
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+
+        if (ifRange == null) {
+            return true;
+        }
+
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            // If-Range requires a strong comparison
+            return !etag.startsWith("W/") && ifRange.trim().equals(etag);
+        }
+
+        long date = dateHeader(request, HttpHeaders.IF_RANGE);
+
+        return date >= 0 && lastModified <= date;
+    }
+
+    /**
+     * Returns null when the header is absent or malformed (serve the whole
+     * file), an empty list when no range is satisfiable (416).
+     */
+    private List<Range> parseRanges(String header, long size) {
+
+        if (header == null || !header.startsWith("bytes=")) {
+            return null;
+        }
+
+        String[] specs = header.substring("bytes=".length()).split(",");
+
+        if (specs.length > MAX_RANGES) {
+            return null;
+        }
+
+        List<Range> ranges = new ArrayList<>(specs.length);
+
+        for (String raw : specs) {
+
+            String spec = raw.trim();
+            int dash = spec.indexOf('-');
+
+            if (dash < 0) {
+                return null;
+            }
+
+            try {
+                long start;
+                long end;
+
+                if (dash == 0) {
+                    // suffix range: the last n bytes
+                    long suffix = Long.parseLong(spec.substring(1));
+
+                    if (suffix <= 0) {
+                        continue;
+                    }
+
+                    start = Math.max(0, size - suffix);
+                    end = size - 1;
+
+                } else {
+                    start = Long.parseLong(spec.substring(0, dash));
+                    end = dash == spec.length() - 1
+                            ? size - 1
+                            : Math.min(Long.parseLong(spec.substring(dash + 1)), size - 1);
+
+                    if (end < start && start < size) {
+                        return null;
+                    }
+                }
+
+                if (start < size && start <= end) {
+                    ranges.add(new Range(start, end));
+                }
+
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+
+        return ranges;
+    }
+
+    private void sendMultipart(
+            Path file,
+            String contentType,
+            long size,
+            List<Range> ranges,
+            boolean head,
+            HttpServletResponse response
+    ) throws IOException {
+
+        String boundary = UUID.randomUUID().toString().replace("-", "");
+
+        List<byte[]> partHeaders = new ArrayList<>(ranges.size());
+        long length = 0;
+
+        for (Range range : ranges) {
+
+            byte[] partHeader = ("\r\n--" + boundary + "\r\n"
+                    + HttpHeaders.CONTENT_TYPE + ": " + contentType + "\r\n"
+                    + HttpHeaders.CONTENT_RANGE + ": " + contentRange(range, size) + "\r\n\r\n")
+                    .getBytes(StandardCharsets.US_ASCII);
+
+            partHeaders.add(partHeader);
+            length += partHeader.length + range.length();
+        }
+
+        byte[] trailer = ("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.US_ASCII);
+        length += trailer.length;
+
+        response.setContentType("multipart/byteranges; boundary=" + boundary);
+        response.setContentLengthLong(length);
+
+        if (head) {
+            return;
+        }
+
+        OutputStream out = response.getOutputStream();
+        WritableByteChannel target = Channels.newChannel(out);
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+
+            for (int i = 0; i < ranges.size(); i++) {
+                out.write(partHeaders.get(i));
+                transferTo(channel, ranges.get(i), target);
+            }
+        }
+
+        out.write(trailer);
+    }
+
+    private void transfer(
+            Path file,
+            Range range,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) throws IOException {
+
+        if (range.length() >= SENDFILE_MIN_BYTES
+                && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+
+            // the connector writes the file after the handler returns
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, range.start());
+            request.setAttribute(SENDFILE_END, range.end() + 1);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            transferTo(channel, range, Channels.newChannel(response.getOutputStream()));
+        }
+    }
+
+    private void transferTo(
+            FileChannel channel,
+            Range range,
+            WritableByteChannel target
+    ) throws IOException {
+
+        long position = range.start();
+        long remaining = range.length();
+
+        while (remaining > 0) {
+
+            long sent = channel.transferTo(position, remaining, target);
+
+            if (sent <= 0) {
+                // file shrank underneath us
+                throw new IOException("Unexpected end of file");
+            }
+
+            position += sent;
+            remaining -= sent;
+        }
+    }
+
+    private boolean matchesWeakly(String header, String etag) {
+
+        String opaque = stripWeak(etag);
+
+        for (String candidate : header.split(",")) {
+
+            String tag = candidate.trim();
+
+            if (tag.equals("*") || stripWeak(tag).equals(opaque)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private String stripWeak(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+
+    private long dateHeader(HttpServletRequest request, String name) {
+        try {
+            return request.getDateHeader(name);
+        } catch (IllegalArgumentException e) {
+            // unparseable dates are ignored, as if the header were absent
+            return -1;
+        }
+    }
+
+    private String contentRange(Range range, long size) {
+        return "bytes " + range.start() + "-" + range.end() + "/" + size;
+    }
+}
@@ -0,0 +1,255 @@
+package com.ticketsmanage.backend.attachment.service;
+
+import com.ticketsmanage.backend.attachment.entity.AttachmentEntity;
+import com.ticketsmanage.backend.attachment.repository.AttachmentRepository;
+import com.ticketsmanage.backend.common.storage.BlobStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generates thumbnails for image attachments on a small bounded pool.
+ *
+ * Submission never blocks: when the queue is full the request is dropped
+ * and counted, and the thumbnail endpoint asks again the next time the
+ * missing thumbnail is requested. Thumbnails are written next to the
+ * stored file, so deduplicated attachments share one.
+ */
+@Slf4j
+@Service
+public class ThumbnailService {
+
+    private static final String SUFFIX = ".thumb";
+
+    private final AttachmentRepository attachmentRepository;
+    private final BlobStore blobStore;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final ThreadPoolExecutor executor;
+
+    // longest edge in pixels
+    @Value("${app.thumbnails.size:256}")
+    private int size;
+
+    @Value("${app.thumbnails.max-source-bytes:20971520}")
+    private long maxSourceBytes;
+
+    // guards against decompression bombs: checked from the header before decoding
+    @Value("${app.thumbnails.max-source-pixels:50000000}")
+    private long maxSourcePixels;
+
+    public ThumbnailService(
+            AttachmentRepository attachmentRepository,
+            BlobStore blobStore,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${app.thumbnails.threads:2}") int threads,
+            @Value("${app.thumbnails.queue-capacity:64}") int queueCapacity
+    ) {
+        this.attachmentRepository = attachmentRepository;
+        this.blobStore = blobStore;
+        this.transactionTemplate = transactionTemplate;
+        this.meterRegistry = meterRegistry;
+
+        this.executor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                60,
+                TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "attachment-thumbnailer");
+                    t.setDaemon(true);
+                    t.setPriority(Thread.MIN_PRIORITY);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        // decode from memory instead of spilling every stream to a temp file
+        ImageIO.setUseCache(false);
+    }
+
+    public static String thumbnailPath(String storagePath) {
+        return storagePath + SUFFIX;
+    }
+
+    public static boolean isSupported(String contentType) {
+        return contentType != null
+                && contentType.startsWith("image/")
+                && ImageIO.getImageReadersByMIMEType(contentType).hasNext();
+    }
+
+    /**
+     * Queues thumbnail generation; returns false if the pool is saturated.
+     */
+    public boolean submit(UUID attachmentId) {
+        try {
+            executor.execute(() -> generate(attachmentId));
+            return true;
+
+        } catch (RejectedExecutionException e) {
+            count("dropped");
+            return false;
+        }
+    }
+
+    public byte[] read(String storagePath) {
+        return BlobStore.await(blobStore.read(thumbnailPath(storagePath)));
+    }
+
+    private void generate(UUID attachmentId) {
+
+        AttachmentEntity attachment = attachmentRepository.findById(attachmentId).orElse(null);
+
+        if (attachment == null
+                || attachment.isDeleted()
+                || attachment.getThumbnailContentType() != null) {
+            return;
+        }
+
+        if (!isSupported(attachment.getContentType())
+                || attachment.getFileSize() > maxSourceBytes) {
+            count("skipped");
+            return;
+        }
+
+        Optional<AttachmentEntity> shared = attachmentRepository
+                .findFirstByStoragePathAndThumbnailContentTypeIsNotNull(attachment.getStoragePath());
+
+        if (shared.isPresent()) {
+            record(attachmentId, shared.get().getThumbnailContentType());
+            count("reused");
+            return;
+        }
+
+        try {
+            BufferedImage source;
+
+            try (InputStream in = AttachmentCompression.decode(
+                    BlobStore.await(blobStore.open(attachment.getStoragePath())),
+                    attachment.getContentEncoding())) {
+                source = decode(in);
+            }
+
+            if (source == null) {
+                count("skipped");
+                return;
+            }
+
+            // JPEG has no alpha channel, transparent images stay PNG
+            boolean alpha = source.getColorModel().hasAlpha();
+            String format = alpha ? "png" : "jpeg";
+            String contentType = alpha ? "image/png" : "image/jpeg";
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            ImageIO.write(scale(source, alpha), format, out);
+
+            BlobStore.await(blobStore.put(
+                    thumbnailPath(attachment.getStoragePath()),
+                    out.toByteArray(),
+                    contentType));
+            record(attachmentId, contentType);
+            count("created");
+
+        } catch (IOException | RuntimeException e) {
+            count("failed");
+            log.warn("Thumbnail generation failed for attachment {}", attachmentId, e);
+        }
+    }
+
+    private BufferedImage decode(InputStream in) throws IOException {
+
+        try (ImageInputStream stream = ImageIO.createImageInputStream(in)) {
+
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(stream);
+
+            if (!readers.hasNext()) {
+                return null;
+            }
+
+            ImageReader reader = readers.next();
+
+            try {
+                reader.setInput(stream, true, true);
+
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+
+                if ((long) width * height > maxSourcePixels) {
+                    return null;
+                }
+
+                // decode at no more than twice the target size, scaling does the rest
+                int step = Math.max(1, Math.min(width, height) / (size * 2));
+
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+
+                return reader.read(0, param);
+
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private BufferedImage scale(BufferedImage source, boolean alpha) {
+
+        double ratio = Math.min(1.0, (double) size / Math.max(source.getWidth(), source.getHeight()));
+
+        int width = Math.max(1, (int) Math.round(source.getWidth() * ratio));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * ratio));
+
+        BufferedImage target = new BufferedImage(
+                width,
+                height,
+                alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+
+        Graphics2D g = target.createGraphics();
+
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+
+        return target;
+    }
+
+    private void record(UUID attachmentId, String contentType) {
+        transactionTemplate.executeWithoutResult(
+                status -> attachmentRepository.setThumbnailContentType(attachmentId, contentType));
+    }
+
+    private void count(String result) {
+        meterRegistry.counter("attachment.thumbnails", "result", result).increment();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -2,10 +2,10 @@ package com.ticketsmanage.backend.audit.controller;
 
 import com.ticketsmanage.backend.audit.dto.AuditLogResponse;
 import com.ticketsmanage.backend.audit.service.AuditService;
+import com.ticketsmanage.backend.common.pagination.CursorPage;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -16,7 +16,10 @@ public class AuditController {
     private final AuditService auditService;
 
     @GetMapping("/ticket/{ticketId}")
-    public List<AuditLogResponse> getLogsForTicket(@PathVariable UUID ticketId) {
-        return auditService.getLogsForTicket(ticketId);
+    public CursorPage<AuditLogResponse> getLogsForTicket(
+            @PathVariable UUID ticketId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return auditService.getLogsForTicket(ticketId, cursor, limit);
     }
 }
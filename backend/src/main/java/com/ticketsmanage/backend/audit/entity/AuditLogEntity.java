@@ -21,8 +21,9 @@ public class AuditLogEntity {
     @GeneratedValue
     private UUID id;
 
+    // no FK: the row may point at a ticket that now lives in the archive
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "ticket_id")
+    @JoinColumn(name = "ticket_id", foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private TicketEntity ticket;
 
     @ManyToOne(fetch = FetchType.LAZY)
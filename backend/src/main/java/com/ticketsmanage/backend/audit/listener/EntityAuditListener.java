@@ -0,0 +1,212 @@
+package com.ticketsmanage.backend.audit.listener;
+
+import com.ticketsmanage.backend.audit.service.AuditEntry;
+import com.ticketsmanage.backend.audit.service.AuditWriteBuffer;
+import com.ticketsmanage.backend.security.util.SecurityUtils;
+import com.ticketsmanage.backend.ticket.entity.TicketEntity;
+import com.ticketsmanage.backend.user.entity.UserEntity;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.*;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Captures field-level diffs of tickets and users during flush and hands
+ * them to the audit write buffer once the transaction commits. Only the
+ * diff maps are built on the request thread.
+ */
+@Component
+@RequiredArgsConstructor
+public class EntityAuditListener implements
+        PostInsertEventListener,
+        PostUpdateEventListener,
+        PostDeleteEventListener {
+
+    private static final Set<String> IGNORED = Set.of("createdAt", "updatedAt");
+    private static final Set<String> MASKED = Set.of("passwordHash");
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final AuditWriteBuffer writeBuffer;
+
+    @PostConstruct
+    void register() {
+
+        EventListenerRegistry registry = entityManagerFactory
+                .unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+
+        if (!isAudited(event.getEntity())) {
+            return;
+        }
+
+        String[] names = event.getPersister().getPropertyNames();
+        Object[] state = event.getState();
+
+        Map<String, Object> newValue = new LinkedHashMap<>();
+
+        for (int i = 0; i < names.length; i++) {
+            if (!IGNORED.contains(names[i]) && state[i] != null) {
+                newValue.put(names[i], normalize(names[i], state[i]));
+            }
+        }
+
+        capture(event.getEntity(), "CREATED", null, newValue);
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+
+        if (!isAudited(event.getEntity()) || event.getOldState() == null) {
+            return;
+        }
+
+        String[] names = event.getPersister().getPropertyNames();
+        Object[] oldState = event.getOldState();
+        Object[] state = event.getState();
+
+        Map<String, Object> oldValue = new LinkedHashMap<>();
+        Map<String, Object> newValue = new LinkedHashMap<>();
+
+        for (int i = 0; i < names.length; i++) {
+
+            if (IGNORED.contains(names[i])) {
+                continue;
+            }
+
+            Object before = normalize(names[i], oldState[i]);
+            Object after = normalize(names[i], state[i]);
+
+            // masked values normalise to the same placeholder, so compare the raw state
+            boolean changed = MASKED.contains(names[i])
+                    ? !Objects.equals(oldState[i], state[i])
+                    : !Objects.equals(before, after);
+
+            if (changed) {
+                oldValue.put(names[i], before);
+                newValue.put(names[i], after);
+            }
+        }
+
+        if (!newValue.isEmpty()) {
+            capture(event.getEntity(), "UPDATED", oldValue, newValue);
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+
+        if (!isAudited(event.getEntity())) {
+            return;
+        }
+
+        String[] names = event.getPersister().getPropertyNames();
+        Object[] state = event.getDeletedState();
+
+        Map<String, Object> oldValue = new LinkedHashMap<>();
+        oldValue.put("id", event.getId());
+
+        for (int i = 0; i < names.length; i++) {
+            if (!IGNORED.contains(names[i]) && state[i] != null) {
+                oldValue.put(names[i], normalize(names[i], state[i]));
+            }
+        }
+
+        capture(event.getEntity(), "DELETED", oldValue, null);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private boolean isAudited(Object entity) {
+        return entity instanceof TicketEntity || entity instanceof UserEntity;
+    }
+
+    private void capture(
+            Object entity,
+            String operation,
+            Map<String, Object> oldValue,
+            Map<String, Object> newValue
+    ) {
+
+        UUID ticketId = null;
+        String action;
+
+        if (entity instanceof TicketEntity ticket) {
+            action = "TICKET_" + operation;
+            // a deleted ticket row can no longer be referenced
+            ticketId = "DELETED".equals(operation) ? null : ticket.getId();
+        } else {
+            action = "USER_" + operation;
+        }
+
+        AuditEntry entry = new AuditEntry(
+                UUID.randomUUID(),
+                ticketId,
+                SecurityUtils.getCurrentUsername(),
+                action,
+                oldValue,
+                newValue,
+                Instant.now());
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public void afterCommit() {
+                            writeBuffer.enqueue(entry);
+                        }
+                    });
+        } else {
+            writeBuffer.enqueue(entry);
+        }
+    }
+
+    private Object normalize(String name, Object value) {
+
+        if (value == null) {
+            return null;
+        }
+
+        if (MASKED.contains(name)) {
+            return "***";
+        }
+
+        if (value instanceof UserEntity user) {
+            return user.getId();
+        }
+
+        if (value instanceof TicketEntity ticket) {
+            return ticket.getId();
+        }
+
+        if (value instanceof Enum<?> e) {
+            return e.name();
+        }
+
+        return value;
+    }
+}
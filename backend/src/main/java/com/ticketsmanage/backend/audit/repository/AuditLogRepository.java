@@ -2,8 +2,12 @@ package com.ticketsmanage.backend.audit.repository;
 
 import com.ticketsmanage.backend.audit.entity.AuditLogEntity;
 import com.ticketsmanage.backend.ticket.entity.TicketEntity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
 
@@ -11,4 +15,32 @@ public interface AuditLogRepository
         extends JpaRepository<AuditLogEntity, UUID> {
 
     List<AuditLogEntity> findByTicket(TicketEntity ticket);
+
+    @Query("""
+        select a
+        from AuditLogEntity a
+        join fetch a.actor
+        where a.ticket.id = :ticketId
+        order by a.createdAt desc, a.id desc
+    """)
+    List<AuditLogEntity> findPageByTicket(
+            @Param("ticketId") UUID ticketId,
+            Pageable pageable
+    );
+
+    @Query("""
+        select a
+        from AuditLogEntity a
+        join fetch a.actor
+        where a.ticket.id = :ticketId
+          and (a.createdAt < :createdAt
+               or (a.createdAt = :createdAt and a.id < :id))
+        order by a.createdAt desc, a.id desc
+    """)
+    List<AuditLogEntity> findPageByTicketBefore(
+            @Param("ticketId") UUID ticketId,
+            @Param("createdAt") Instant createdAt,
+            @Param("id") UUID id,
+            Pageable pageable
+    );
 }
@@ -0,0 +1,20 @@
+package com.ticketsmanage.backend.audit.service;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Field-level change captured by the entity listener, waiting to be written.
+ * The actor is resolved from its email at flush time, in one query per batch;
+ * entries without a known actor are not written.
+ */
+public record AuditEntry(
+        UUID id,
+        UUID ticketId,
+        String actorEmail,
+        String action,
+        Map<String, Object> oldValue,
+        Map<String, Object> newValue,
+        Instant createdAt
+) {}
@@ -3,11 +3,20 @@ package com.ticketsmanage.backend.audit.service;
 import com.ticketsmanage.backend.audit.dto.AuditLogResponse;
 import com.ticketsmanage.backend.audit.entity.AuditLogEntity;
 import com.ticketsmanage.backend.audit.repository.AuditLogRepository;
+import com.ticketsmanage.backend.common.pagination.Cursor;
+import com.ticketsmanage.backend.common.pagination.CursorPage;
+import com.ticketsmanage.backend.security.util.SecurityUtils;
 import com.ticketsmanage.backend.ticket.entity.TicketEntity;
 import com.ticketsmanage.backend.ticket.repository.TicketRepository;
 import com.ticketsmanage.backend.user.dto.UserSummaryDto;
+import com.ticketsmanage.backend.user.entity.UserEntity;
+import com.ticketsmanage.backend.user.entity.UserRole;
+import com.ticketsmanage.backend.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.UUID;
@@ -18,16 +27,60 @@ public class AuditService {
 
     private final AuditLogRepository auditLogRepository;
     private final TicketRepository ticketRepository;
+    private final UserRepository userRepository;
 
-    public List<AuditLogResponse> getLogsForTicket(UUID ticketId) {
+    @Transactional(readOnly = true)
+    public CursorPage<AuditLogResponse> getLogsForTicket(
+            UUID ticketId,
+            String cursor,
+            Integer limit
+    ) {
 
-        TicketEntity ticket = ticketRepository.findById(ticketId)
-                .orElseThrow(() -> new RuntimeException("Ticket not found"));
+        // field-level diffs are as sensitive as the ticket itself
+        checkCanView(ticketId);
 
-        return auditLogRepository.findByTicket(ticket)
-                .stream()
-                .map(this::toResponse)
-                .toList();
+        Cursor before = Cursor.decode(cursor);
+        int pageSize = CursorPage.clampLimit(limit);
+        PageRequest window = PageRequest.of(0, pageSize + 1);
+
+        List<AuditLogEntity> rows = before == null
+                ? auditLogRepository.findPageByTicket(ticketId, window)
+                : auditLogRepository.findPageByTicketBefore(
+                        ticketId,
+                        before.createdAt(),
+                        before.id(),
+                        window);
+
+        return CursorPage.of(
+                rows,
+                pageSize,
+                a -> new Cursor(a.getCreatedAt(), a.getId()),
+                this::toResponse);
+    }
+
+    private void checkCanView(UUID ticketId) {
+
+        UserEntity user = userRepository
+                .findByEmail(SecurityUtils.getCurrentUsername())
+                .orElseThrow(() ->
+                        new RuntimeException("Authenticated user not found"));
+
+        TicketEntity ticket = ticketRepository
+                .findById(ticketId)
+                .orElseThrow(() ->
+                        new RuntimeException("Ticket not found"));
+
+        boolean allowed =
+                user.getRole() == UserRole.ADMIN
+                        || ticket.getOwner().getId().equals(user.getId())
+                        || (ticket.getAssignee() != null
+                        && ticket.getAssignee().getId().equals(user.getId()));
+
+        if (!allowed) {
+            throw new AccessDeniedException(
+                    "Not allowed to view ticket audit log"
+            );
+        }
     }
 
     private AuditLogResponse toResponse(AuditLogEntity entity) {
@@ -35,12 +88,7 @@ public class AuditService {
         UserSummaryDto actor = null;
 
         if (entity.getActor() != null) {
-            actor = new UserSummaryDto(
-                    entity.getActor().getId(),
-                    entity.getActor().getEmail(),
-                    entity.getActor().getFirstName(),
-                    entity.getActor().getLastName()
-            );
+            actor = UserSummaryDto.of(entity.getActor());
         }
 
         return new AuditLogResponse(
@@ -0,0 +1,155 @@
+package com.ticketsmanage.backend.audit.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ticketsmanage.backend.common.batch.WriteBehindBuffer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Write-behind buffer for audit_logs. Diffs are serialised to JSONB on
+ * the flusher thread so the request only pays for building the maps. An
+ * entry whose diff cannot be serialised is dropped on its own, the rest
+ * of its batch is still written.
+ *
+ * audit_logs.actor_id is mandatory, so a change made without a signed-in
+ * user, or by one that no longer exists, is not written; it is counted
+ * on {@code audit.log.skipped} instead of being pinned on another user.
+ */
+@Slf4j
+@Component
+public class AuditWriteBuffer extends WriteBehindBuffer<AuditEntry> {
+
+    private static final String INSERT_SQL = """
+            insert into audit_logs (id, ticket_id, actor_id, action, old_value, new_value, created_at)
+            values (?, ?, ?, ?, ?::jsonb, ?::jsonb, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final Counter failureCounter;
+    private final Counter skippedCounter;
+
+    public AuditWriteBuffer(
+            JdbcTemplate jdbcTemplate,
+            NamedParameterJdbcTemplate namedJdbcTemplate,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${app.audit.buffer-capacity:10000}") int capacity,
+            @Value("${app.audit.batch-size:500}") int batchSize,
+            @Value("${app.audit.flush-interval-ms:500}") long flushIntervalMs
+    ) {
+        super("audit", "audit.log", meterRegistry, capacity, batchSize, flushIntervalMs);
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.objectMapper = objectMapper;
+        // the same counter the base class increments for entries it drops
+        this.failureCounter = meterRegistry.counter("audit.log.flush.failures");
+        this.skippedCounter = meterRegistry.counter("audit.log.skipped");
+    }
+
+    @Override
+    protected int writeBatch(List<AuditEntry> batch) {
+
+        Map<String, UUID> actors = resolveActors(batch);
+
+        List<Object[]> rows = batch.stream()
+                .map(e -> toRow(e, actors))
+                .filter(Objects::nonNull)
+                .toList();
+
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows, new int[]{
+                Types.OTHER,
+                Types.OTHER,
+                Types.OTHER,
+                Types.VARCHAR,
+                Types.VARCHAR,
+                Types.VARCHAR,
+                Types.TIMESTAMP
+        });
+
+        return rows.size();
+    }
+
+    @Override
+    protected String describe(AuditEntry entry) {
+        return entry.action() + " " + entry.id();
+    }
+
+    private Map<String, UUID> resolveActors(List<AuditEntry> batch) {
+
+        Set<String> emails = batch.stream()
+                .map(AuditEntry::actorEmail)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+
+        Map<String, UUID> actors = new HashMap<>();
+
+        if (emails.isEmpty()) {
+            return actors;
+        }
+
+        namedJdbcTemplate.query(
+                "select id, email from users where email in (:emails)",
+                new MapSqlParameterSource("emails", emails),
+                (RowCallbackHandler) rs -> actors.put(
+                        rs.getString("email"),
+                        rs.getObject("id", UUID.class)));
+
+        return actors;
+    }
+
+    private Object[] toRow(AuditEntry entry, Map<String, UUID> actors) {
+
+        UUID actorId = entry.actorEmail() != null ? actors.get(entry.actorEmail()) : null;
+
+        if (actorId == null) {
+            skippedCounter.increment();
+            log.debug("Skipping audit entry {}: no actor for {}", describe(entry), entry.actorEmail());
+            return null;
+        }
+
+        try {
+            return new Object[]{
+                    entry.id(),
+                    entry.ticketId(),
+                    actorId,
+                    entry.action(),
+                    toJson(entry.oldValue()),
+                    toJson(entry.newValue()),
+                    Timestamp.from(entry.createdAt())
+            };
+
+        } catch (JsonProcessingException e) {
+            failureCounter.increment();
+            log.error("Dropping audit entry {}: diff is not serialisable: {}", describe(entry), e.getMessage());
+            return null;
+        }
+    }
+
+    private String toJson(Map<String, Object> value) throws JsonProcessingException {
+        return value == null ? null : objectMapper.writeValueAsString(value);
+    }
+}
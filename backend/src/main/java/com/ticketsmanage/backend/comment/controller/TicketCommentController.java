@@ -3,6 +3,7 @@ package com.ticketsmanage.backend.comment.controller;
 import com.ticketsmanage.backend.comment.dto.CommentResponse;
 import com.ticketsmanage.backend.comment.dto.CreateCommentRequest;
 import com.ticketsmanage.backend.comment.service.CommentService;
+import com.ticketsmanage.backend.common.pagination.CursorPage;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
@@ -29,4 +30,14 @@ public class TicketCommentController {
     public List<CommentResponse> getComments(@PathVariable UUID ticketId) {
         return commentService.getCommentsForTicket(ticketId);
     }
+
+    @GetMapping("/page")
+    public CursorPage<CommentResponse> getCommentsPage(
+            @PathVariable UUID ticketId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String order
+    ) {
+        return commentService.getCommentsPage(ticketId, cursor, limit, order);
+    }
 }
@@ -2,10 +2,12 @@ package com.ticketsmanage.backend.comment.repository;
 
 import com.ticketsmanage.backend.comment.entity.TicketCommentEntity;
 import com.ticketsmanage.backend.ticket.entity.TicketEntity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
 
@@ -22,4 +24,45 @@ public interface TicketCommentRepository
     List<TicketCommentEntity> findByTicketWithAuthor(
             @Param("ticket") TicketEntity ticket
     );
+
+    @Query("""
+        select c
+        from TicketCommentEntity c
+        join fetch c.author
+        where c.ticket.id = :ticketId
+    """)
+    List<TicketCommentEntity> findPageByTicket(
+            @Param("ticketId") UUID ticketId,
+            Pageable pageable
+    );
+
+    @Query("""
+        select c
+        from TicketCommentEntity c
+        join fetch c.author
+        where c.ticket.id = :ticketId
+          and (c.createdAt < :createdAt
+               or (c.createdAt = :createdAt and c.id < :id))
+    """)
+    List<TicketCommentEntity> findPageByTicketBefore(
+            @Param("ticketId") UUID ticketId,
+            @Param("createdAt") Instant createdAt,
+            @Param("id") UUID id,
+            Pageable pageable
+    );
+
+    @Query("""
+        select c
+        from TicketCommentEntity c
+        join fetch c.author
+        where c.ticket.id = :ticketId
+          and (c.createdAt > :createdAt
+               or (c.createdAt = :createdAt and c.id > :id))
+    """)
+    List<TicketCommentEntity> findPageByTicketAfter(
+            @Param("ticketId") UUID ticketId,
+            @Param("createdAt") Instant createdAt,
+            @Param("id") UUID id,
+            Pageable pageable
+    );
 }
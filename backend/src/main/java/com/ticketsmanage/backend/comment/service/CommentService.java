@@ -4,6 +4,9 @@ import com.ticketsmanage.backend.comment.dto.CommentResponse;
 import com.ticketsmanage.backend.comment.dto.CreateCommentRequest;
 import com.ticketsmanage.backend.comment.entity.TicketCommentEntity;
 import com.ticketsmanage.backend.comment.repository.TicketCommentRepository;
+import com.ticketsmanage.backend.common.pagination.Cursor;
+import com.ticketsmanage.backend.common.pagination.CursorPage;
+import com.ticketsmanage.backend.common.pagination.PageOrder;
 import com.ticketsmanage.backend.notification.event.CommentAddedEvent;
 import com.ticketsmanage.backend.security.util.SecurityUtils;
 import com.ticketsmanage.backend.ticket.entity.TicketEntity;
@@ -15,6 +18,7 @@ import com.ticketsmanage.backend.user.entity.UserRole;
 import com.ticketsmanage.backend.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -95,6 +99,69 @@ public class CommentService {
                 .toList();
     }
 
+    /**
+     * Keyset page of comments on (created_at, id), authors fetch-joined.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<CommentResponse> getCommentsPage(
+            UUID ticketId,
+            String cursor,
+            Integer limit,
+            String order
+    ) {
+
+        UserEntity currentUser = getCurrentUser();
+
+        TicketEntity ticket = ticketRepository.findById(ticketId)
+                .orElseThrow(() ->
+                        new RuntimeException("Ticket not found"));
+
+        if (ticket.isDeleted()) {
+            throw new RuntimeException("Ticket not found");
+        }
+
+        validateCanAccess(ticket, currentUser);
+
+        return fetchCommentsPage(
+                ticketId,
+                Cursor.decode(cursor),
+                CursorPage.clampLimit(limit),
+                PageOrder.parse(order));
+    }
+
+    /**
+     * Keyset page of comments without an access check; callers must
+     * have validated access to the ticket already.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<CommentResponse> fetchCommentsPage(
+            UUID ticketId,
+            Cursor position,
+            int size,
+            PageOrder pageOrder
+    ) {
+
+        Pageable pageable = pageOrder.pageable(size);
+
+        List<TicketCommentEntity> rows;
+
+        if (position == null) {
+            rows = commentRepository.findPageByTicket(ticketId, pageable);
+        } else if (pageOrder == PageOrder.NEWEST_FIRST) {
+            rows = commentRepository.findPageByTicketBefore(
+                    ticketId, position.createdAt(), position.id(), pageable);
+        } else {
+            rows = commentRepository.findPageByTicketAfter(
+                    ticketId, position.createdAt(), position.id(), pageable);
+        }
+
+        return CursorPage.of(
+                rows,
+                size,
+                c -> new Cursor(c.getCreatedAt(), c.getId()),
+                this::toResponse);
+    }
+
     private UserEntity getCurrentUser() {
 
         String email = SecurityUtils.getCurrentUsername();
@@ -139,12 +206,7 @@ public class CommentService {
         return new CommentResponse(
                 entity.getId(),
                 entity.getContent(),
-                new UserSummaryDto(
-                        entity.getAuthor().getId(),
-                        entity.getAuthor().getEmail(),
-                        entity.getAuthor().getFirstName(),
-                        entity.getAuthor().getLastName()
-                ),
+                UserSummaryDto.of(entity.getAuthor()),
                 entity.getCreatedAt()
         );
     }
@@ -0,0 +1,162 @@
+package com.ticketsmanage.backend.common.batch;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded write-behind buffer. A single flusher thread drains it in
+ * batches; when the buffer is full the caller writes its item directly,
+ * so entries are never dropped for lack of space. A failed batch is
+ * retried item by item so one bad row cannot take the rest with it.
+ *
+ * Metrics are published as {@code <metricPrefix>.buffer.depth},
+ * {@code .flush.latency}, {@code .flushed} (rows written),
+ * {@code .buffer.overflow} and {@code .flush.failures}.
+ */
+@Slf4j
+public abstract class WriteBehindBuffer<T> {
+
+    private final String name;
+    private final BlockingQueue<T> buffer;
+    private final int batchSize;
+    private final long flushIntervalMs;
+
+    private final Timer flushTimer;
+    private final Counter flushedCounter;
+    private final Counter overflowCounter;
+    private final Counter failureCounter;
+
+    private Thread flusher;
+    private volatile boolean running = true;
+
+    protected WriteBehindBuffer(
+            String name,
+            String metricPrefix,
+            MeterRegistry meterRegistry,
+            int capacity,
+            int batchSize,
+            long flushIntervalMs
+    ) {
+        this.name = name;
+        this.buffer = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+
+        Gauge.builder(metricPrefix + ".buffer.depth", buffer, BlockingQueue::size)
+                .description("Entries waiting to be flushed")
+                .register(meterRegistry);
+
+        this.flushTimer = Timer.builder(metricPrefix + ".flush.latency")
+                .description("Time to write one batch")
+                .register(meterRegistry);
+
+        this.flushedCounter = meterRegistry.counter(metricPrefix + ".flushed");
+        this.overflowCounter = meterRegistry.counter(metricPrefix + ".buffer.overflow");
+        this.failureCounter = meterRegistry.counter(metricPrefix + ".flush.failures");
+    }
+
+    /**
+     * Writes one batch and returns how many rows it wrote, which may be
+     * fewer than the batch when items are skipped; must throw
+     * {@link DataAccessException} on failure.
+     */
+    protected abstract int writeBatch(List<T> batch);
+
+    protected abstract String describe(T item);
+
+    @PostConstruct
+    void start() {
+        flusher = new Thread(this::run, name + "-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    public void enqueue(T item) {
+
+        if (buffer.offer(item)) {
+            return;
+        }
+
+        // buffer full: fall back to a direct write rather than lose the entry
+        overflowCounter.increment();
+        write(List.of(item));
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+
+        running = false;
+        flusher.interrupt();
+        flusher.join(TimeUnit.SECONDS.toMillis(10));
+
+        // whatever is left after the flusher exits
+        List<T> remaining = new ArrayList<>();
+        buffer.drainTo(remaining);
+
+        if (!remaining.isEmpty()) {
+            write(remaining);
+        }
+    }
+
+    private void run() {
+
+        List<T> batch = new ArrayList<>(batchSize);
+
+        while (running) {
+            try {
+                T first = buffer.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+
+                if (first == null) {
+                    continue;
+                }
+
+                batch.add(first);
+                buffer.drainTo(batch, batchSize - 1);
+
+                write(batch);
+
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (RuntimeException e) {
+                log.error("{} flusher error: {}", name, e.getMessage(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<T> batch) {
+
+        long start = System.nanoTime();
+
+        try {
+            flushedCounter.increment(writeBatch(batch));
+
+        } catch (DataAccessException e) {
+            log.warn("{} batch of {} failed, retrying one by one: {}", name, batch.size(), e.getMessage());
+
+            if (batch.size() > 1) {
+                batch.forEach(item -> write(List.of(item)));
+            } else {
+                failureCounter.increment();
+                log.error("Dropping {} entry {}: {}", name, describe(batch.get(0)), e.getMessage());
+            }
+
+        } finally {
+            flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.ticketsmanage.backend.common.exception;
+
+import lombok.Getter;
+
+/**
+ * An upload would take a user or ticket over its storage quota.
+ */
+@Getter
+public class QuotaExceededException extends RuntimeException {
+
+    private final long quotaBytes;
+
+    public QuotaExceededException(String message, long quotaBytes) {
+        super(message);
+        this.quotaBytes = quotaBytes;
+    }
+}
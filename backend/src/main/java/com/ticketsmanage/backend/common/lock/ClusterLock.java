@@ -0,0 +1,62 @@
+package com.ticketsmanage.backend.common.lock;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Runs background jobs on at most one node, using a session-level
+ * Postgres advisory lock held on a dedicated connection for the
+ * duration of the task.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ClusterLock {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Runs the task if no other node holds the lock; returns whether it ran.
+     */
+    public boolean runExclusive(String name, Runnable task) {
+
+        Boolean ran = jdbcTemplate.execute((ConnectionCallback<Boolean>) con -> {
+
+            if (!call(con, "pg_try_advisory_lock", name)) {
+                log.debug("{} already running on another node", name);
+                return false;
+            }
+
+            try {
+                task.run();
+            } finally {
+                call(con, "pg_advisory_unlock", name);
+            }
+
+            return true;
+        });
+
+        return Boolean.TRUE.equals(ran);
+    }
+
+    private boolean call(Connection con, String function, String name) throws SQLException {
+
+        try (PreparedStatement ps = con.prepareStatement(
+                "select " + function + "(hashtext(?))")) {
+
+            ps.setString(1, name);
+
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+}
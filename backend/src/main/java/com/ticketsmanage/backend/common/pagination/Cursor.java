@@ -0,0 +1,49 @@
+package com.ticketsmanage.backend.common.pagination;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Opaque keyset position on (created_at, id), handed to clients as a
+ * URL-safe string.
+ */
+public record Cursor(
+        Instant createdAt,
+        UUID id
+) {
+
+    public String encode() {
+
+        String raw = createdAt.getEpochSecond() + ":" + createdAt.getNano() + ":" + id;
+
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Cursor decode(String value) {
+
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+
+        try {
+            String raw = new String(
+                    Base64.getUrlDecoder().decode(value),
+                    StandardCharsets.UTF_8);
+
+            String[] parts = raw.split(":", 3);
+
+            return new Cursor(
+                    Instant.ofEpochSecond(
+                            Long.parseLong(parts[0]),
+                            Long.parseLong(parts[1])),
+                    UUID.fromString(parts[2]));
+
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
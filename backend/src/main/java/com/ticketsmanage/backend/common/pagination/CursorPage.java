@@ -0,0 +1,46 @@
+package com.ticketsmanage.backend.common.pagination;
+
+import java.util.List;
+import java.util.function.Function;
+
+public record CursorPage<T>(
+        List<T> items,
+        String nextCursor
+) {
+
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100;
+
+    public static int clampLimit(Integer limit) {
+
+        if (limit == null || limit <= 0) {
+            return DEFAULT_LIMIT;
+        }
+
+        return Math.min(limit, MAX_LIMIT);
+    }
+
+    /**
+     * Builds a page from rows fetched with limit + 1, so the presence of
+     * a next page is known without a COUNT query.
+     */
+    public static <E, T> CursorPage<T> of(
+            List<E> rows,
+            int limit,
+            Function<E, Cursor> cursorOf,
+            Function<E, T> mapper
+    ) {
+
+        boolean hasMore = rows.size() > limit;
+
+        List<E> page = hasMore ? rows.subList(0, limit) : rows;
+
+        String next = hasMore
+                ? cursorOf.apply(page.get(page.size() - 1)).encode()
+                : null;
+
+        return new CursorPage<>(
+                page.stream().map(mapper).toList(),
+                next);
+    }
+}
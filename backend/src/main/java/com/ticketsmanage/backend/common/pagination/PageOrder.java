@@ -0,0 +1,44 @@
+package com.ticketsmanage.backend.common.pagination;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Direction of a keyset page on (created_at, id).
+ */
+public enum PageOrder {
+
+    NEWEST_FIRST(Sort.Direction.DESC),
+    OLDEST_FIRST(Sort.Direction.ASC);
+
+    private final Sort.Direction direction;
+
+    PageOrder(Sort.Direction direction) {
+        this.direction = direction;
+    }
+
+    /**
+     * Accepts {@code desc} / {@code asc}; defaults to newest first.
+     */
+    public static PageOrder parse(String value) {
+
+        if (value == null || value.isBlank() || value.equalsIgnoreCase("desc")) {
+            return NEWEST_FIRST;
+        }
+
+        if (value.equalsIgnoreCase("asc")) {
+            return OLDEST_FIRST;
+        }
+
+        throw new IllegalArgumentException("Invalid order: " + value);
+    }
+
+    /**
+     * One row more than the page size, so {@link CursorPage#of} can tell
+     * whether another page follows.
+     */
+    public Pageable pageable(int limit) {
+        return PageRequest.of(0, limit + 1, Sort.by(direction, "createdAt", "id"));
+    }
+}
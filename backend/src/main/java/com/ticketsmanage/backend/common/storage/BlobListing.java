@@ -0,0 +1,9 @@
+package com.ticketsmanage.backend.common.storage;
+
+import java.time.Instant;
+
+public record BlobListing(
+        String key,
+        long size,
+        Instant lastModified
+) {}
@@ -0,0 +1,8 @@
+package com.ticketsmanage.backend.common.storage;
+
+public record BlobMetadata(
+        long size,
+        String contentType,
+        // hex SHA-256 when the store keeps one, otherwise null
+        String checksumSha256
+) {}
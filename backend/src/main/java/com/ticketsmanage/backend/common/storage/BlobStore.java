@@ -0,0 +1,171 @@
+package com.ticketsmanage.backend.common.storage;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Storage for attachment and profile photo bytes, addressed by key.
+ *
+ * Operations return futures so callers can overlap storage I/O with other
+ * work. Writes from an {@link InputStream} read the stream on the calling
+ * thread, since servlet request bodies must not be read elsewhere; the
+ * future completes once the object is stored. A failed write leaves
+ * nothing visible under the key.
+ *
+ * The backend is chosen per environment with {@code app.storage.backend}.
+ */
+public interface BlobStore {
+
+    CompletableFuture<Void> put(
+            String key,
+            InputStream content,
+            Long contentLength,
+            String contentType);
+
+    CompletableFuture<Void> put(
+            String key,
+            byte[] content,
+            String contentType);
+
+    /**
+     * Opens the object for streaming. Fails with {@link java.nio.file.NoSuchFileException}
+     * when the key does not exist.
+     */
+    CompletableFuture<InputStream> open(String key);
+
+    /**
+     * Reads a whole object into memory; meant for small objects.
+     */
+    CompletableFuture<byte[]> read(String key);
+
+    /**
+     * Reads {@code length} bytes starting at {@code offset}. Fails with
+     * {@link java.io.EOFException} when the object ends first.
+     */
+    default CompletableFuture<byte[]> readRange(String key, long offset, int length) {
+        return open(key).thenApply(in -> {
+            try (in) {
+                in.skipNBytes(offset);
+
+                byte[] range = in.readNBytes(length);
+
+                if (range.length < length) {
+                    throw new EOFException(key + " ends before " + (offset + length));
+                }
+
+                return range;
+
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    CompletableFuture<Optional<BlobMetadata>> head(String key);
+
+    /**
+     * Deletes the object; a missing key is not an error.
+     */
+    CompletableFuture<Void> delete(String key);
+
+    /**
+     * Deletes many objects, in as few requests as the store allows, and
+     * completes with the keys that could not be deleted.
+     */
+    default CompletableFuture<List<String>> deleteAll(Collection<String> keys) {
+
+        List<String> failed = new ArrayList<>();
+
+        for (String key : keys) {
+            try {
+                await(delete(key));
+            } catch (RuntimeException e) {
+                failed.add(key);
+            }
+        }
+
+        return CompletableFuture.completedFuture(failed);
+    }
+
+    /**
+     * Up to {@code limit} objects under the prefix in key order, starting
+     * after {@code startAfter} (null for the beginning). An empty page means
+     * the listing is done.
+     */
+    CompletableFuture<List<BlobListing>> list(String prefix, String startAfter, int limit);
+
+    /**
+     * Whether reads cross the network. Local caches only pay off for remote stores.
+     */
+    default boolean isRemote() {
+        return false;
+    }
+
+    /**
+     * The file behind the key, for stores that keep objects on local disk,
+     * so it can be served without copying through the JVM.
+     */
+    default Optional<Path> localPath(String key) {
+        return Optional.empty();
+    }
+
+    /**
+     * Whether clients can be given presigned URLs to transfer bytes directly.
+     */
+    default boolean supportsPresigning() {
+        return false;
+    }
+
+    /**
+     * Signs a PUT for the key. Content type, length and the optional
+     * base64 SHA-256 are part of the signature.
+     */
+    default PresignedRequest presignPut(
+            String key,
+            String contentType,
+            long contentLength,
+            String checksumSha256Base64,
+            Duration ttl) {
+        throw new UnsupportedOperationException("Presigning is not supported by this store");
+    }
+
+    /**
+     * Signs a GET that answers with the given type, file name and, for
+     * objects stored compressed, content encoding.
+     */
+    default PresignedRequest presignGet(
+            String key,
+            String fileName,
+            String contentType,
+            String contentEncoding,
+            Duration ttl) {
+        throw new UnsupportedOperationException("Presigning is not supported by this store");
+    }
+
+    /**
+     * Waits for a storage operation, rethrowing its failure unwrapped.
+     */
+    static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof IOException cause) {
+                throw new UncheckedIOException(cause);
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.ticketsmanage.backend.common.storage;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+
+import java.nio.file.Paths;
+
+@Configuration
+public class BlobStoreConfig {
+
+    // s3 or local
+    @Value("${app.storage.backend:local}")
+    private String backend;
+
+    @Value("${app.storage.local-root:uploads}")
+    private String localRoot;
+
+    @Value("${aws.s3.bucket-name:}")
+    private String bucketName;
+
+    @Value("${aws.s3.part-size-bytes:8388608}")
+    private int partSize;
+
+    @Value("${aws.s3.multipart-threshold-bytes:16777216}")
+    private long multipartThreshold;
+
+    @Value("${aws.s3.max-concurrent-parts:4}")
+    private int maxConcurrentParts;
+
+    @Bean
+    public BlobStore blobStore(
+            ObjectProvider<S3AsyncClient> s3AsyncClient,
+            ObjectProvider<S3Presigner> s3Presigner
+    ) {
+        return switch (backend) {
+            case "s3" -> new S3BlobStore(
+                    s3AsyncClient.getObject(),
+                    s3Presigner.getObject(),
+                    bucketName,
+                    partSize,
+                    multipartThreshold,
+                    maxConcurrentParts);
+            case "local" -> new LocalBlobStore(Paths.get(localRoot));
+            default -> throw new IllegalStateException("Unknown storage backend: " + backend);
+        };
+    }
+}
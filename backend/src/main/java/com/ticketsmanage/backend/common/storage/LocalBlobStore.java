@@ -0,0 +1,341 @@
+package com.ticketsmanage.backend.common.storage;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.CompletionHandler;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Stream;
+
+/**
+ * Stores objects as files under a root directory. Writes go through
+ * {@link AsynchronousFileChannel}: while one buffer is being written the
+ * next one is filled from the source stream. Objects are written to a
+ * temporary file and moved into place, so readers never see partial files.
+ */
+public class LocalBlobStore implements BlobStore {
+
+    private static final int BUFFER_SIZE = 256 * 1024;
+
+    private final Path root;
+
+    public LocalBlobStore(Path root) {
+        this.root = root.toAbsolutePath().normalize();
+    }
+
+    @Override
+    public CompletableFuture<Void> put(
+            String key,
+            InputStream content,
+            Long contentLength,
+            String contentType) {
+
+        Path target;
+        Path temp;
+        AsynchronousFileChannel channel;
+
+        try {
+            target = resolve(key);
+            Files.createDirectories(target.getParent());
+
+            temp = target.resolveSibling(target.getFileName() + "." + UUID.randomUUID() + ".tmp");
+            channel = AsynchronousFileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.CREATE_NEW);
+
+        } catch (IOException | RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        // two buffers: one being written while the other is filled
+        byte[][] buffers = {new byte[BUFFER_SIZE], new byte[BUFFER_SIZE]};
+        @SuppressWarnings("unchecked")
+        CompletableFuture<Void>[] writes = new CompletableFuture[]{
+                CompletableFuture.completedFuture(null),
+                CompletableFuture.completedFuture(null)
+        };
+
+        try {
+            long position = 0;
+
+            for (int i = 0; ; i ^= 1) {
+
+                // the buffer may still be in use by the write issued two rounds ago
+                BlobStore.await(writes[i]);
+
+                int read = content.readNBytes(buffers[i], 0, BUFFER_SIZE);
+
+                if (read == 0) {
+                    break;
+                }
+
+                writes[i] = writeFully(channel, ByteBuffer.wrap(buffers[i], 0, read), position);
+                position += read;
+            }
+
+        } catch (IOException | RuntimeException e) {
+            // finish outstanding writes before the file goes
+            return CompletableFuture.allOf(writes)
+                    .handle((v, error) -> null)
+                    .thenCompose(v -> discard(channel, temp, e));
+        }
+
+        return CompletableFuture.allOf(writes)
+                .thenCompose(v -> commit(channel, temp, target))
+                .exceptionallyCompose(e -> discard(channel, temp, e));
+    }
+
+    @Override
+    public CompletableFuture<Void> put(String key, byte[] content, String contentType) {
+        return put(key, new ByteArrayInputStream(content), (long) content.length, contentType);
+    }
+
+    /**
+     * Plain blocking stream; downloads of local objects go through
+     * {@link #localPath} and the container's sendfile instead.
+     */
+    @Override
+    public CompletableFuture<InputStream> open(String key) {
+        try {
+            return CompletableFuture.completedFuture(Files.newInputStream(resolve(key)));
+        } catch (IOException | RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<byte[]> read(String key) {
+
+        AsynchronousFileChannel channel;
+        byte[] content;
+
+        try {
+            channel = AsynchronousFileChannel.open(resolve(key), StandardOpenOption.READ);
+
+            long size = channel.size();
+
+            if (size > Integer.MAX_VALUE) {
+                channel.close();
+                throw new IOException("Object too large to read into memory: " + key);
+            }
+
+            content = new byte[(int) size];
+
+        } catch (IOException | RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        CompletableFuture<byte[]> result = new CompletableFuture<>();
+        ByteBuffer buffer = ByteBuffer.wrap(content);
+
+        channel.read(buffer, 0, null, new CompletionHandler<Integer, Void>() {
+            @Override
+            public void completed(Integer read, Void attachment) {
+                if (read < 0 || !buffer.hasRemaining()) {
+                    closeQuietly(channel);
+                    result.complete(buffer.hasRemaining()
+                            ? Arrays.copyOf(content, buffer.position())
+                            : content);
+                    return;
+                }
+                channel.read(buffer, buffer.position(), null, this);
+            }
+
+            @Override
+            public void failed(Throwable error, Void attachment) {
+                closeQuietly(channel);
+                result.completeExceptionally(error);
+            }
+        });
+
+        return result;
+    }
+
+    @Override
+    public CompletableFuture<byte[]> readRange(String key, long offset, int length) {
+
+        try (FileChannel channel = FileChannel.open(resolve(key), StandardOpenOption.READ)) {
+
+            ByteBuffer buffer = ByteBuffer.allocate(length);
+
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, offset + buffer.position()) < 0) {
+                    throw new EOFException(key + " ends before " + (offset + length));
+                }
+            }
+
+            return CompletableFuture.completedFuture(buffer.array());
+
+        } catch (IOException | RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Optional<BlobMetadata>> head(String key) {
+        try {
+            Path file = resolve(key);
+
+            if (!Files.isRegularFile(file)) {
+                return CompletableFuture.completedFuture(Optional.empty());
+            }
+
+            return CompletableFuture.completedFuture(Optional.of(
+                    new BlobMetadata(Files.size(file), Files.probeContentType(file), null)));
+
+        } catch (IOException | RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> delete(String key) {
+        try {
+            Files.deleteIfExists(resolve(key));
+            return CompletableFuture.completedFuture(null);
+        } catch (IOException | RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Walks the directory under the prefix; fine for the object counts a
+     * single-node local store holds. Unfinished temp files are listed too,
+     * so reconciliation can clean them up.
+     */
+    @Override
+    public CompletableFuture<List<BlobListing>> list(String prefix, String startAfter, int limit) {
+
+        int slash = prefix.lastIndexOf('/');
+        Path dir = slash > 0 ? resolve(prefix.substring(0, slash)) : root;
+
+        if (!Files.isDirectory(dir)) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+
+        try (Stream<Path> files = Files.walk(dir)) {
+
+            List<BlobListing> page = files
+                    .filter(Files::isRegularFile)
+                    .map(file -> Map.entry(key(file), file))
+                    .filter(e -> e.getKey().startsWith(prefix))
+                    .filter(e -> startAfter == null || e.getKey().compareTo(startAfter) > 0)
+                    .sorted(Map.Entry.comparingByKey())
+                    .limit(limit)
+                    .flatMap(e -> listing(e.getKey(), e.getValue()).stream())
+                    .toList();
+
+            return CompletableFuture.completedFuture(page);
+
+        } catch (IOException | RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public Optional<Path> localPath(String key) {
+        return Optional.of(resolve(key));
+    }
+
+    private String key(Path file) {
+        // keys use '/' whatever the platform separator is
+        return root.relativize(file).toString().replace(file.getFileSystem().getSeparator(), "/");
+    }
+
+    private Optional<BlobListing> listing(String key, Path file) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            return Optional.of(new BlobListing(key, attributes.size(), attributes.lastModifiedTime().toInstant()));
+        } catch (IOException e) {
+            // deleted while walking
+            return Optional.empty();
+        }
+    }
+
+    private Path resolve(String key) {
+
+        Path path = root.resolve(key).normalize();
+
+        if (!path.startsWith(root) || path.equals(root)) {
+            throw new IllegalArgumentException("Invalid storage key: " + key);
+        }
+
+        return path;
+    }
+
+    private CompletableFuture<Void> writeFully(
+            AsynchronousFileChannel channel,
+            ByteBuffer buffer,
+            long position) {
+
+        CompletableFuture<Void> result = new CompletableFuture<>();
+
+        channel.write(buffer, position, null, new CompletionHandler<Integer, Void>() {
+            @Override
+            public void completed(Integer written, Void attachment) {
+                if (!buffer.hasRemaining()) {
+                    result.complete(null);
+                    return;
+                }
+                // short write: continue where it stopped
+                channel.write(buffer, position + buffer.position(), null, this);
+            }
+
+            @Override
+            public void failed(Throwable error, Void attachment) {
+                result.completeExceptionally(error);
+            }
+        });
+
+        return result;
+    }
+
+    private CompletableFuture<Void> commit(AsynchronousFileChannel channel, Path temp, Path target) {
+        try {
+            channel.force(false);
+            channel.close();
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return CompletableFuture.completedFuture(null);
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private CompletableFuture<Void> discard(AsynchronousFileChannel channel, Path temp, Throwable error) {
+
+        Throwable cause = error instanceof CompletionException && error.getCause() != null
+                ? error.getCause()
+                : error;
+
+        closeQuietly(channel);
+
+        try {
+            Files.deleteIfExists(temp);
+        } catch (IOException e) {
+            cause.addSuppressed(e);
+        }
+
+        return CompletableFuture.failedFuture(cause);
+    }
+
+    private void closeQuietly(AsynchronousFileChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // nothing left to do with it
+        }
+    }
+}
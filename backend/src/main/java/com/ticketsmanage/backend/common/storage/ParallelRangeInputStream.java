@@ -0,0 +1,137 @@
+package com.ticketsmanage.backend.common.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Reads an object as consecutive byte ranges fetched in parallel and hands
+ * them out in order. At most {@code concurrency} ranges are in flight or
+ * buffered, so memory stays at roughly concurrency x part size.
+ */
+public class ParallelRangeInputStream extends InputStream {
+
+    @FunctionalInterface
+    public interface RangeFetcher {
+        CompletableFuture<byte[]> fetch(long start, long endInclusive);
+    }
+
+    private final RangeFetcher fetcher;
+    private final long totalSize;
+    private final int partSize;
+    private final int concurrency;
+
+    private final Deque<CompletableFuture<byte[]>> inFlight = new ArrayDeque<>();
+
+    private long nextOffset;
+    private byte[] current;
+    private int position;
+    private boolean closed;
+
+    public ParallelRangeInputStream(
+            byte[] firstPart,
+            long totalSize,
+            int partSize,
+            int concurrency,
+            RangeFetcher fetcher
+    ) {
+        this.fetcher = fetcher;
+        this.totalSize = totalSize;
+        this.partSize = partSize;
+        this.concurrency = concurrency;
+        this.current = firstPart;
+        this.nextOffset = firstPart.length;
+
+        schedule();
+    }
+
+    @Override
+    public int read() throws IOException {
+
+        if (!ensureData()) {
+            return -1;
+        }
+
+        return current[position++] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+
+        if (len == 0) {
+            return 0;
+        }
+
+        if (!ensureData()) {
+            return -1;
+        }
+
+        int n = Math.min(len, current.length - position);
+        System.arraycopy(current, position, b, off, n);
+        position += n;
+
+        return n;
+    }
+
+    @Override
+    public int available() {
+        return current == null ? 0 : current.length - position;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        inFlight.forEach(f -> f.cancel(true));
+        inFlight.clear();
+        current = null;
+    }
+
+    private boolean ensureData() throws IOException {
+
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+
+        while (current == null || position >= current.length) {
+
+            CompletableFuture<byte[]> next = inFlight.poll();
+
+            if (next == null) {
+                return false;
+            }
+
+            try {
+                current = next.join();
+                position = 0;
+            } catch (CompletionException | CancellationException e) {
+                close();
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                throw cause instanceof UncheckedIOException u
+                        ? u.getCause()
+                        : new IOException("Ranged download failed: " + cause.getMessage(), cause);
+            }
+
+            schedule();
+        }
+
+        return true;
+    }
+
+    private void schedule() {
+
+        while (inFlight.size() < concurrency && nextOffset < totalSize) {
+
+            long start = nextOffset;
+            long end = Math.min(start + partSize, totalSize) - 1;
+
+            inFlight.add(fetcher.fetch(start, end));
+
+            nextOffset = end + 1;
+        }
+    }
+}
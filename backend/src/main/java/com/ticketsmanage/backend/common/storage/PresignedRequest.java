@@ -0,0 +1,12 @@
+package com.ticketsmanage.backend.common.storage;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+public record PresignedRequest(
+        String url,
+        // headers that are part of the signature and must be sent as-is
+        Map<String, List<String>> signedHeaders,
+        Instant expiresAt
+) {}
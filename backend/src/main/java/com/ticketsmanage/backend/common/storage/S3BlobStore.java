@@ -0,0 +1,480 @@
+package com.ticketsmanage.backend.common.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.awssdk.core.ResponseBytes;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.core.async.AsyncResponseTransformer;
+import software.amazon.awssdk.core.async.BlockingInputStreamAsyncRequestBody;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.*;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedGetObjectRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedPutObjectRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PutObjectPresignRequest;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.NoSuchFileException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Objects in an S3 bucket through the non-blocking {@link S3AsyncClient}.
+ *
+ * Bodies below the multipart threshold go up as a single PUT. Larger ones,
+ * or bodies of unknown length, are split into parts that upload
+ * concurrently; the caller blocks only while more than
+ * {@code maxConcurrentParts} parts are in flight. Large reads are fetched
+ * as parallel ranged GETs. Retries of individual requests are left to the
+ * client's retry policy.
+ */
+@Slf4j
+public class S3BlobStore implements BlobStore {
+
+    private static final int MAX_DELETE_KEYS = 1000;
+
+    private final S3AsyncClient client;
+    private final S3Presigner presigner;
+    private final String bucket;
+    private final int partSize;
+    private final long multipartThreshold;
+    private final int maxConcurrentParts;
+
+    public S3BlobStore(
+            S3AsyncClient client,
+            S3Presigner presigner,
+            String bucket,
+            int partSize,
+            long multipartThreshold,
+            int maxConcurrentParts
+    ) {
+        this.client = client;
+        this.presigner = presigner;
+        this.bucket = bucket;
+        this.partSize = partSize;
+        this.multipartThreshold = multipartThreshold;
+        this.maxConcurrentParts = maxConcurrentParts;
+    }
+
+    @Override
+    public CompletableFuture<Void> put(
+            String key,
+            InputStream content,
+            Long contentLength,
+            String contentType) {
+
+        if (contentLength != null && contentLength < multipartThreshold) {
+
+            BlockingInputStreamAsyncRequestBody body = AsyncRequestBody.forBlockingInputStream(contentLength);
+
+            CompletableFuture<PutObjectResponse> response = client.putObject(
+                    PutObjectRequest.builder()
+                            .bucket(bucket)
+                            .key(key)
+                            .contentType(contentType)
+                            .contentLength(contentLength)
+                            .build(),
+                    body);
+
+            try {
+                // blocks until the client has consumed the stream
+                body.writeInputStream(content);
+            } catch (RuntimeException e) {
+                response.cancel(true);
+                return CompletableFuture.failedFuture(e);
+            }
+
+            return response.thenApply(r -> null);
+        }
+
+        try {
+            return putMultipart(key, content, contentType);
+        } catch (IOException | RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> put(String key, byte[] content, String contentType) {
+        return client.putObject(
+                        PutObjectRequest.builder()
+                                .bucket(bucket)
+                                .key(key)
+                                .contentType(contentType)
+                                .contentLength((long) content.length)
+                                .build(),
+                        AsyncRequestBody.fromBytes(content))
+                .thenApply(r -> null);
+    }
+
+    /**
+     * The first part is fetched with a ranged GET that also reveals the
+     * object size; anything beyond it is fetched as parallel ranged GETs
+     * and reassembled in order.
+     */
+    @Override
+    public CompletableFuture<InputStream> open(String key) {
+
+        return fetchRange(key, 0, partSize - 1)
+                .<InputStream>thenApply(first -> {
+
+                    byte[] head = first.asByteArray();
+                    long totalSize = totalSize(first.response(), head.length);
+
+                    if (totalSize <= head.length) {
+                        return new ByteArrayInputStream(head);
+                    }
+
+                    return new ParallelRangeInputStream(
+                            head,
+                            totalSize,
+                            partSize,
+                            maxConcurrentParts,
+                            (start, end) -> fetchRange(key, start, end).thenApply(ResponseBytes::asByteArray));
+                })
+                .exceptionallyCompose(e -> {
+                    Throwable cause = unwrap(e);
+
+                    if (cause instanceof S3Exception s3 && s3.statusCode() == 416) {
+                        // ranges are not satisfiable on empty objects
+                        return CompletableFuture.completedFuture(new ByteArrayInputStream(new byte[0]));
+                    }
+
+                    return CompletableFuture.failedFuture(translate(key, cause));
+                });
+    }
+
+    @Override
+    public CompletableFuture<byte[]> read(String key) {
+        return client.getObject(
+                        GetObjectRequest.builder()
+                                .bucket(bucket)
+                                .key(key)
+                                .build(),
+                        AsyncResponseTransformer.<GetObjectResponse>toBytes())
+                .thenApply(ResponseBytes::asByteArray)
+                .exceptionallyCompose(e -> CompletableFuture.failedFuture(translate(key, unwrap(e))));
+    }
+
+    /**
+     * One ranged GET.
+     */
+    @Override
+    public CompletableFuture<byte[]> readRange(String key, long offset, int length) {
+        return fetchRange(key, offset, offset + length - 1)
+                .thenApply(ResponseBytes::asByteArray)
+                .thenApply(range -> {
+                    if (range.length < length) {
+                        throw new UncheckedIOException(new EOFException(key + " ends before " + (offset + length)));
+                    }
+                    return range;
+                })
+                .exceptionallyCompose(e -> CompletableFuture.failedFuture(translate(key, unwrap(e))));
+    }
+
+    @Override
+    public CompletableFuture<Optional<BlobMetadata>> head(String key) {
+        return client.headObject(HeadObjectRequest.builder()
+                        .bucket(bucket)
+                        .key(key)
+                        .checksumMode(ChecksumMode.ENABLED)
+                        .build())
+                .thenApply(r -> Optional.of(new BlobMetadata(
+                        r.contentLength(),
+                        r.contentType(),
+                        r.checksumSHA256() != null
+                                ? HexFormat.of().formatHex(Base64.getDecoder().decode(r.checksumSHA256()))
+                                : null)))
+                .exceptionallyCompose(e -> {
+                    Throwable cause = unwrap(e);
+
+                    if (cause instanceof NoSuchKeyException
+                            || (cause instanceof S3Exception s3 && s3.statusCode() == 404)) {
+                        return CompletableFuture.completedFuture(Optional.empty());
+                    }
+
+                    return CompletableFuture.failedFuture(cause);
+                });
+    }
+
+    @Override
+    public CompletableFuture<Void> delete(String key) {
+        return client.deleteObject(DeleteObjectRequest.builder()
+                        .bucket(bucket)
+                        .key(key)
+                        .build())
+                .thenApply(r -> null);
+    }
+
+    /**
+     * Multi-object delete, up to 1000 keys per request.
+     */
+    @Override
+    public CompletableFuture<List<String>> deleteAll(Collection<String> keys) {
+
+        List<String> all = List.copyOf(keys);
+        List<CompletableFuture<List<String>>> batches = new ArrayList<>();
+
+        for (int from = 0; from < all.size(); from += MAX_DELETE_KEYS) {
+
+            List<String> batch = all.subList(from, Math.min(all.size(), from + MAX_DELETE_KEYS));
+
+            batches.add(client.deleteObjects(DeleteObjectsRequest.builder()
+                            .bucket(bucket)
+                            .delete(Delete.builder()
+                                    // only failures are reported back
+                                    .quiet(true)
+                                    .objects(batch.stream()
+                                            .map(key -> ObjectIdentifier.builder().key(key).build())
+                                            .toList())
+                                    .build())
+                            .build())
+                    .thenApply(r -> r.errors().stream().map(S3Error::key).toList())
+                    .exceptionally(e -> {
+                        log.warn("Multi-object delete of {} keys failed", batch.size(), unwrap(e));
+                        return batch;
+                    }));
+        }
+
+        return CompletableFuture.allOf(batches.toArray(CompletableFuture[]::new))
+                .thenApply(v -> batches.stream()
+                        .flatMap(b -> b.join().stream())
+                        .toList());
+    }
+
+    @Override
+    public CompletableFuture<List<BlobListing>> list(String prefix, String startAfter, int limit) {
+
+        ListObjectsV2Request.Builder request = ListObjectsV2Request.builder()
+                .bucket(bucket)
+                .prefix(prefix)
+                .maxKeys(Math.min(limit, 1000));
+
+        if (startAfter != null) {
+            request.startAfter(startAfter);
+        }
+
+        return client.listObjectsV2(request.build())
+                .thenApply(r -> r.contents().stream()
+                        .map(o -> new BlobListing(o.key(), o.size(), o.lastModified()))
+                        .toList());
+    }
+
+    @Override
+    public boolean isRemote() {
+        return true;
+    }
+
+    @Override
+    public boolean supportsPresigning() {
+        return true;
+    }
+
+    @Override
+    public PresignedRequest presignPut(
+            String key,
+            String contentType,
+            long contentLength,
+            String checksumSha256Base64,
+            Duration ttl) {
+
+        PutObjectRequest.Builder putObjectRequest = PutObjectRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .contentType(contentType)
+                .contentLength(contentLength);
+
+        if (checksumSha256Base64 != null) {
+            putObjectRequest.checksumSHA256(checksumSha256Base64);
+        }
+
+        PresignedPutObjectRequest presigned = presigner.presignPutObject(PutObjectPresignRequest.builder()
+                .signatureDuration(ttl)
+                .putObjectRequest(putObjectRequest.build())
+                .build());
+
+        return new PresignedRequest(
+                presigned.url().toString(),
+                presigned.signedHeaders(),
+                presigned.expiration());
+    }
+
+    @Override
+    public PresignedRequest presignGet(
+            String key,
+            String fileName,
+            String contentType,
+            String contentEncoding,
+            Duration ttl) {
+
+        PresignedGetObjectRequest presigned = presigner.presignGetObject(GetObjectPresignRequest.builder()
+                .signatureDuration(ttl)
+                .getObjectRequest(GetObjectRequest.builder()
+                        .bucket(bucket)
+                        .key(key)
+                        .responseContentType(contentType)
+                        .responseContentDisposition("inline; filename=\"" + fileName + "\"")
+                        .responseContentEncoding(contentEncoding)
+                        .build())
+                .build());
+
+        return new PresignedRequest(
+                presigned.url().toString(),
+                presigned.signedHeaders(),
+                presigned.expiration());
+    }
+
+    private CompletableFuture<Void> putMultipart(
+            String key,
+            InputStream content,
+            String contentType) throws IOException {
+
+        byte[] buffer = new byte[partSize];
+        int read = content.readNBytes(buffer, 0, partSize);
+
+        if (read < partSize) {
+            // fits in one part, a plain PUT is cheaper
+            return put(key, Arrays.copyOf(buffer, read), contentType);
+        }
+
+        String uploadId = BlobStore.await(client.createMultipartUpload(CreateMultipartUploadRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .contentType(contentType)
+                .build())).uploadId();
+
+        List<CompletableFuture<CompletedPart>> parts = new ArrayList<>();
+        Semaphore buffers = new Semaphore(maxConcurrentParts);
+
+        try {
+            // the first buffer is already filled
+            buffers.acquire();
+
+            int partNumber = 1;
+
+            while (read > 0) {
+
+                int number = partNumber;
+
+                parts.add(client.uploadPart(
+                                UploadPartRequest.builder()
+                                        .bucket(bucket)
+                                        .key(key)
+                                        .uploadId(uploadId)
+                                        .partNumber(number)
+                                        .contentLength((long) read)
+                                        .build(),
+                                AsyncRequestBody.fromByteBuffer(ByteBuffer.wrap(buffer, 0, read)))
+                        .thenApply(r -> CompletedPart.builder()
+                                .partNumber(number)
+                                .eTag(r.eTag())
+                                .build())
+                        .whenComplete((r, e) -> buffers.release()));
+
+                partNumber++;
+
+                if (parts.stream().anyMatch(CompletableFuture::isCompletedExceptionally)) {
+                    break;
+                }
+
+                // backpressure: wait for a part to finish before buffering another
+                buffers.acquire();
+
+                buffer = new byte[partSize];
+                read = content.readNBytes(buffer, 0, partSize);
+
+                if (read == 0) {
+                    buffers.release();
+                }
+            }
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            parts.forEach(f -> f.cancel(true));
+            abort(key, uploadId);
+            throw new InterruptedIOException("Interrupted while uploading " + key);
+
+        } catch (IOException | RuntimeException e) {
+            parts.forEach(f -> f.cancel(true));
+            abort(key, uploadId);
+            throw e;
+        }
+
+        return CompletableFuture.allOf(parts.toArray(CompletableFuture[]::new))
+                .thenCompose(v -> client.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+                        .bucket(bucket)
+                        .key(key)
+                        .uploadId(uploadId)
+                        .multipartUpload(CompletedMultipartUpload.builder()
+                                .parts(parts.stream().map(CompletableFuture::join).toList())
+                                .build())
+                        .build()))
+                .<Void>thenApply(r -> null)
+                .exceptionallyCompose(e -> {
+                    parts.forEach(f -> f.cancel(true));
+                    abort(key, uploadId);
+                    return CompletableFuture.failedFuture(unwrap(e));
+                });
+    }
+
+    private CompletableFuture<ResponseBytes<GetObjectResponse>> fetchRange(String key, long start, long endInclusive) {
+        return client.getObject(
+                GetObjectRequest.builder()
+                        .bucket(bucket)
+                        .key(key)
+                        .range("bytes=" + start + "-" + endInclusive)
+                        .build(),
+                AsyncResponseTransformer.toBytes());
+    }
+
+    private void abort(String key, String uploadId) {
+        client.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                        .bucket(bucket)
+                        .key(key)
+                        .uploadId(uploadId)
+                        .build())
+                .whenComplete((r, e) -> {
+                    if (e != null) {
+                        // a lifecycle rule on incomplete uploads cleans these up eventually
+                        log.warn("Failed to abort multipart upload {} for {}", uploadId, key, e);
+                    }
+                });
+    }
+
+    private long totalSize(GetObjectResponse response, long fallback) {
+
+        // Content-Range: bytes 0-8388607/123456789
+        String contentRange = response.contentRange();
+
+        if (contentRange == null || contentRange.indexOf('/') < 0) {
+            return fallback;
+        }
+
+        return Long.parseLong(contentRange.substring(contentRange.indexOf('/') + 1));
+    }
+
+    private Throwable translate(String key, Throwable cause) {
+        return cause instanceof NoSuchKeyException
+                ? new NoSuchFileException(key)
+                : cause;
+    }
+
+    private Throwable unwrap(Throwable e) {
+        return e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+    }
+}
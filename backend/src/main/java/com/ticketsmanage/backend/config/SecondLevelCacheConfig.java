@@ -0,0 +1,159 @@
+package com.ticketsmanage.backend.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Hibernate second-level cache, held in an in-process Caffeine JCache
+ * manager.
+ *
+ * Every region is created here with its own entry limit and time to live,
+ * and Hibernate refuses to start if an entity names a region that is not,
+ * so nothing is cached without bounds. Hits, misses and size are published
+ * per region.
+ *
+ * Entries are invalidated by writes that go through Hibernate. The cache
+ * is per node: a change made on another node is seen here once the entry
+ * expires, which is what the short times to live bound. JDBC writes to a
+ * cached table must evict the rows they touch.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    public static final String USERS = "users";
+    public static final String USERS_BY_EMAIL = "users-by-email";
+    public static final String TICKETS = "tickets";
+
+    private static final List<String> REGIONS = List.of(USERS, USERS_BY_EMAIL, TICKETS);
+
+    @Value("${app.cache.users.max-entries:10000}")
+    private long usersMaxEntries;
+
+    @Value("${app.cache.users.ttl:60s}")
+    private Duration usersTtl;
+
+    @Value("${app.cache.users-by-email.max-entries:10000}")
+    private long usersByEmailMaxEntries;
+
+    @Value("${app.cache.users-by-email.ttl:60s}")
+    private Duration usersByEmailTtl;
+
+    @Value("${app.cache.tickets.max-entries:20000}")
+    private long ticketsMaxEntries;
+
+    @Value("${app.cache.tickets.ttl:30s}")
+    private Duration ticketsTtl;
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+
+        CacheManager cacheManager = Caching
+                .getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("hibernate-second-level"), getClass().getClassLoader());
+
+        createRegion(cacheManager, USERS, usersMaxEntries, usersTtl);
+        createRegion(cacheManager, USERS_BY_EMAIL, usersByEmailMaxEntries, usersByEmailTtl);
+        createRegion(cacheManager, TICKETS, ticketsMaxEntries, ticketsTtl);
+
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    /**
+     * hibernate.cache.requests counts hits and misses per region; the hit
+     * ratio gauge is the same since startup, for a quick look.
+     */
+    @Bean
+    public MeterBinder secondLevelCacheMetrics(
+            EntityManagerFactory entityManagerFactory,
+            CacheManager hibernateCacheManager
+    ) {
+        return registry -> {
+
+            Statistics statistics = entityManagerFactory
+                    .unwrap(SessionFactory.class)
+                    .getStatistics();
+
+            for (String region : REGIONS) {
+
+                com.github.benmanes.caffeine.cache.Cache<?, ?> cache = hibernateCacheManager
+                        .getCache(region)
+                        .unwrap(com.github.benmanes.caffeine.cache.Cache.class);
+
+                FunctionCounter.builder("hibernate.cache.requests", statistics,
+                                s -> regionCount(s, region, CacheRegionStatistics::getHitCount))
+                        .tag("region", region)
+                        .tag("result", "hit")
+                        .register(registry);
+
+                FunctionCounter.builder("hibernate.cache.requests", statistics,
+                                s -> regionCount(s, region, CacheRegionStatistics::getMissCount))
+                        .tag("region", region)
+                        .tag("result", "miss")
+                        .register(registry);
+
+                Gauge.builder("hibernate.cache.hit_ratio", statistics, s -> hitRatio(s, region))
+                        .tag("region", region)
+                        .register(registry);
+
+                Gauge.builder("hibernate.cache.size", cache, c -> c.estimatedSize())
+                        .tag("region", region)
+                        .register(registry);
+            }
+        };
+    }
+
+    private void createRegion(CacheManager cacheManager, String region, long maxEntries, Duration ttl) {
+
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxEntries));
+        configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+
+        cacheManager.createCache(region, configuration);
+    }
+
+    private static double regionCount(
+            Statistics statistics,
+            String region,
+            ToDoubleFunction<CacheRegionStatistics> count
+    ) {
+        CacheRegionStatistics stats = statistics.getCacheRegionStatistics(region);
+
+        return stats == null ? 0 : count.applyAsDouble(stats);
+    }
+
+    private static double hitRatio(Statistics statistics, String region) {
+
+        double hits = regionCount(statistics, region, CacheRegionStatistics::getHitCount);
+        double misses = regionCount(statistics, region, CacheRegionStatistics::getMissCount);
+
+        return hits + misses == 0 ? 0 : hits / (hits + misses);
+    }
+}
@@ -0,0 +1,43 @@
+package com.ticketsmanage.backend.notification.controller;
+
+import com.ticketsmanage.backend.common.pagination.CursorPage;
+import com.ticketsmanage.backend.notification.dto.MarkNotificationsReadRequest;
+import com.ticketsmanage.backend.notification.dto.NotificationResponse;
+import com.ticketsmanage.backend.notification.dto.UnreadCountResponse;
+import com.ticketsmanage.backend.notification.service.NotificationService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/notifications")
+@RequiredArgsConstructor
+public class NotificationController {
+
+    private final NotificationService notificationService;
+
+    @GetMapping
+    public CursorPage<NotificationResponse> getInbox(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return notificationService.getInbox(cursor, limit);
+    }
+
+    @GetMapping("/unread-count")
+    public UnreadCountResponse getUnreadCount() {
+        return notificationService.getUnreadCount();
+    }
+
+    @PostMapping("/read")
+    public void markRead(
+            @RequestBody @Valid MarkNotificationsReadRequest request
+    ) {
+        notificationService.markRead(request.ids());
+    }
+
+    @PostMapping("/read-all")
+    public void markAllRead() {
+        notificationService.markAllRead();
+    }
+}
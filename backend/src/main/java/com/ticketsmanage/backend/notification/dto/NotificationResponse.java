@@ -0,0 +1,13 @@
+package com.ticketsmanage.backend.notification.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record NotificationResponse(
+        UUID id,
+        UUID ticketId,
+        String type,
+        String message,
+        boolean read,
+        Instant createdAt
+) {}
@@ -0,0 +1,5 @@
+package com.ticketsmanage.backend.notification.dto;
+
+public record UnreadCountResponse(
+        long unread
+) {}
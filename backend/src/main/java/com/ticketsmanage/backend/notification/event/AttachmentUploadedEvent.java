@@ -4,6 +4,7 @@ import java.util.UUID;
 
 public record AttachmentUploadedEvent(
         UUID ticketId,
+        UUID attachmentId,
         UUID uploaderId
 ) {
 }
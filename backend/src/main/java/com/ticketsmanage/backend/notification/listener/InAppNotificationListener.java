@@ -0,0 +1,58 @@
+package com.ticketsmanage.backend.notification.listener;
+
+import com.ticketsmanage.backend.notification.event.*;
+import com.ticketsmanage.backend.notification.service.NotificationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.UUID;
+
+// Feeds the in-app inbox from the same events as the email notifications
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class InAppNotificationListener {
+
+    private final NotificationService notificationService;
+
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketCreated(TicketCreatedEvent event) {
+        notify(event.ticketId(), null, "TICKET_CREATED", "Ticket created");
+    }
+
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketAssigned(TicketAssignedEvent event) {
+        notify(event.ticketId(), null, "TICKET_ASSIGNED", "Ticket assigned");
+    }
+
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatusChanged(TicketStatusChangedEvent event) {
+        notify(event.ticketId(), null, "STATUS_CHANGED", "Status changed to " + event.newStatus());
+    }
+
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onComment(CommentAddedEvent event) {
+        notify(event.ticketId(), event.actorId(), "COMMENT_ADDED", "New comment");
+    }
+
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAttachment(AttachmentUploadedEvent event) {
+        notify(event.ticketId(), event.uploaderId(), "ATTACHMENT_UPLOADED", "New attachment");
+    }
+
+    private void notify(UUID ticketId, UUID actorId, String type, String message) {
+        try {
+            notificationService.notifyParticipants(ticketId, actorId, type, message);
+        } catch (Exception e) {
+            log.warn("Failed to record {} notification for ticket {}: {}", type, ticketId, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.ticketsmanage.backend.notification.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+// Upserts need RETURNING, which Spring Data native queries cannot map reliably
+@Repository
+@RequiredArgsConstructor
+public class NotificationCounterRepository {
+
+    private static final RowMapper<UnreadCounter> MAPPER = (rs, rowNum) ->
+            new UnreadCounter(
+                    rs.getLong("unread_count"),
+                    rs.getLong("version"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public UnreadCounter find(UUID userId) {
+
+        return jdbcTemplate.query("""
+                select unread_count, version
+                from user_notification_counters
+                where user_id = ?
+                """, MAPPER, userId)
+                .stream()
+                .findFirst()
+                .orElse(UnreadCounter.EMPTY);
+    }
+
+    /**
+     * Applies a delta and returns the committed-to-be value. The row lock
+     * serialises concurrent writers and version orders their results.
+     */
+    public UnreadCounter applyDelta(UUID userId, long delta) {
+
+        return jdbcTemplate.queryForObject("""
+                insert into user_notification_counters (user_id, unread_count, version)
+                values (?, greatest(?, 0), 1)
+                on conflict (user_id) do update
+                set unread_count = greatest(user_notification_counters.unread_count + ?, 0),
+                    version = user_notification_counters.version + 1
+                returning unread_count, version
+                """, MAPPER, userId, delta, delta);
+    }
+}
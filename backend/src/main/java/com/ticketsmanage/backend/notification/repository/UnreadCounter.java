@@ -0,0 +1,9 @@
+package com.ticketsmanage.backend.notification.repository;
+
+public record UnreadCounter(
+        long count,
+        long version
+) {
+
+    public static final UnreadCounter EMPTY = new UnreadCounter(0, 0);
+}
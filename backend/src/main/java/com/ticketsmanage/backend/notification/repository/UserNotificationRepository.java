@@ -0,0 +1,65 @@
+package com.ticketsmanage.backend.notification.repository;
+
+import com.ticketsmanage.backend.notification.entity.UserNotificationEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface UserNotificationRepository
+        extends JpaRepository<UserNotificationEntity, UUID> {
+
+    @Query("""
+        select n
+        from UserNotificationEntity n
+        where n.user.id = :userId
+        order by n.createdAt desc, n.id desc
+    """)
+    List<UserNotificationEntity> findInbox(
+            @Param("userId") UUID userId,
+            Pageable pageable
+    );
+
+    @Query("""
+        select n
+        from UserNotificationEntity n
+        where n.user.id = :userId
+          and (n.createdAt < :createdAt
+               or (n.createdAt = :createdAt and n.id < :id))
+        order by n.createdAt desc, n.id desc
+    """)
+    List<UserNotificationEntity> findInboxBefore(
+            @Param("userId") UUID userId,
+            @Param("createdAt") Instant createdAt,
+            @Param("id") UUID id,
+            Pageable pageable
+    );
+
+    @Modifying
+    @Query("""
+        update UserNotificationEntity n
+        set n.read = true
+        where n.user.id = :userId
+          and n.id in :ids
+          and n.read = false
+    """)
+    int markRead(
+            @Param("userId") UUID userId,
+            @Param("ids") Collection<UUID> ids
+    );
+
+    @Modifying
+    @Query("""
+        update UserNotificationEntity n
+        set n.read = true
+        where n.user.id = :userId
+          and n.read = false
+    """)
+    int markAllRead(@Param("userId") UUID userId);
+}
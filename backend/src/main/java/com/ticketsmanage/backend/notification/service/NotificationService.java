@@ -0,0 +1,152 @@
+package com.ticketsmanage.backend.notification.service;
+
+import com.ticketsmanage.backend.common.pagination.Cursor;
+import com.ticketsmanage.backend.common.pagination.CursorPage;
+import com.ticketsmanage.backend.notification.dto.NotificationResponse;
+import com.ticketsmanage.backend.notification.dto.UnreadCountResponse;
+import com.ticketsmanage.backend.notification.entity.UserNotificationEntity;
+import com.ticketsmanage.backend.notification.repository.UserNotificationRepository;
+import com.ticketsmanage.backend.security.util.SecurityUtils;
+import com.ticketsmanage.backend.ticket.entity.TicketEntity;
+import com.ticketsmanage.backend.ticket.repository.TicketRepository;
+import com.ticketsmanage.backend.user.entity.UserEntity;
+import com.ticketsmanage.backend.user.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class NotificationService {
+
+    private final UserNotificationRepository notificationRepository;
+    private final TicketRepository ticketRepository;
+    private final UserRepository userRepository;
+    private final UnreadCounterCache unreadCounterCache;
+
+    /**
+     * Notifies the ticket's owner and assignee, skipping whoever caused the event.
+     */
+    @Transactional
+    public void notifyParticipants(
+            UUID ticketId,
+            UUID actorId,
+            String type,
+            String message
+    ) {
+
+        TicketEntity ticket = ticketRepository.findById(ticketId)
+                .orElse(null);
+
+        if (ticket == null) {
+            return;
+        }
+
+        Set<UserEntity> recipients = new LinkedHashSet<>();
+        recipients.add(ticket.getOwner());
+
+        if (ticket.getAssignee() != null) {
+            recipients.add(ticket.getAssignee());
+        }
+
+        for (UserEntity recipient : recipients) {
+
+            if (recipient.getId().equals(actorId)) {
+                continue;
+            }
+
+            UserNotificationEntity notification = UserNotificationEntity.builder()
+                    .user(recipient)
+                    .ticket(ticket)
+                    .type(type)
+                    .message(message + ": " + ticket.getTitle())
+                    .read(false)
+                    .build();
+
+            notificationRepository.save(notification);
+
+            unreadCounterCache.apply(recipient.getId(), 1);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<NotificationResponse> getInbox(
+            String cursor,
+            Integer limit
+    ) {
+
+        UserEntity currentUser = getCurrentUser();
+
+        Cursor after = Cursor.decode(cursor);
+        int pageSize = CursorPage.clampLimit(limit);
+        PageRequest window = PageRequest.of(0, pageSize + 1);
+
+        List<UserNotificationEntity> rows = after == null
+                ? notificationRepository.findInbox(currentUser.getId(), window)
+                : notificationRepository.findInboxBefore(
+                        currentUser.getId(),
+                        after.createdAt(),
+                        after.id(),
+                        window);
+
+        return CursorPage.of(
+                rows,
+                pageSize,
+                n -> new Cursor(n.getCreatedAt(), n.getId()),
+                this::toResponse);
+    }
+
+    public UnreadCountResponse getUnreadCount() {
+
+        UserEntity currentUser = getCurrentUser();
+
+        return new UnreadCountResponse(
+                unreadCounterCache.get(currentUser.getId()));
+    }
+
+    @Transactional
+    public void markRead(Collection<UUID> ids) {
+
+        UserEntity currentUser = getCurrentUser();
+
+        int updated = notificationRepository.markRead(currentUser.getId(), ids);
+
+        unreadCounterCache.apply(currentUser.getId(), -updated);
+    }
+
+    @Transactional
+    public void markAllRead() {
+
+        UserEntity currentUser = getCurrentUser();
+
+        int updated = notificationRepository.markAllRead(currentUser.getId());
+
+        unreadCounterCache.apply(currentUser.getId(), -updated);
+    }
+
+    private UserEntity getCurrentUser() {
+
+        return userRepository
+                .findByEmail(SecurityUtils.getCurrentUsername())
+                .orElseThrow(() ->
+                        new RuntimeException("Authenticated user not found"));
+    }
+
+    private NotificationResponse toResponse(UserNotificationEntity entity) {
+
+        return new NotificationResponse(
+                entity.getId(),
+                entity.getTicket() != null ? entity.getTicket().getId() : null,
+                entity.getType(),
+                entity.getMessage(),
+                entity.isRead(),
+                entity.getCreatedAt());
+    }
+}
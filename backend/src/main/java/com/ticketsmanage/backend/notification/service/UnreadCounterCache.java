@@ -0,0 +1,77 @@
+package com.ticketsmanage.backend.notification.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ticketsmanage.backend.notification.repository.NotificationCounterRepository;
+import com.ticketsmanage.backend.notification.repository.UnreadCounter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Write-through cache of per-user unread counts. Reads are a cache lookup;
+ * writes go to user_notification_counters inside the caller's transaction
+ * and reach the cache after commit. A committed update only ever moves the
+ * cached version forward, so commits that finish out of order cannot leave
+ * a stale count behind.
+ *
+ * The cache is bounded and entries expire shortly after they are written,
+ * so counts changed on other nodes are picked up from the table within
+ * the expiry.
+ */
+@Component
+public class UnreadCounterCache {
+
+    private final NotificationCounterRepository counterRepository;
+    private final Cache<UUID, UnreadCounter> counters;
+
+    public UnreadCounterCache(
+            NotificationCounterRepository counterRepository,
+            @Value("${app.notifications.unread-cache.max-entries:100000}") long maxEntries,
+            @Value("${app.notifications.unread-cache.ttl:30s}") Duration ttl
+    ) {
+        this.counterRepository = counterRepository;
+        this.counters = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public long get(UUID userId) {
+        return counters.get(userId, counterRepository::find).count();
+    }
+
+    /**
+     * Must run inside a transaction; the cache only sees the change once it commits.
+     */
+    public void apply(UUID userId, long delta) {
+
+        if (delta == 0) {
+            return;
+        }
+
+        UnreadCounter updated = counterRepository.applyDelta(userId, delta);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public void afterCommit() {
+                            offer(userId, updated);
+                        }
+                    });
+        } else {
+            offer(userId, updated);
+        }
+    }
+
+    // an absent entry is left for the next read to load from the table
+    private void offer(UUID userId, UnreadCounter candidate) {
+        counters.asMap().computeIfPresent(userId, (id, current) ->
+                candidate.version() > current.version() ? candidate : current);
+    }
+}
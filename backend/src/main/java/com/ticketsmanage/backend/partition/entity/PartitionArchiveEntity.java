@@ -0,0 +1,47 @@
+package com.ticketsmanage.backend.partition.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Entity
+@Table(name = "partition_archives")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PartitionArchiveEntity {
+
+    @Id
+    @GeneratedValue
+    private UUID id;
+
+    @Column(name = "parent_table", nullable = false)
+    private String parentTable;
+
+    @Column(name = "partition_name", nullable = false, unique = true)
+    private String partitionName;
+
+    @Column(name = "range_start", nullable = false)
+    private Instant rangeStart;
+
+    @Column(name = "range_end", nullable = false)
+    private Instant rangeEnd;
+
+    @Column(name = "storage_key", nullable = false, columnDefinition = "TEXT")
+    private String storageKey;
+
+    @Column(name = "row_count", nullable = false)
+    private long rowCount;
+
+    @Column(name = "archived_at", nullable = false)
+    private Instant archivedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        this.archivedAt = Instant.now();
+    }
+}
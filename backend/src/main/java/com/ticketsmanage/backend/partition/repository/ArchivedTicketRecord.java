@@ -0,0 +1,19 @@
+package com.ticketsmanage.backend.partition.repository;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Where one ticket's rows sit in an archived partition: the gzip member
+ * at {@code offset}, {@code length} bytes long.
+ */
+public record ArchivedTicketRecord(
+        UUID ticketId,
+        String storageKey,
+        long offset,
+        int length,
+        int rowCount,
+        Instant firstCreatedAt,
+        Instant lastCreatedAt
+) {
+}
@@ -0,0 +1,12 @@
+package com.ticketsmanage.backend.partition.repository;
+
+import com.ticketsmanage.backend.partition.entity.PartitionArchiveEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.UUID;
+
+public interface PartitionArchiveRepository
+        extends JpaRepository<PartitionArchiveEntity, UUID> {
+
+    boolean existsByPartitionName(String partitionName);
+}
@@ -0,0 +1,72 @@
+package com.ticketsmanage.backend.partition.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+@RequiredArgsConstructor
+public class PartitionArchiveTicketRepository {
+
+    private static final RowMapper<ArchivedTicketRecord> MAPPER = (rs, rowNum) ->
+            new ArchivedTicketRecord(
+                    rs.getObject("ticket_id", UUID.class),
+                    rs.getString("storage_key"),
+                    rs.getLong("record_offset"),
+                    rs.getInt("record_length"),
+                    rs.getInt("row_count"),
+                    rs.getTimestamp("first_created_at").toInstant(),
+                    rs.getTimestamp("last_created_at").toInstant());
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public List<ArchivedTicketRecord> findByTicket(String parentTable, UUID ticketId) {
+
+        return jdbcTemplate.query("""
+                select t.ticket_id, a.storage_key, t.record_offset, t.record_length,
+                       t.row_count, t.first_created_at, t.last_created_at
+                from partition_archive_tickets t
+                join partition_archives a on a.id = t.archive_id
+                where a.parent_table = ?
+                  and t.ticket_id = ?
+                order by t.first_created_at
+                """, MAPPER, parentTable, ticketId);
+    }
+
+    public void insertAll(UUID archiveId, Collection<ArchivedTicketRecord> records) {
+
+        jdbcTemplate.batchUpdate("""
+                insert into partition_archive_tickets
+                    (ticket_id, archive_id, record_offset, record_length,
+                     row_count, first_created_at, last_created_at)
+                values (?, ?, ?, ?, ?, ?, ?)
+                on conflict (ticket_id, archive_id) do nothing
+                """,
+                records.stream()
+                        .map(r -> new Object[]{
+                                r.ticketId(),
+                                archiveId,
+                                r.offset(),
+                                r.length(),
+                                r.rowCount(),
+                                Timestamp.from(r.firstCreatedAt()),
+                                Timestamp.from(r.lastCreatedAt())})
+                        .toList(),
+                new int[]{
+                        Types.OTHER,
+                        Types.OTHER,
+                        Types.BIGINT,
+                        Types.INTEGER,
+                        Types.INTEGER,
+                        Types.TIMESTAMP,
+                        Types.TIMESTAMP
+                });
+    }
+}
@@ -0,0 +1,56 @@
+package com.ticketsmanage.backend.partition.service;
+
+import com.ticketsmanage.backend.common.storage.BlobStore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Where archived partitions and ticket segments end up: the blob store,
+ * under {@code archive/}.
+ */
+@Component
+@RequiredArgsConstructor
+public class ArchiveStorage {
+
+    private static final String PREFIX = "archive/";
+
+    private final BlobStore blobStore;
+
+    /**
+     * Stores the file under the given relative key and returns the key
+     * to read it back with.
+     */
+    public String store(Path file, String key) throws IOException {
+
+        String storageKey = PREFIX + key;
+
+        try (InputStream in = Files.newInputStream(file)) {
+            await(blobStore.put(storageKey, in, Files.size(file), "application/gzip"));
+        }
+
+        return storageKey;
+    }
+
+    /**
+     * Reads {@code length} bytes at {@code offset}; a ranged GET on S3.
+     */
+    public byte[] readRange(String storageKey, long offset, int length) throws IOException {
+        return await(blobStore.readRange(storageKey, offset, length));
+    }
+
+    // storage failures surface as the IOException callers already handle
+    private static <T> T await(CompletableFuture<T> future) throws IOException {
+        try {
+            return BlobStore.await(future);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+}
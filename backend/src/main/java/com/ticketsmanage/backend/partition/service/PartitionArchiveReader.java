@@ -0,0 +1,121 @@
+package com.ticketsmanage.backend.partition.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ticketsmanage.backend.common.pagination.Cursor;
+import com.ticketsmanage.backend.common.pagination.PageOrder;
+import com.ticketsmanage.backend.partition.repository.ArchivedTicketRecord;
+import com.ticketsmanage.backend.partition.repository.PartitionArchiveTicketRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Reads one ticket's rows back out of archived partitions.
+ *
+ * partition_archive_tickets says which archives hold the ticket and where
+ * its gzip member starts, so only those members are fetched, each with a
+ * ranged read.
+ */
+@Component
+@RequiredArgsConstructor
+public class PartitionArchiveReader {
+
+    private static final TypeReference<Map<String, Object>> ROW = new TypeReference<>() {};
+
+    // (created_at, id); ids compare as text, which matches Postgres' uuid order
+    private static final Comparator<Map<String, Object>> OLDEST_FIRST = Comparator
+            .comparing((Map<String, Object> row) -> Instant.parse((String) row.get("created_at")))
+            .thenComparing(row -> (String) row.get("id"));
+
+    private final PartitionArchiveTicketRepository archiveTicketRepository;
+    private final ArchiveStorage archiveStorage;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Returns up to {@code limit} archived rows of {@code parentTable} for
+     * the ticket, in keyset order on (created_at, id) and strictly after
+     * {@code position} when one is given.
+     */
+    public List<Map<String, Object>> findTicketRows(
+            String parentTable,
+            UUID ticketId,
+            Cursor position,
+            PageOrder order,
+            int limit
+    ) {
+
+        List<ArchivedTicketRecord> records = new ArrayList<>(
+                archiveTicketRepository.findByTicket(parentTable, ticketId));
+
+        boolean newestFirst = order == PageOrder.NEWEST_FIRST;
+        Comparator<Map<String, Object>> rowOrder = newestFirst ? OLDEST_FIRST.reversed() : OLDEST_FIRST;
+        Comparator<ArchivedTicketRecord> recordOrder = Comparator.comparing(ArchivedTicketRecord::firstCreatedAt);
+
+        records.sort(newestFirst ? recordOrder.reversed() : recordOrder);
+
+        Map<String, Object> after = position == null
+                ? null
+                : Map.of("created_at", position.createdAt().toString(), "id", position.id().toString());
+
+        List<Map<String, Object>> rows = new ArrayList<>();
+
+        for (ArchivedTicketRecord record : records) {
+
+            // partitions cover disjoint months, so later records only hold later rows
+            if (rows.size() >= limit) {
+                break;
+            }
+
+            if (position != null && (newestFirst
+                    ? record.firstCreatedAt().isAfter(position.createdAt())
+                    : record.lastCreatedAt().isBefore(position.createdAt()))) {
+                continue;
+            }
+
+            read(record).stream()
+                    .filter(row -> after == null || rowOrder.compare(row, after) > 0)
+                    .forEach(rows::add);
+        }
+
+        rows.sort(rowOrder);
+
+        return rows.size() > limit ? new ArrayList<>(rows.subList(0, limit)) : rows;
+    }
+
+    private List<Map<String, Object>> read(ArchivedTicketRecord record) {
+
+        List<Map<String, Object>> rows = new ArrayList<>();
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(new ByteArrayInputStream(archiveStorage.readRange(
+                        record.storageKey(), record.offset(), record.length()))),
+                StandardCharsets.UTF_8))) {
+
+            String line;
+
+            while ((line = reader.readLine()) != null) {
+
+                rows.add(objectMapper.readValue(line, ROW));
+            }
+
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read archive " + record.storageKey(), e);
+        }
+
+        return rows;
+    }
+}
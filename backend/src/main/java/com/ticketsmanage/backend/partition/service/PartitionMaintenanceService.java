@@ -0,0 +1,340 @@
+package com.ticketsmanage.backend.partition.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ticketsmanage.backend.common.lock.ClusterLock;
+import com.ticketsmanage.backend.partition.entity.PartitionArchiveEntity;
+import com.ticketsmanage.backend.partition.repository.ArchivedTicketRecord;
+import com.ticketsmanage.backend.partition.repository.PartitionArchiveRepository;
+import com.ticketsmanage.backend.partition.repository.PartitionArchiveTicketRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps the monthly partitions of ticket_activity and audit_logs in shape:
+ * creates partitions ahead of time and moves partitions past retention
+ * out of the database into gzipped NDJSON archives.
+ *
+ * Archiving is detach, export, upload, record, drop. Each step checks
+ * what the previous run left behind, so an interrupted run is finished
+ * by the next one. {@link ClusterLock} keeps it, and the partition DDL
+ * run at startup, to one node.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PartitionMaintenanceService {
+
+    static final List<String> PARENT_TABLES = List.of("ticket_activity", "audit_logs");
+
+    private static final int EXPORT_FETCH_SIZE = 1000;
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ClusterLock clusterLock;
+    private final PartitionArchiveRepository archiveRepository;
+    private final PartitionArchiveTicketRepository archiveTicketRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ArchiveStorage archiveStorage;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.partitions.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.partitions.months-ahead:3}")
+    private int monthsAhead;
+
+    @Value("${app.partitions.retention-months:12}")
+    private int retentionMonths;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensurePartitionsOnStartup() {
+
+        if (!enabled) {
+            return;
+        }
+
+        // nodes starting together would otherwise race on the same CREATE TABLE
+        clusterLock.runExclusive("partition-maintenance", () -> PARENT_TABLES.forEach(this::createAhead));
+    }
+
+    @Scheduled(cron = "${app.partitions.maintenance-cron:0 30 3 * * *}", zone = "UTC")
+    public void runMaintenance() {
+
+        if (!enabled) {
+            return;
+        }
+
+        clusterLock.runExclusive("partition-maintenance", () -> {
+            for (String parent : PARENT_TABLES) {
+                createAhead(parent);
+                archiveExpired(parent);
+            }
+        });
+    }
+
+    private void createAhead(String parent) {
+
+        YearMonth current = YearMonth.now(ZoneOffset.UTC);
+
+        for (int i = 0; i <= monthsAhead; i++) {
+
+            YearMonth month = current.plusMonths(i);
+
+            try {
+                jdbcTemplate.queryForObject(
+                        "select create_monthly_partition(?, ?)",
+                        String.class,
+                        parent,
+                        Date.valueOf(month.atDay(1)));
+
+            } catch (RuntimeException e) {
+                // typically rows for that month already sit in the default partition
+                log.error("Could not create partition {} for {}: {}", month, parent, e.getMessage());
+            }
+        }
+    }
+
+    private void archiveExpired(String parent) {
+
+        YearMonth cutoff = YearMonth.now(ZoneOffset.UTC).minusMonths(retentionMonths);
+
+        List<Map<String, Object>> partitions = jdbcTemplate.queryForList("""
+                select c.relname as name,
+                       exists (select 1 from pg_inherits i where i.inhrelid = c.oid) as attached
+                from pg_class c
+                where c.relkind = 'r'
+                  and pg_table_is_visible(c.oid)
+                  and c.relname ~ ?
+                order by c.relname
+                """, "^" + parent + "_p[0-9]{4}_[0-9]{2}$");
+
+        for (Map<String, Object> partition : partitions) {
+
+            String name = (String) partition.get("name");
+            YearMonth month = YearMonth.parse(name.substring(parent.length() + 2), SUFFIX);
+
+            if (!month.isBefore(cutoff)) {
+                continue;
+            }
+
+            try {
+                archive(parent, name, month, Boolean.TRUE.equals(partition.get("attached")));
+            } catch (RuntimeException | IOException e) {
+                log.error("Archiving partition {} failed: {}", name, e.getMessage(), e);
+            }
+        }
+    }
+
+    private void archive(String parent, String name, YearMonth month, boolean attached) throws IOException {
+
+        if (attached) {
+            jdbcTemplate.execute("alter table \"" + parent + "\" detach partition \"" + name + "\"");
+        }
+
+        if (!archiveRepository.existsByPartitionName(name)) {
+
+            Path tmp = Files.createTempFile(name, ".ndjson.gz");
+
+            try {
+                Export export = export(name, tmp);
+                String key = archiveStorage.store(tmp, parent + "/" + name + ".ndjson.gz");
+
+                transactionTemplate.executeWithoutResult(status -> {
+
+                    PartitionArchiveEntity archive = archiveRepository.save(PartitionArchiveEntity.builder()
+                            .parentTable(parent)
+                            .partitionName(name)
+                            .rangeStart(month.atDay(1).atStartOfDay(ZoneOffset.UTC).toInstant())
+                            .rangeEnd(month.plusMonths(1).atDay(1).atStartOfDay(ZoneOffset.UTC).toInstant())
+                            .storageKey(key)
+                            .rowCount(export.rows())
+                            .build());
+
+                    archiveTicketRepository.insertAll(archive.getId(), export.tickets());
+                });
+
+                log.info("Archived partition {} ({} rows, {} tickets) to {}",
+                        name, export.rows(), export.tickets().size(), key);
+
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+        }
+
+        jdbcTemplate.execute("drop table if exists \"" + name + "\"");
+    }
+
+    /**
+     * Writes the partition as NDJSON ordered by ticket, one gzip member per
+     * ticket. Concatenated members are still a valid gzip file, and each
+     * ticket's rows can be read back alone from its offset.
+     */
+    private Export export(String table, Path target) {
+
+        return jdbcTemplate.execute((ConnectionCallback<Export>) con -> {
+
+            boolean autoCommit = con.getAutoCommit();
+
+            // pgjdbc only honours the fetch size inside a transaction
+            con.setAutoCommit(false);
+
+            try (PreparedStatement ps = con.prepareStatement(
+                         "select * from \"" + table + "\" order by ticket_id nulls last, created_at, id");
+                 OutputStream out = new BufferedOutputStream(Files.newOutputStream(target))) {
+
+                ps.setFetchSize(EXPORT_FETCH_SIZE);
+
+                MemberWriter member = new MemberWriter();
+                List<ArchivedTicketRecord> tickets = new ArrayList<>();
+                long offset = 0;
+                long count = 0;
+
+                try (ResultSet rs = ps.executeQuery()) {
+
+                    ResultSetMetaData meta = rs.getMetaData();
+
+                    while (rs.next()) {
+
+                        UUID ticketId = rs.getObject("ticket_id", UUID.class);
+                        Instant createdAt = rs.getTimestamp("created_at").toInstant();
+
+                        if (member.rows > 0 && !Objects.equals(ticketId, member.ticketId)) {
+                            offset += member.finish(out, offset, tickets);
+                            member = new MemberWriter();
+                        }
+
+                        Map<String, Object> row = new LinkedHashMap<>();
+
+                        for (int i = 1; i <= meta.getColumnCount(); i++) {
+                            row.put(meta.getColumnName(i), exportValue(rs.getObject(i)));
+                        }
+
+                        member.write(ticketId, createdAt, objectMapper.writeValueAsString(row));
+                        count++;
+                    }
+                }
+
+                if (member.rows > 0) {
+                    member.finish(out, offset, tickets);
+                }
+
+                con.commit();
+                return new Export(count, tickets);
+
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                con.setAutoCommit(autoCommit);
+            }
+        });
+    }
+
+    private Object exportValue(Object value) {
+
+        if (value == null
+                || value instanceof String
+                || value instanceof Number
+                || value instanceof Boolean
+                || value instanceof UUID) {
+            return value;
+        }
+
+        if (value instanceof Timestamp ts) {
+            return ts.toInstant().toString();
+        }
+
+        // jsonb and anything else driver specific
+        return value.toString();
+    }
+
+    private record Export(long rows, List<ArchivedTicketRecord> tickets) {
+    }
+
+    /**
+     * Compresses the rows of one ticket into a standalone gzip member.
+     */
+    private static final class MemberWriter {
+
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final Writer writer = new OutputStreamWriter(gzip(bytes), StandardCharsets.UTF_8);
+
+        UUID ticketId;
+        int rows;
+        Instant first;
+        Instant last;
+
+        void write(UUID ticketId, Instant createdAt, String line) throws IOException {
+
+            if (rows == 0) {
+                this.ticketId = ticketId;
+                this.first = createdAt;
+            }
+
+            last = createdAt;
+            rows++;
+
+            writer.write(line);
+            writer.write('\n');
+        }
+
+        /**
+         * Appends the member and records it; rows without a ticket are
+         * written but not indexed. Returns the member's length.
+         */
+        long finish(OutputStream out, long offset, List<ArchivedTicketRecord> tickets) throws IOException {
+
+            writer.close();
+            bytes.writeTo(out);
+
+            if (ticketId != null) {
+                tickets.add(new ArchivedTicketRecord(
+                        ticketId, null, offset, bytes.size(), rows, first, last));
+            }
+
+            return bytes.size();
+        }
+
+        private static GZIPOutputStream gzip(OutputStream out) {
+            try {
+                return new GZIPOutputStream(out);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.ticketsmanage.backend.quota.controller;
+
+import com.ticketsmanage.backend.quota.dto.StorageScope;
+import com.ticketsmanage.backend.quota.dto.StorageUsageResponse;
+import com.ticketsmanage.backend.quota.service.StorageQuotaService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/storage")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminStorageController {
+
+    private final StorageQuotaService storageQuotaService;
+
+    /**
+     * Users or tickets holding the most attachment bytes.
+     */
+    @GetMapping("/top")
+    public List<StorageUsageResponse> topConsumers(
+            @RequestParam(defaultValue = "USER") StorageScope scope,
+            @RequestParam(required = false) Integer limit) {
+        return storageQuotaService.topConsumers(scope, limit);
+    }
+}
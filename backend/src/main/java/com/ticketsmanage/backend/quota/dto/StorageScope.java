@@ -0,0 +1,6 @@
+package com.ticketsmanage.backend.quota.dto;
+
+public enum StorageScope {
+    USER,
+    TICKET
+}
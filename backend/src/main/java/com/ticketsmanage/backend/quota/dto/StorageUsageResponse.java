@@ -0,0 +1,16 @@
+package com.ticketsmanage.backend.quota.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record StorageUsageResponse(
+        StorageScope scope,
+        UUID ownerId,
+        // user email or ticket title; null once the owner is gone
+        String label,
+        long bytes,
+        int attachmentCount,
+        // 0 when the scope has no quota
+        long quotaBytes,
+        Instant updatedAt
+) {}
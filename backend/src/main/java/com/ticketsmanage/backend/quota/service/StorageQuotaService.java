@@ -0,0 +1,247 @@
+package com.ticketsmanage.backend.quota.service;
+
+import com.ticketsmanage.backend.common.exception.QuotaExceededException;
+import com.ticketsmanage.backend.common.lock.ClusterLock;
+import com.ticketsmanage.backend.common.pagination.CursorPage;
+import com.ticketsmanage.backend.quota.dto.StorageScope;
+import com.ticketsmanage.backend.quota.dto.StorageUsageResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Running totals of attachment bytes per uploader and per ticket, with
+ * quotas on both.
+ *
+ * Uploads check the remaining allowance before streaming and stop
+ * mid-stream once they cross it. The charge itself is a conditional
+ * upsert in the transaction that records the attachment, so concurrent
+ * uploads cannot overshoot the quota together. Totals are in original
+ * bytes, before compression and deduplication: what the user sent.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StorageQuotaService {
+
+    // the where clause makes the increment fail instead of exceeding the quota
+    private static final String CHARGE_SQL = """
+            insert into storage_usage (scope, owner_id, bytes, attachment_count, updated_at)
+            values (?, ?, ?, 1, now())
+            on conflict (scope, owner_id) do update
+                set bytes = storage_usage.bytes + excluded.bytes,
+                    attachment_count = storage_usage.attachment_count + 1,
+                    updated_at = now()
+                where storage_usage.bytes + excluded.bytes <= ?
+            returning bytes
+            """;
+
+    private static final String RELEASE_SQL = """
+            update storage_usage
+            set bytes = greatest(bytes - ?, 0),
+                attachment_count = greatest(attachment_count - 1, 0),
+                updated_at = now()
+            where scope = ?
+              and owner_id = ?
+            """;
+
+    private static final String USAGE_SQL = """
+            select bytes from storage_usage where scope = ? and owner_id = ?
+            """;
+
+    private static final String TOP_USERS_SQL = """
+            select s.owner_id, u.email as label, s.bytes, s.attachment_count, s.updated_at
+            from storage_usage s
+            left join users u on u.id = s.owner_id
+            where s.scope = 'USER'
+            order by s.bytes desc
+            limit ?
+            """;
+
+    private static final String TOP_TICKETS_SQL = """
+            select s.owner_id, t.title as label, s.bytes, s.attachment_count, s.updated_at
+            from storage_usage s
+            left join tickets t on t.id = s.owner_id
+            where s.scope = 'TICKET'
+            order by s.bytes desc
+            limit ?
+            """;
+
+    // the owner column is the only difference between the scopes
+    private static final String RECOUNT_SQL = """
+            insert into storage_usage (scope, owner_id, bytes, attachment_count, updated_at)
+            select ?, %1$s, sum(file_size), count(*), now()
+            from ticket_attachments
+            where deleted = false
+            group by %1$s
+            on conflict (scope, owner_id) do update
+                set bytes = excluded.bytes,
+                    attachment_count = excluded.attachment_count,
+                    updated_at = excluded.updated_at
+                where storage_usage.bytes <> excluded.bytes
+                   or storage_usage.attachment_count <> excluded.attachment_count
+            """;
+
+    private static final String RECOUNT_EMPTY_SQL = """
+            update storage_usage s
+            set bytes = 0,
+                attachment_count = 0,
+                updated_at = now()
+            where s.scope = ?
+              and (s.bytes <> 0 or s.attachment_count <> 0)
+              and not exists (
+                  select 1 from ticket_attachments a
+                  where a.%s = s.owner_id
+                    and a.deleted = false)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ClusterLock clusterLock;
+
+    // 0 turns a quota off
+    @Value("${app.attachments.quota.user-bytes:10737418240}")
+    private long userQuotaBytes;
+
+    @Value("${app.attachments.quota.ticket-bytes:5368709120}")
+    private long ticketQuotaBytes;
+
+    /**
+     * Bytes the user may still upload to the ticket; Long.MAX_VALUE without quotas.
+     */
+    public long remaining(UUID userId, UUID ticketId) {
+        return Math.min(
+                remaining(StorageScope.USER, userId),
+                remaining(StorageScope.TICKET, ticketId));
+    }
+
+    /**
+     * Adds an upload to both totals. Must run in the transaction that
+     * records the attachment, so a rejected charge rolls the upload back.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void charge(UUID userId, UUID ticketId, long bytes) {
+        charge(StorageScope.USER, userId, bytes);
+        charge(StorageScope.TICKET, ticketId, bytes);
+    }
+
+    /**
+     * Takes a deleted attachment off both totals.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void release(UUID userId, UUID ticketId, long bytes) {
+        jdbcTemplate.update(RELEASE_SQL, bytes, StorageScope.USER.name(), userId);
+        jdbcTemplate.update(RELEASE_SQL, bytes, StorageScope.TICKET.name(), ticketId);
+    }
+
+    /**
+     * Fails with the quota the upload would exceed, user first.
+     */
+    public void checkUpload(UUID userId, UUID ticketId, long bytes) {
+
+        if (bytes > remaining(StorageScope.USER, userId)) {
+            throw exceeded(StorageScope.USER);
+        }
+
+        if (bytes > remaining(StorageScope.TICKET, ticketId)) {
+            throw exceeded(StorageScope.TICKET);
+        }
+    }
+
+    private QuotaExceededException exceeded(StorageScope scope) {
+        return new QuotaExceededException(
+                scope == StorageScope.USER
+                        ? "Upload exceeds your storage quota"
+                        : "Upload exceeds the ticket's storage quota",
+                quota(scope));
+    }
+
+    @Transactional(readOnly = true)
+    public List<StorageUsageResponse> topConsumers(StorageScope scope, Integer limit) {
+
+        return jdbcTemplate.query(
+                scope == StorageScope.USER ? TOP_USERS_SQL : TOP_TICKETS_SQL,
+                (rs, rowNum) -> new StorageUsageResponse(
+                        scope,
+                        rs.getObject("owner_id", UUID.class),
+                        rs.getString("label"),
+                        rs.getLong("bytes"),
+                        rs.getInt("attachment_count"),
+                        quota(scope),
+                        rs.getTimestamp("updated_at").toInstant()),
+                CursorPage.clampLimit(limit));
+    }
+
+    /**
+     * Rebuilds the totals from the attachment rows. Charges that commit
+     * while a scope is being recounted can be overwritten; the next run
+     * puts them back. Archived tickets drop out of the totals here, and
+     * restored ones come back.
+     */
+    @Scheduled(cron = "${app.attachments.quota.recount-cron:0 45 3 * * *}", zone = "UTC")
+    public void recount() {
+
+        clusterLock.runExclusive("storage-usage-recount", () -> {
+
+            int corrected = recount(StorageScope.USER, "uploaded_by")
+                    + recount(StorageScope.TICKET, "ticket_id");
+
+            if (corrected > 0) {
+                log.info("Storage usage recount corrected {} totals", corrected);
+            }
+        });
+    }
+
+    private int recount(StorageScope scope, String ownerColumn) {
+        return jdbcTemplate.update(RECOUNT_SQL.formatted(ownerColumn), scope.name())
+                + jdbcTemplate.update(RECOUNT_EMPTY_SQL.formatted(ownerColumn), scope.name());
+    }
+
+    private void charge(StorageScope scope, UUID ownerId, long bytes) {
+
+        long quota = quota(scope);
+
+        if (quota > 0 && bytes > quota) {
+            throw exceeded(scope);
+        }
+
+        List<Long> total = jdbcTemplate.queryForList(
+                CHARGE_SQL,
+                Long.class,
+                scope.name(),
+                ownerId,
+                bytes,
+                quota > 0 ? quota : Long.MAX_VALUE - bytes);
+
+        if (total.isEmpty()) {
+            throw exceeded(scope);
+        }
+    }
+
+    private long remaining(StorageScope scope, UUID ownerId) {
+
+        long quota = quota(scope);
+
+        if (quota <= 0) {
+            return Long.MAX_VALUE;
+        }
+
+        long used = jdbcTemplate.queryForList(USAGE_SQL, Long.class, scope.name(), ownerId)
+                .stream()
+                .findFirst()
+                .orElse(0L);
+
+        return Math.max(0, quota - used);
+    }
+
+    private long quota(StorageScope scope) {
+        return scope == StorageScope.USER ? userQuotaBytes : ticketQuotaBytes;
+    }
+}
@@ -0,0 +1,24 @@
+package com.ticketsmanage.backend.realtime.controller;
+
+import com.ticketsmanage.backend.realtime.service.TicketStreamService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/tickets/stream")
+@RequiredArgsConstructor
+public class TicketStreamController {
+
+    private final TicketStreamService streamService;
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(
+            @RequestParam(required = false) UUID ticketId
+    ) {
+        return streamService.subscribe(ticketId);
+    }
+}
@@ -0,0 +1,12 @@
+package com.ticketsmanage.backend.realtime.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record TicketStreamEvent(
+        String type,
+        UUID ticketId,
+        UUID actorId,
+        String status,
+        Instant occurredAt
+) {}
@@ -0,0 +1,79 @@
+package com.ticketsmanage.backend.realtime.listener;
+
+import com.ticketsmanage.backend.notification.event.*;
+import com.ticketsmanage.backend.realtime.dto.TicketStreamEvent;
+import com.ticketsmanage.backend.realtime.service.TicketStreamService;
+import com.ticketsmanage.backend.ticket.entity.TicketEntity;
+import com.ticketsmanage.backend.ticket.repository.TicketRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.UUID;
+
+// Events are forwarded after commit so clients never refetch uncommitted state
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TicketStreamListener {
+
+    private final TicketStreamService streamService;
+    private final TicketRepository ticketRepository;
+
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketCreated(TicketCreatedEvent event) {
+        forward("TICKET_CREATED", event.ticketId(), null);
+    }
+
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketAssigned(TicketAssignedEvent event) {
+        forward("TICKET_ASSIGNED", event.ticketId(), null);
+    }
+
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatusChanged(TicketStatusChangedEvent event) {
+        forward("STATUS_CHANGED", event.ticketId(), null);
+    }
+
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onComment(CommentAddedEvent event) {
+        forward("COMMENT_ADDED", event.ticketId(), event.actorId());
+    }
+
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAttachment(AttachmentUploadedEvent event) {
+        forward("ATTACHMENT_UPLOADED", event.ticketId(), event.uploaderId());
+    }
+
+    private void forward(String type, UUID ticketId, UUID actorId) {
+        try {
+            TicketEntity ticket = ticketRepository.findById(ticketId).orElse(null);
+            if (ticket == null) {
+                log.warn("Ticket not found for stream event {}: {}", type, ticketId);
+                return;
+            }
+
+            streamService.publish(
+                new TicketStreamEvent(
+                    type,
+                    ticket.getId(),
+                    actorId,
+                    ticket.getStatus().toString(),
+                    Instant.now()
+                ),
+                ticket.getOwner().getId(),
+                ticket.getAssignee() != null ? ticket.getAssignee().getId() : null
+            );
+        } catch (Exception e) {
+            log.warn("Failed to forward stream event {}: {}", type, e.getMessage());
+        }
+    }
+}
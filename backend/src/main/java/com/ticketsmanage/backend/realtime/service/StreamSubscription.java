@@ -0,0 +1,199 @@
+package com.ticketsmanage.backend.realtime.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * One open SSE connection. Events are queued in a bounded buffer and written
+ * by the stream dispatcher, so a slow client never blocks the publisher.
+ * When the buffer overflows the pending events are replaced by a single
+ * RESYNC event telling the client to refetch.
+ *
+ * The start of each write is recorded so the stream service can spot a
+ * write stuck on a client that stopped reading, and mark it stalled. A
+ * stalled subscription sends nothing more and drops out once the stuck
+ * write returns.
+ */
+class StreamSubscription {
+
+    private final UUID userId;
+    private final boolean admin;
+    private final UUID ticketId;
+    private final SseEmitter emitter;
+    private final BlockingQueue<SseEmitter.SseEventBuilder> buffer;
+    private final AtomicBoolean draining = new AtomicBoolean(false);
+
+    private volatile boolean closed;
+
+    // guards the fields below, shared by the dispatcher and the stall check
+    private final Object sendLock = new Object();
+    private long sendStartedNanos;
+    private boolean stalled;
+    private boolean compensated;
+
+    StreamSubscription(
+            UUID userId,
+            boolean admin,
+            UUID ticketId,
+            SseEmitter emitter,
+            int bufferSize
+    ) {
+        this.userId = userId;
+        this.admin = admin;
+        this.ticketId = ticketId;
+        this.emitter = emitter;
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+    }
+
+    UUID getUserId() {
+        return userId;
+    }
+
+    boolean isAdmin() {
+        return admin;
+    }
+
+    SseEmitter getEmitter() {
+        return emitter;
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    boolean accepts(UUID eventTicketId) {
+        return ticketId == null || ticketId.equals(eventTicketId);
+    }
+
+    /**
+     * Queues an event and returns true when the caller should schedule a drain.
+     */
+    boolean enqueue(SseEmitter.SseEventBuilder event) {
+
+        if (closed) {
+            return false;
+        }
+
+        if (!buffer.offer(event)) {
+            synchronized (buffer) {
+                buffer.clear();
+                buffer.offer(SseEmitter.event()
+                        .name("RESYNC")
+                        .data("{\"type\":\"RESYNC\"}"));
+            }
+        }
+
+        return draining.compareAndSet(false, true);
+    }
+
+    /**
+     * Writes queued events to the connection. Returns false when the client
+     * is gone and the subscription should be dropped.
+     */
+    boolean drain() {
+
+        try {
+            while (true) {
+                SseEmitter.SseEventBuilder next;
+
+                while ((next = buffer.poll()) != null) {
+                    if (!send(next)) {
+                        close();
+                        return false;
+                    }
+                }
+
+                draining.set(false);
+
+                // an event may have been queued after the last poll
+                if (buffer.isEmpty() || !draining.compareAndSet(false, true)) {
+                    return true;
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            close();
+            return false;
+        }
+    }
+
+    /**
+     * Marks the subscription stalled if a write has been running for
+     * longer than the timeout. Returns true only for the call that marks
+     * it. With compensate set, {@link #releaseStall} reports it once the
+     * write has returned.
+     */
+    boolean markStalled(long nowNanos, long timeoutNanos, boolean compensate) {
+
+        synchronized (sendLock) {
+
+            if (stalled || sendStartedNanos == 0 || nowNanos - sendStartedNanos < timeoutNanos) {
+                return false;
+            }
+
+            stalled = true;
+            compensated = compensate;
+            return true;
+        }
+    }
+
+    boolean isSendStalled(long nowNanos, long timeoutNanos) {
+
+        synchronized (sendLock) {
+            return !stalled && sendStartedNanos != 0 && nowNanos - sendStartedNanos >= timeoutNanos;
+        }
+    }
+
+    /**
+     * True once, after a drain returns, if the stall check compensated
+     * for the dispatcher thread the stuck write held.
+     */
+    boolean releaseStall() {
+
+        synchronized (sendLock) {
+
+            if (!compensated) {
+                return false;
+            }
+
+            compensated = false;
+            return true;
+        }
+    }
+
+    private boolean send(SseEmitter.SseEventBuilder event) throws IOException {
+
+        synchronized (sendLock) {
+
+            if (stalled) {
+                return false;
+            }
+
+            // never 0 while a write runs, 0 means idle
+            sendStartedNanos = System.nanoTime() | 1;
+        }
+
+        try {
+            emitter.send(event);
+        } finally {
+            synchronized (sendLock) {
+                sendStartedNanos = 0;
+            }
+        }
+
+        synchronized (sendLock) {
+            // marked while this write was stuck: it got through, but the subscription is dropped
+            return !stalled;
+        }
+    }
+
+    void close() {
+        closed = true;
+        buffer.clear();
+        draining.set(false);
+    }
+}
@@ -0,0 +1,304 @@
+package com.ticketsmanage.backend.realtime.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ticketsmanage.backend.realtime.dto.TicketStreamEvent;
+import com.ticketsmanage.backend.security.util.SecurityUtils;
+import com.ticketsmanage.backend.ticket.service.TicketService;
+import com.ticketsmanage.backend.user.entity.UserEntity;
+import com.ticketsmanage.backend.user.entity.UserRole;
+import com.ticketsmanage.backend.user.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Delivers ticket events to open SSE connections.
+ *
+ * Writes run on a small dispatcher pool and block while the client's
+ * socket is full. A write running longer than app.stream.write-timeout-ms
+ * marks its subscription stalled: it is dropped, and the pool grows by a
+ * thread for as long as the stuck write holds one, so other subscribers
+ * keep being served. The stuck write itself ends when the container's
+ * socket write timeout closes the connection.
+ */
+@Slf4j
+@Service
+public class TicketStreamService {
+
+    private final UserRepository userRepository;
+    private final TicketService ticketService;
+    private final ObjectMapper objectMapper;
+    private final ThreadPoolExecutor dispatcher;
+    private final int dispatcherThreads;
+
+    // dispatcher threads added for stuck writes, at most maxStalledSends
+    private final AtomicInteger stalledSends = new AtomicInteger();
+
+    // subscriptions indexed by user so delivery only touches the ticket's participants
+    private final Map<UUID, Set<StreamSubscription>> byUser = new ConcurrentHashMap<>();
+    private final Set<StreamSubscription> admins = ConcurrentHashMap.newKeySet();
+
+    @Value("${app.stream.buffer-size:64}")
+    private int bufferSize;
+
+    @Value("${app.stream.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${app.stream.write-timeout-ms:5000}")
+    private long writeTimeoutMs;
+
+    @Value("${app.stream.max-stalled-sends:32}")
+    private int maxStalledSends;
+
+    public TicketStreamService(
+            UserRepository userRepository,
+            TicketService ticketService,
+            ObjectMapper objectMapper,
+            @Value("${app.stream.dispatcher-threads:4}") int dispatcherThreads
+    ) {
+        this.userRepository = userRepository;
+        this.ticketService = ticketService;
+        this.objectMapper = objectMapper;
+        this.dispatcherThreads = dispatcherThreads;
+        this.dispatcher = new ThreadPoolExecutor(
+                dispatcherThreads,
+                dispatcherThreads,
+                60,
+                TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                r -> {
+                    Thread t = new Thread(r, "ticket-stream-dispatcher");
+                    t.setDaemon(true);
+                    return t;
+                });
+    }
+
+    public SseEmitter subscribe(UUID ticketId) {
+
+        UserEntity user = userRepository
+                .findByEmail(SecurityUtils.getCurrentUsername())
+                .orElseThrow(() ->
+                        new RuntimeException("Authenticated user not found"));
+
+        if (ticketId != null) {
+            // same owner/assignee/admin check as the ticket page
+            ticketService.getTicketById(ticketId);
+        }
+
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+
+        StreamSubscription subscription = new StreamSubscription(
+                user.getId(),
+                user.getRole() == UserRole.ADMIN,
+                ticketId,
+                emitter,
+                bufferSize);
+
+        emitter.onCompletion(() -> remove(subscription));
+        emitter.onTimeout(() -> remove(subscription));
+        emitter.onError(e -> remove(subscription));
+
+        if (subscription.isAdmin()) {
+            admins.add(subscription);
+        } else {
+            byUser.computeIfAbsent(user.getId(), id -> ConcurrentHashMap.newKeySet())
+                    .add(subscription);
+        }
+
+        schedule(subscription, SseEmitter.event()
+                .name("CONNECTED")
+                .data("{\"type\":\"CONNECTED\"}"));
+
+        return emitter;
+    }
+
+    /**
+     * Fans an event out to admins and to the ticket's owner and assignee,
+     * mirroring the access rule of getTicketById.
+     */
+    public void publish(
+            TicketStreamEvent event,
+            UUID ownerId,
+            UUID assigneeId
+    ) {
+
+        String payload;
+
+        try {
+            payload = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            log.warn("Failed to serialize stream event {}: {}", event.type(), e.getMessage());
+            return;
+        }
+
+        admins.forEach(s -> deliver(s, event, payload));
+
+        deliverToUser(ownerId, event, payload);
+
+        if (assigneeId != null && !assigneeId.equals(ownerId)) {
+            deliverToUser(assigneeId, event, payload);
+        }
+    }
+
+    @Scheduled(fixedRateString = "${app.stream.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+
+        admins.forEach(s -> schedule(s, SseEmitter.event().comment("heartbeat")));
+
+        byUser.values().forEach(subscriptions ->
+                subscriptions.forEach(s ->
+                        schedule(s, SseEmitter.event().comment("heartbeat"))));
+    }
+
+    /**
+     * Drops subscriptions whose current write has been blocked for longer
+     * than the write timeout, and lends the dispatcher a thread for each
+     * until the write returns.
+     */
+    @Scheduled(fixedDelayString = "${app.stream.stall-check-interval-ms:1000}")
+    public void dropStalled() {
+
+        long now = System.nanoTime();
+        long timeoutNanos = TimeUnit.MILLISECONDS.toNanos(writeTimeoutMs);
+
+        Stream.concat(admins.stream(), byUser.values().stream().flatMap(Set::stream))
+                .filter(s -> s.isSendStalled(now, timeoutNanos))
+                .toList()
+                .forEach(subscription -> {
+
+                    boolean compensate = stalledSends.incrementAndGet() <= maxStalledSends;
+
+                    boolean marked = subscription.markStalled(now, timeoutNanos, compensate);
+
+                    // give back the slot unless it now covers this write
+                    if (!marked || !compensate) {
+                        stalledSends.decrementAndGet();
+                    }
+
+                    if (!marked) {
+                        return;
+                    }
+
+                    if (compensate) {
+                        resizeDispatcher();
+                    }
+
+                    log.debug("Dropping stalled stream subscription of user {}", subscription.getUserId());
+                    remove(subscription);
+                });
+    }
+
+    public int getSubscriberCount() {
+        return admins.size() + byUser.values().stream().mapToInt(Set::size).sum();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        dispatcher.shutdownNow();
+    }
+
+    private void deliverToUser(
+            UUID userId,
+            TicketStreamEvent event,
+            String payload
+    ) {
+
+        if (userId == null) {
+            return;
+        }
+
+        Set<StreamSubscription> subscriptions = byUser.get(userId);
+
+        if (subscriptions != null) {
+            subscriptions.forEach(s -> deliver(s, event, payload));
+        }
+    }
+
+    private void deliver(
+            StreamSubscription subscription,
+            TicketStreamEvent event,
+            String payload
+    ) {
+
+        if (!subscription.accepts(event.ticketId())) {
+            return;
+        }
+
+        schedule(subscription, SseEmitter.event()
+                .name(event.type())
+                .data(payload));
+    }
+
+    private void schedule(
+            StreamSubscription subscription,
+            SseEmitter.SseEventBuilder event
+    ) {
+
+        if (!subscription.enqueue(event)) {
+            return;
+        }
+
+        try {
+            dispatcher.execute(() -> {
+
+                boolean open = subscription.drain();
+
+                if (subscription.releaseStall()) {
+                    stalledSends.decrementAndGet();
+                    resizeDispatcher();
+                }
+
+                if (!open) {
+                    remove(subscription);
+                    subscription.getEmitter().complete();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            remove(subscription);
+        }
+    }
+
+    // one thread per healthy slot plus one per stuck write
+    private synchronized void resizeDispatcher() {
+
+        int size = dispatcherThreads + Math.max(0, Math.min(stalledSends.get(), maxStalledSends));
+
+        if (size > dispatcher.getMaximumPoolSize()) {
+            dispatcher.setMaximumPoolSize(size);
+            dispatcher.setCorePoolSize(size);
+        } else {
+            dispatcher.setCorePoolSize(size);
+            dispatcher.setMaximumPoolSize(size);
+        }
+    }
+
+    private void remove(StreamSubscription subscription) {
+
+        subscription.close();
+
+        if (subscription.isAdmin()) {
+            admins.remove(subscription);
+            return;
+        }
+
+        byUser.computeIfPresent(subscription.getUserId(), (id, subscriptions) -> {
+            subscriptions.remove(subscription);
+            return subscriptions.isEmpty() ? null : subscriptions;
+        });
+    }
+}
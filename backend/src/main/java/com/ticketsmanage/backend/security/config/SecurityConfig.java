@@ -56,6 +56,9 @@ public class SecurityConfig {
                                                 }))
 
                                 .authorizeHttpRequests(auth -> auth
+                                                // SSE responses are re-dispatched after the JWT filter already ran
+                                                .dispatcherTypeMatchers(jakarta.servlet.DispatcherType.ASYNC)
+                                                .permitAll()
                                                 .requestMatchers(
                                                                 "/api/auth/**",
                                                                 "/oauth2/**",
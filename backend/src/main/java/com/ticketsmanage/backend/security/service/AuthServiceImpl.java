@@ -1,5 +1,6 @@
 package com.ticketsmanage.backend.security.service;
 
+import com.ticketsmanage.backend.assignment.service.AgentWorkloadTracker;
 import com.ticketsmanage.backend.security.dto.AuthResponse;
 import com.ticketsmanage.backend.security.dto.LoginRequest;
 import com.ticketsmanage.backend.security.dto.RegisterRequest;
@@ -20,6 +21,7 @@ public class AuthServiceImpl implements AuthService {
     private final JwtService jwtService;
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final AgentWorkloadTracker agentWorkloadTracker;
 
     @Value("${app.secret-code.admin:}")
     private String adminSecretCode;
@@ -31,12 +33,14 @@ public class AuthServiceImpl implements AuthService {
             AuthenticationManager authenticationManager,
             JwtService jwtService,
             UserRepository userRepository,
-            PasswordEncoder passwordEncoder
+            PasswordEncoder passwordEncoder,
+            AgentWorkloadTracker agentWorkloadTracker
     ) {
         this.authenticationManager = authenticationManager;
         this.jwtService = jwtService;
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.agentWorkloadTracker = agentWorkloadTracker;
     }
 
     @Override
@@ -86,6 +90,8 @@ public class AuthServiceImpl implements AuthService {
 
         userRepository.save(user);
 
+        agentWorkloadTracker.userChanged(user.getId(), user.getRole(), user.isActive());
+
         // generate jwt token
         String token = jwtService.generateToken(
                 user.getEmail(),
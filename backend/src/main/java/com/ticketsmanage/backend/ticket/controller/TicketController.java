@@ -3,6 +3,7 @@ package com.ticketsmanage.backend.ticket.controller;
 import com.ticketsmanage.backend.ticket.dto.*;
 import com.ticketsmanage.backend.ticket.entity.TicketPriority;
 import com.ticketsmanage.backend.ticket.entity.TicketStatus;
+import com.ticketsmanage.backend.ticket.service.TicketDetailService;
 import com.ticketsmanage.backend.ticket.service.TicketService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -20,6 +21,7 @@ import java.util.UUID;
 public class TicketController {
 
     private final TicketService ticketService;
+    private final TicketDetailService ticketDetailService;
 
     @GetMapping("/my")
     public Page<TicketResponse> getMyTickets(
@@ -62,6 +64,14 @@ public class TicketController {
         return ticketService.getTicketById(id);
     }
 
+    @GetMapping("/{id}/detail")
+    public TicketDetailResponse getTicketDetail(
+            @PathVariable UUID id,
+            @RequestParam(required = false) String include,
+            @RequestParam(required = false) Integer limit) {
+        return ticketDetailService.getTicketDetail(id, include, limit);
+    }
+
     @PutMapping("/{id}/status")
     public TicketResponse updateStatus(
             @PathVariable UUID id,
@@ -0,0 +1,17 @@
+package com.ticketsmanage.backend.ticket.dto;
+
+import com.ticketsmanage.backend.attachment.dto.AttachmentResponse;
+import com.ticketsmanage.backend.comment.dto.CommentResponse;
+import com.ticketsmanage.backend.common.pagination.CursorPage;
+import com.ticketsmanage.backend.ticketactivity.dto.TicketActivityResponse;
+
+/**
+ * Everything the ticket page needs in one document. Sections that were
+ * not requested through {@code include} are null.
+ */
+public record TicketDetailResponse(
+        TicketResponse ticket,
+        CursorPage<CommentResponse> comments,
+        CursorPage<TicketActivityResponse> activities,
+        CursorPage<AttachmentResponse> attachments
+) {}
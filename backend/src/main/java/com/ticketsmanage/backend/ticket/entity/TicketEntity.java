@@ -1,14 +1,18 @@
 package com.ticketsmanage.backend.ticket.entity;
 
+import com.ticketsmanage.backend.config.SecondLevelCacheConfig;
 import com.ticketsmanage.backend.user.entity.UserEntity;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.Instant;
 import java.util.UUID;
 
 @Entity
 @Table(name = "tickets")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.TICKETS)
 @Getter
 @Setter
 @NoArgsConstructor
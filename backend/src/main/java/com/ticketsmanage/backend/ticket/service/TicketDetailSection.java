@@ -0,0 +1,41 @@
+package com.ticketsmanage.backend.ticket.service;
+
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+public enum TicketDetailSection {
+
+    COMMENTS,
+    ACTIVITIES,
+    ATTACHMENTS;
+
+    /**
+     * Parses a comma-separated {@code include} value; blank means all sections.
+     */
+    public static Set<TicketDetailSection> parse(String include) {
+
+        if (include == null || include.isBlank()) {
+            return EnumSet.allOf(TicketDetailSection.class);
+        }
+
+        Set<TicketDetailSection> sections = EnumSet.noneOf(TicketDetailSection.class);
+
+        for (String part : include.split(",")) {
+
+            String name = part.trim();
+
+            if (name.isEmpty()) {
+                continue;
+            }
+
+            try {
+                sections.add(valueOf(name.toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown include section: " + name);
+            }
+        }
+
+        return sections;
+    }
+}
@@ -0,0 +1,128 @@
+package com.ticketsmanage.backend.ticket.service;
+
+import com.ticketsmanage.backend.attachment.dto.AttachmentResponse;
+import com.ticketsmanage.backend.attachment.service.AttachmentService;
+import com.ticketsmanage.backend.comment.dto.CommentResponse;
+import com.ticketsmanage.backend.comment.service.CommentService;
+import com.ticketsmanage.backend.common.pagination.CursorPage;
+import com.ticketsmanage.backend.common.pagination.PageOrder;
+import com.ticketsmanage.backend.ticket.dto.TicketDetailResponse;
+import com.ticketsmanage.backend.ticket.dto.TicketResponse;
+import com.ticketsmanage.backend.ticketactivity.dto.TicketActivityResponse;
+import com.ticketsmanage.backend.ticketactivity.service.TicketActivityService;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Assembles the ticket page in one call. The user lookup and access check
+ * run once, through {@link TicketService#getTicketById}; the requested
+ * sections are then loaded in parallel, each in its own read-only
+ * transaction on its own connection.
+ *
+ * Deliberately not transactional itself, so the request thread does not
+ * pin a connection while it waits for the sections.
+ */
+@Service
+public class TicketDetailService {
+
+    private final TicketService ticketService;
+    private final CommentService commentService;
+    private final TicketActivityService activityService;
+    private final AttachmentService attachmentService;
+    private final ThreadPoolExecutor executor;
+
+    public TicketDetailService(
+            TicketService ticketService,
+            CommentService commentService,
+            TicketActivityService activityService,
+            AttachmentService attachmentService,
+            @Value("${app.ticket-detail.threads:8}") int threads,
+            @Value("${app.ticket-detail.queue-capacity:256}") int queueCapacity
+    ) {
+        this.ticketService = ticketService;
+        this.commentService = commentService;
+        this.activityService = activityService;
+        this.attachmentService = attachmentService;
+
+        // when saturated, sections load on the request thread instead of failing
+        this.executor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                60,
+                TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "ticket-detail-loader");
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    public TicketDetailResponse getTicketDetail(
+            UUID ticketId,
+            String include,
+            Integer limit
+    ) {
+
+        Set<TicketDetailSection> sections = TicketDetailSection.parse(include);
+
+        // throws for missing tickets and for users who may not see this one
+        TicketResponse ticket = ticketService.getTicketById(ticketId);
+
+        int size = CursorPage.clampLimit(limit);
+
+        CompletableFuture<CursorPage<CommentResponse>> comments = load(
+                sections.contains(TicketDetailSection.COMMENTS),
+                () -> commentService.fetchCommentsPage(
+                        ticketId, null, size, PageOrder.NEWEST_FIRST));
+
+        CompletableFuture<CursorPage<TicketActivityResponse>> activities = load(
+                sections.contains(TicketDetailSection.ACTIVITIES),
+                () -> activityService.fetchTimelinePage(
+                        ticketId, null, size, PageOrder.NEWEST_FIRST));
+
+        CompletableFuture<CursorPage<AttachmentResponse>> attachments = load(
+                sections.contains(TicketDetailSection.ATTACHMENTS),
+                () -> attachmentService.fetchAttachmentsPage(
+                        ticketId, null, size, PageOrder.NEWEST_FIRST));
+
+        try {
+            return new TicketDetailResponse(
+                    ticket,
+                    comments.join(),
+                    activities.join(),
+                    attachments.join());
+
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> CompletableFuture<T> load(boolean requested, Supplier<T> loader) {
+
+        if (!requested) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        return CompletableFuture.supplyAsync(loader, executor);
+    }
+}
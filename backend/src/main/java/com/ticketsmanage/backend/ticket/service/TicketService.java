@@ -1,5 +1,7 @@
 package com.ticketsmanage.backend.ticket.service;
 
+import com.ticketsmanage.backend.assignment.service.AgentWorkloadTracker;
+import com.ticketsmanage.backend.assignment.service.AutoAssignmentService;
 import com.ticketsmanage.backend.notification.event.TicketAssignedEvent;
 import com.ticketsmanage.backend.notification.event.TicketCreatedEvent;
 import com.ticketsmanage.backend.notification.event.TicketStatusChangedEvent;
@@ -10,6 +12,9 @@ import com.ticketsmanage.backend.ticket.entity.TicketPriority;
 import com.ticketsmanage.backend.ticket.entity.TicketStatus;
 import com.ticketsmanage.backend.ticket.repository.TicketRepository;
 import com.ticketsmanage.backend.ticketactivity.service.TicketActivityService;
+import com.ticketsmanage.backend.ticketarchive.entity.TicketArchiveIndexEntity;
+import com.ticketsmanage.backend.ticketarchive.service.ArchivedTicket;
+import com.ticketsmanage.backend.ticketarchive.service.TicketArchiveService;
 import com.ticketsmanage.backend.user.dto.UserSummaryDto;
 import com.ticketsmanage.backend.user.entity.UserEntity;
 import com.ticketsmanage.backend.user.entity.UserRole;
@@ -35,6 +40,9 @@ public class TicketService {
         private final UserRepository userRepository;
         private final TicketActivityService ticketActivityService;
         private final ApplicationEventPublisher eventPublisher;
+        private final TicketArchiveService ticketArchiveService;
+        private final AutoAssignmentService autoAssignmentService;
+        private final AgentWorkloadTracker agentWorkloadTracker;
 
         @Transactional
         public TicketResponse createTicket(CreateTicketRequest request) {
@@ -57,6 +65,17 @@ public class TicketService {
 
                 eventPublisher.publishEvent(new TicketCreatedEvent(saved.getId()));
 
+                autoAssignmentService.assign(saved).ifPresent(agent -> {
+
+                        ticketActivityService.log(
+                                        saved,
+                                        currentUser,
+                                        "ASSIGNED",
+                                        "Auto-assigned to " + agent.getEmail());
+
+                        eventPublisher.publishEvent(new TicketAssignedEvent(saved.getId(), agent.getId()));
+                });
+
                 return toResponse(saved);
         }
 
@@ -124,8 +143,13 @@ public class TicketService {
 
                 UserEntity currentUser = getCurrentUser();
 
-                TicketEntity ticket = ticketRepository.findByIdAndDeletedFalse(id)
-                                .orElseThrow(() -> new RuntimeException("Ticket not found"));
+                Optional<TicketEntity> live = ticketRepository.findByIdAndDeletedFalse(id);
+
+                if (live.isEmpty()) {
+                        return getArchivedTicket(id, currentUser);
+                }
+
+                TicketEntity ticket = live.get();
 
                 boolean allowed = ticket.getOwner().getId().equals(currentUser.getId())
                                 || (ticket.getAssignee() != null &&
@@ -146,7 +170,11 @@ public class TicketService {
 
                 UserEntity currentUser = getCurrentUser();
 
+                // reopening an archived ticket brings it back into the hot tables first
                 TicketEntity ticket = ticketRepository.findByIdAndDeletedFalse(ticketId)
+                                .or(() -> ticketArchiveService.restore(ticketId)
+                                                ? ticketRepository.findByIdAndDeletedFalse(ticketId)
+                                                : Optional.empty())
                                 .orElseThrow(() -> new RuntimeException("Ticket not found"));
 
                 boolean isOwner = ticket.getOwner().getId().equals(currentUser.getId());
@@ -164,6 +192,13 @@ public class TicketService {
                         validateStatusTransition(ticket.getStatus(), request.status());
                 }
 
+                agentWorkloadTracker.move(
+                                assigneeId(ticket),
+                                ticket.getStatus(),
+                                assigneeId(ticket),
+                                request.status(),
+                                ticket.getPriority());
+
                 ticket.setStatus(request.status());
 
                 if (request.status() == TicketStatus.RESOLVED) {
@@ -208,6 +243,13 @@ public class TicketService {
                 UserEntity assignee = userRepository.findById(request.assigneeId())
                                 .orElseThrow(() -> new RuntimeException("User not found"));
 
+                agentWorkloadTracker.move(
+                                assigneeId(ticket),
+                                ticket.getStatus(),
+                                assignee.getId(),
+                                ticket.getStatus(),
+                                ticket.getPriority());
+
                 ticket.setAssignee(assignee);
                 ticketRepository.save(ticket);
 
@@ -232,7 +274,14 @@ public class TicketService {
 
                 ticket.setDeleted(true);
 
-                ticketActivityService.log(
+                agentWorkloadTracker.move(
+                                assigneeId(ticket),
+                                ticket.getStatus(),
+                                null,
+                                null,
+                                ticket.getPriority());
+
+                ticketActivityService.logDurable(
                                 ticket,
                                 currentUser,
                                 "SOFT_DELETED",
@@ -247,9 +296,18 @@ public class TicketService {
                 TicketEntity ticket = ticketRepository.findById(id)
                                 .orElseThrow(() -> new RuntimeException("Ticket not found"));
 
+                if (ticket.isDeleted()) {
+                        agentWorkloadTracker.move(
+                                        null,
+                                        null,
+                                        assigneeId(ticket),
+                                        ticket.getStatus(),
+                                        ticket.getPriority());
+                }
+
                 ticket.setDeleted(false);
 
-                ticketActivityService.log(
+                ticketActivityService.logDurable(
                                 ticket,
                                 currentUser,
                                 "RESTORED",
@@ -294,6 +352,10 @@ public class TicketService {
                 }
         }
 
+        private UUID assigneeId(TicketEntity ticket) {
+                return ticket.getAssignee() != null ? ticket.getAssignee().getId() : null;
+        }
+
         private UserEntity getCurrentUser() {
 
                 String email = SecurityUtils.getCurrentUsername();
@@ -325,22 +387,56 @@ public class TicketService {
                         return;
         }
 
+        private TicketResponse getArchivedTicket(UUID id, UserEntity currentUser) {
+
+                TicketArchiveIndexEntity index = ticketArchiveService.findIndex(id)
+                                .orElseThrow(() -> new RuntimeException("Ticket not found"));
+
+                // owner and assignee are kept on the index, so denied requests never touch the segment
+                boolean allowed = index.getOwnerId().equals(currentUser.getId())
+                                || currentUser.getId().equals(index.getAssigneeId())
+                                || currentUser.getRole() == UserRole.ADMIN;
+
+                if (!allowed) {
+                        throw new AccessDeniedException("Forbidden");
+                }
+
+                ArchivedTicket ticket = ticketArchiveService.readTicket(index);
+
+                return new TicketResponse(
+                                ticket.id(),
+                                ticket.title(),
+                                ticket.description(),
+                                ticket.status(),
+                                ticket.priority(),
+                                findUserSummary(ticket.ownerId()),
+                                findUserSummary(ticket.assigneeId()),
+                                ticket.createdAt(),
+                                ticket.updatedAt(),
+                                ticket.resolvedAt(),
+                                ticket.rating(),
+                                ticket.ratingComment());
+        }
+
+        private UserSummaryDto findUserSummary(UUID userId) {
+
+                if (userId == null) {
+                        return null;
+                }
+
+                return userRepository.findById(userId)
+                                .map(UserSummaryDto::of)
+                                .orElse(null);
+        }
+
         private TicketResponse toResponse(TicketEntity ticket) {
 
-                UserSummaryDto owner = new UserSummaryDto(
-                                ticket.getOwner().getId(),
-                                ticket.getOwner().getEmail(),
-                                ticket.getOwner().getFirstName(),
-                                ticket.getOwner().getLastName());
+                UserSummaryDto owner = UserSummaryDto.of(ticket.getOwner());
 
                 UserSummaryDto assignee = null;
 
                 if (ticket.getAssignee() != null) {
-                        assignee = new UserSummaryDto(
-                                        ticket.getAssignee().getId(),
-                                        ticket.getAssignee().getEmail(),
-                                        ticket.getAssignee().getFirstName(),
-                                        ticket.getAssignee().getLastName());
+                        assignee = UserSummaryDto.of(ticket.getAssignee());
                 }
 
                 return new TicketResponse(
@@ -1,5 +1,6 @@
 package com.ticketsmanage.backend.ticketactivity.controller;
 
+import com.ticketsmanage.backend.common.pagination.CursorPage;
 import com.ticketsmanage.backend.ticketactivity.dto.TicketActivityResponse;
 import com.ticketsmanage.backend.ticketactivity.service.TicketActivityService;
 import lombok.RequiredArgsConstructor;
@@ -17,8 +18,20 @@ public class TicketActivityController {
 
     @GetMapping
     public List<TicketActivityResponse> getTimeline(
-            @PathVariable UUID ticketId
+            @PathVariable UUID ticketId,
+            @RequestParam(defaultValue = "false") boolean includeArchived
     ) {
-        return activityService.getTimeline(ticketId);
+        return activityService.getTimeline(ticketId, includeArchived);
+    }
+
+    @GetMapping("/page")
+    public CursorPage<TicketActivityResponse> getTimelinePage(
+            @PathVariable UUID ticketId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String order,
+            @RequestParam(defaultValue = "false") boolean includeArchived
+    ) {
+        return activityService.getTimelinePage(ticketId, cursor, limit, order, includeArchived);
     }
 }
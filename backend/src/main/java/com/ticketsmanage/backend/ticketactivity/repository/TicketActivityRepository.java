@@ -2,9 +2,13 @@ package com.ticketsmanage.backend.ticketactivity.repository;
 
 import com.ticketsmanage.backend.ticketactivity.entity.TicketActivityEntity;
 import com.ticketsmanage.backend.ticket.entity.TicketEntity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
 
@@ -12,7 +16,55 @@ import java.util.UUID;
 public interface TicketActivityRepository
         extends JpaRepository<TicketActivityEntity, UUID> {
 
-    List<TicketActivityEntity> findByTicketOrderByCreatedAtAsc(
-            TicketEntity ticket
+    @Query("""
+        select a
+        from TicketActivityEntity a
+        join fetch a.actor
+        where a.ticket = :ticket
+        order by a.createdAt asc, a.id asc
+    """)
+    List<TicketActivityEntity> findByTicketWithActor(
+            @Param("ticket") TicketEntity ticket
+    );
+
+    @Query("""
+        select a
+        from TicketActivityEntity a
+        join fetch a.actor
+        where a.ticket.id = :ticketId
+    """)
+    List<TicketActivityEntity> findPageByTicket(
+            @Param("ticketId") UUID ticketId,
+            Pageable pageable
+    );
+
+    @Query("""
+        select a
+        from TicketActivityEntity a
+        join fetch a.actor
+        where a.ticket.id = :ticketId
+          and (a.createdAt < :createdAt
+               or (a.createdAt = :createdAt and a.id < :id))
+    """)
+    List<TicketActivityEntity> findPageByTicketBefore(
+            @Param("ticketId") UUID ticketId,
+            @Param("createdAt") Instant createdAt,
+            @Param("id") UUID id,
+            Pageable pageable
+    );
+
+    @Query("""
+        select a
+        from TicketActivityEntity a
+        join fetch a.actor
+        where a.ticket.id = :ticketId
+          and (a.createdAt > :createdAt
+               or (a.createdAt = :createdAt and a.id > :id))
+    """)
+    List<TicketActivityEntity> findPageByTicketAfter(
+            @Param("ticketId") UUID ticketId,
+            @Param("createdAt") Instant createdAt,
+            @Param("id") UUID id,
+            Pageable pageable
     );
 }
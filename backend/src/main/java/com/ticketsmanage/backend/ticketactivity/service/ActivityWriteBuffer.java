@@ -0,0 +1,55 @@
+package com.ticketsmanage.backend.ticketactivity.service;
+
+import com.ticketsmanage.backend.common.batch.WriteBehindBuffer;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Write-behind buffer for ticket_activity rows, flushed with JDBC batch inserts.
+ */
+@Component
+public class ActivityWriteBuffer extends WriteBehindBuffer<PendingActivity> {
+
+    private static final String INSERT_SQL = """
+            insert into ticket_activity (id, ticket_id, actor_id, action, details, created_at)
+            values (?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ActivityWriteBuffer(
+            JdbcTemplate jdbcTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${app.activity.buffer-capacity:10000}") int capacity,
+            @Value("${app.activity.batch-size:500}") int batchSize,
+            @Value("${app.activity.flush-interval-ms:200}") long flushIntervalMs
+    ) {
+        super("activity", "ticket.activity", meterRegistry, capacity, batchSize, flushIntervalMs);
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    protected int writeBatch(List<PendingActivity> batch) {
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, a) -> {
+            ps.setObject(1, a.id());
+            ps.setObject(2, a.ticketId());
+            ps.setObject(3, a.actorId());
+            ps.setString(4, a.action());
+            ps.setString(5, a.details());
+            ps.setTimestamp(6, Timestamp.from(a.createdAt()));
+        });
+
+        return batch.size();
+    }
+
+    @Override
+    protected String describe(PendingActivity a) {
+        return a.action() + " on ticket " + a.ticketId();
+    }
+}
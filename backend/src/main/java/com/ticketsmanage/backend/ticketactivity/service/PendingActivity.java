@@ -0,0 +1,13 @@
+package com.ticketsmanage.backend.ticketactivity.service;
+
+import java.time.Instant;
+import java.util.UUID;
+
+record PendingActivity(
+        UUID id,
+        UUID ticketId,
+        UUID actorId,
+        String action,
+        String details,
+        Instant createdAt
+) {}
@@ -1,5 +1,9 @@
 package com.ticketsmanage.backend.ticketactivity.service;
 
+import com.ticketsmanage.backend.common.pagination.Cursor;
+import com.ticketsmanage.backend.common.pagination.CursorPage;
+import com.ticketsmanage.backend.common.pagination.PageOrder;
+import com.ticketsmanage.backend.partition.service.PartitionArchiveReader;
 import com.ticketsmanage.backend.security.util.SecurityUtils;
 import com.ticketsmanage.backend.ticket.entity.TicketEntity;
 import com.ticketsmanage.backend.ticket.repository.TicketRepository;
@@ -10,12 +14,21 @@ import com.ticketsmanage.backend.user.entity.UserEntity;
 import com.ticketsmanage.backend.user.entity.UserRole;
 import com.ticketsmanage.backend.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -24,7 +37,18 @@ public class TicketActivityService {
     private final TicketActivityRepository activityRepository;
     private final TicketRepository ticketRepository;
     private final UserRepository userRepository;
+    private final ActivityWriteBuffer writeBuffer;
+    private final PartitionArchiveReader archiveReader;
 
+    @Value("${app.activity.write-mode:buffered}")
+    private String writeMode;
+
+    /**
+     * Records an activity entry once the surrounding transaction commits.
+     * In buffered mode the row is written by the batch flusher shortly
+     * after; use {@link #logDurable} when the entry must commit atomically
+     * with the business change.
+     */
     @Transactional
     public void log(
             TicketEntity ticket,
@@ -33,6 +57,43 @@ public class TicketActivityService {
             String details
     ) {
 
+        if ("sync".equalsIgnoreCase(writeMode)) {
+            logDurable(ticket, actor, action, details);
+            return;
+        }
+
+        PendingActivity activity = new PendingActivity(
+                UUID.randomUUID(),
+                ticket.getId(),
+                actor.getId(),
+                action,
+                details,
+                Instant.now());
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public void afterCommit() {
+                            writeBuffer.enqueue(activity);
+                        }
+                    });
+        } else {
+            writeBuffer.enqueue(activity);
+        }
+    }
+
+    /**
+     * Writes the entry inside the caller's transaction.
+     */
+    @Transactional
+    public void logDurable(
+            TicketEntity ticket,
+            UserEntity actor,
+            String action,
+            String details
+    ) {
+
         TicketActivityEntity activity = new TicketActivityEntity();
 
         activity.setTicket(ticket);
@@ -47,6 +108,143 @@ public class TicketActivityService {
     public List<TicketActivityResponse> getTimeline(
             UUID ticketId
     ) {
+        return getTimeline(ticketId, false);
+    }
+
+    /**
+     * Returns the ticket history, optionally including entries whose
+     * partitions have been archived out of the database.
+     */
+    @Transactional(readOnly = true)
+    public List<TicketActivityResponse> getTimeline(
+            UUID ticketId,
+            boolean includeArchived
+    ) {
+
+        TicketEntity ticket = getAccessibleTicket(ticketId);
+
+        List<TicketActivityResponse> live = activityRepository
+                .findByTicketWithActor(ticket)
+                .stream()
+                .map(this::toResponse)
+                .toList();
+
+        if (!includeArchived) {
+            return live;
+        }
+
+        List<TicketActivityResponse> timeline = new ArrayList<>(
+                getArchivedTimeline(ticket, null, PageOrder.OLDEST_FIRST, Integer.MAX_VALUE));
+
+        timeline.addAll(live);
+
+        return timeline;
+    }
+
+    /**
+     * Keyset page of the live timeline on (created_at, id).
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<TicketActivityResponse> getTimelinePage(
+            UUID ticketId,
+            String cursor,
+            Integer limit,
+            String order
+    ) {
+        return getTimelinePage(ticketId, cursor, limit, order, false);
+    }
+
+    /**
+     * Keyset page of the timeline on (created_at, id), optionally
+     * continuing into archived partitions. Archived rows are older than
+     * every live row, so newest first they follow the live rows and oldest
+     * first they precede them; only the archives the page reaches are read.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<TicketActivityResponse> getTimelinePage(
+            UUID ticketId,
+            String cursor,
+            Integer limit,
+            String order,
+            boolean includeArchived
+    ) {
+
+        TicketEntity ticket = getAccessibleTicket(ticketId);
+        Cursor position = Cursor.decode(cursor);
+        int size = CursorPage.clampLimit(limit);
+        PageOrder pageOrder = PageOrder.parse(order);
+
+        if (!includeArchived) {
+            return fetchTimelinePage(ticket.getId(), position, size, pageOrder);
+        }
+
+        // one row past the page tells CursorPage whether another follows
+        List<TicketActivityResponse> rows = new ArrayList<>();
+
+        if (pageOrder == PageOrder.NEWEST_FIRST) {
+            liveRows(ticket.getId(), position, size, pageOrder).forEach(a -> rows.add(toResponse(a)));
+
+            if (rows.size() <= size) {
+                rows.addAll(getArchivedTimeline(ticket, position, pageOrder, size + 1 - rows.size()));
+            }
+        } else {
+            rows.addAll(getArchivedTimeline(ticket, position, pageOrder, size + 1));
+
+            if (rows.size() <= size) {
+                liveRows(ticket.getId(), position, size, pageOrder).forEach(a -> rows.add(toResponse(a)));
+            }
+        }
+
+        return CursorPage.of(
+                rows,
+                size,
+                a -> new Cursor(a.createdAt(), a.id()),
+                a -> a);
+    }
+
+    /**
+     * Keyset page of activities without an access check; callers must
+     * have validated access to the ticket already.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<TicketActivityResponse> fetchTimelinePage(
+            UUID ticketId,
+            Cursor position,
+            int size,
+            PageOrder pageOrder
+    ) {
+
+        return CursorPage.of(
+                liveRows(ticketId, position, size, pageOrder),
+                size,
+                a -> new Cursor(a.getCreatedAt(), a.getId()),
+                this::toResponse);
+    }
+
+    // up to size + 1 rows after the position
+    private List<TicketActivityEntity> liveRows(
+            UUID ticketId,
+            Cursor position,
+            int size,
+            PageOrder pageOrder
+    ) {
+
+        Pageable pageable = pageOrder.pageable(size);
+
+        if (position == null) {
+            return activityRepository.findPageByTicket(ticketId, pageable);
+        }
+
+        if (pageOrder == PageOrder.NEWEST_FIRST) {
+            return activityRepository.findPageByTicketBefore(
+                    ticketId, position.createdAt(), position.id(), pageable);
+        }
+
+        return activityRepository.findPageByTicketAfter(
+                ticketId, position.createdAt(), position.id(), pageable);
+    }
+
+    private TicketEntity getAccessibleTicket(UUID ticketId) {
 
         UserEntity user = getCurrentUser();
 
@@ -67,15 +265,53 @@ public class TicketActivityService {
             );
         }
 
-        return activityRepository
-                .findByTicketOrderByCreatedAtAsc(ticket)
+        return ticket;
+    }
+
+    private TicketActivityResponse toResponse(TicketActivityEntity a) {
+
+        return new TicketActivityResponse(
+                a.getId(),
+                a.getAction(),
+                a.getDetails(),
+                a.getActor().getEmail(),
+                a.getCreatedAt()
+        );
+    }
+
+    private List<TicketActivityResponse> getArchivedTimeline(
+            TicketEntity ticket,
+            Cursor position,
+            PageOrder pageOrder,
+            int limit
+    ) {
+
+        List<Map<String, Object>> rows = archiveReader.findTicketRows(
+                "ticket_activity",
+                ticket.getId(),
+                position,
+                pageOrder,
+                limit);
+
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+
+        Set<UUID> actorIds = rows.stream()
+                .map(r -> UUID.fromString((String) r.get("actor_id")))
+                .collect(Collectors.toSet());
+
+        Map<UUID, String> emails = userRepository.findAllById(actorIds)
                 .stream()
-                .map(a -> new TicketActivityResponse(
-                        a.getId(),
-                        a.getAction(),
-                        a.getDetails(),
-                        a.getActor().getEmail(),
-                        a.getCreatedAt()
+                .collect(Collectors.toMap(UserEntity::getId, UserEntity::getEmail));
+
+        return rows.stream()
+                .map(r -> new TicketActivityResponse(
+                        UUID.fromString((String) r.get("id")),
+                        (String) r.get("action"),
+                        (String) r.get("details"),
+                        emails.get(UUID.fromString((String) r.get("actor_id"))),
+                        Instant.parse((String) r.get("created_at"))
                 ))
                 .toList();
     }
@@ -0,0 +1,47 @@
+package com.ticketsmanage.backend.ticketarchive.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Entity
+@Table(name = "ticket_archive_index")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TicketArchiveIndexEntity {
+
+    @Id
+    @Column(name = "ticket_id")
+    private UUID ticketId;
+
+    @Column(name = "segment_key", nullable = false, columnDefinition = "TEXT")
+    private String segmentKey;
+
+    @Column(name = "record_offset", nullable = false)
+    private long recordOffset;
+
+    @Column(name = "record_length", nullable = false)
+    private int recordLength;
+
+    @Column(name = "owner_id", nullable = false)
+    private UUID ownerId;
+
+    @Column(name = "assignee_id")
+    private UUID assigneeId;
+
+    @Column(name = "resolved_at")
+    private Instant resolvedAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private Instant archivedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        this.archivedAt = Instant.now();
+    }
+}
@@ -0,0 +1,19 @@
+package com.ticketsmanage.backend.ticketarchive.repository;
+
+import com.ticketsmanage.backend.ticketarchive.entity.TicketArchiveIndexEntity;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+import java.util.UUID;
+
+public interface TicketArchiveIndexRepository
+        extends JpaRepository<TicketArchiveIndexEntity, UUID> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select i from TicketArchiveIndexEntity i where i.ticketId = :ticketId")
+    Optional<TicketArchiveIndexEntity> findForUpdate(@Param("ticketId") UUID ticketId);
+}
@@ -0,0 +1,25 @@
+package com.ticketsmanage.backend.ticketarchive.service;
+
+import com.ticketsmanage.backend.ticket.entity.TicketPriority;
+import com.ticketsmanage.backend.ticket.entity.TicketStatus;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Ticket row as read back from a cold segment.
+ */
+public record ArchivedTicket(
+        UUID id,
+        String title,
+        String description,
+        TicketStatus status,
+        TicketPriority priority,
+        UUID ownerId,
+        UUID assigneeId,
+        Instant createdAt,
+        Instant updatedAt,
+        Instant resolvedAt,
+        Integer rating,
+        String ratingComment
+) {}
@@ -0,0 +1,380 @@
+package com.ticketsmanage.backend.ticketarchive.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ticketsmanage.backend.common.lock.ClusterLock;
+import com.ticketsmanage.backend.partition.service.ArchiveStorage;
+import com.ticketsmanage.backend.ticket.entity.TicketEntity;
+import com.ticketsmanage.backend.ticket.entity.TicketPriority;
+import com.ticketsmanage.backend.ticket.entity.TicketStatus;
+import com.ticketsmanage.backend.ticketarchive.entity.TicketArchiveIndexEntity;
+import com.ticketsmanage.backend.ticketarchive.repository.TicketArchiveIndexRepository;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Moves long-resolved tickets out of the hot tables into cold segments.
+ *
+ * Every archival batch writes one segment: a file of back-to-back gzip
+ * records, one per ticket, holding the ticket row together with its
+ * comments, activity and attachment rows as JSON. Segments are written
+ * once and never modified; ticket_archive_index maps each ticket to
+ * its segment, offset and length so a single ranged read brings it back.
+ *
+ * Attachment blobs stay where they are, only their metadata rows move.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TicketArchiveService {
+
+    private static final String CANDIDATES_SQL = """
+            select id, owner_id, assignee_id, resolved_at, updated_at
+            from tickets
+            where status = 'RESOLVED'
+              and is_deleted = false
+              and resolved_at < ?
+            order by resolved_at
+            limit ?
+            """;
+
+    private static final String RECORD_SQL = """
+            with doc as (
+                select json_build_object(
+                    'ticket', (select row_to_json(t) from tickets t where t.id = ?),
+                    'comments', coalesce((select json_agg(c order by c.created_at, c.id)
+                                          from ticket_comments c where c.ticket_id = ?), '[]'::json),
+                    'activities', coalesce((select json_agg(a order by a.created_at, a.id)
+                                            from ticket_activity a where a.ticket_id = ?), '[]'::json),
+                    'attachments', coalesce((select json_agg(f order by f.created_at, f.id)
+                                             from ticket_attachments f where f.ticket_id = ?), '[]'::json)
+                ) as body
+            )
+            select body::text as body,
+                   json_array_length(body -> 'comments')
+                       + json_array_length(body -> 'activities')
+                       + json_array_length(body -> 'attachments') as children
+            from doc
+            """;
+
+    private static final String CHILD_COUNT_SQL = """
+            select (select count(*) from ticket_comments where ticket_id = ?)
+                 + (select count(*) from ticket_activity where ticket_id = ?)
+                 + (select count(*) from ticket_attachments where ticket_id = ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TicketArchiveIndexRepository indexRepository;
+    private final ArchiveStorage archiveStorage;
+    private final ClusterLock clusterLock;
+    private final ObjectMapper objectMapper;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Value("${app.ticket-archive.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.ticket-archive.resolved-days:365}")
+    private int resolvedDays;
+
+    @Value("${app.ticket-archive.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.ticket-archive.max-batches-per-run:20}")
+    private int maxBatchesPerRun;
+
+    @Scheduled(cron = "${app.ticket-archive.cron:0 0 4 * * *}", zone = "UTC")
+    public void archiveResolvedTickets() {
+
+        if (!enabled) {
+            return;
+        }
+
+        clusterLock.runExclusive("ticket-archive", () -> {
+
+            for (int i = 0; i < maxBatchesPerRun; i++) {
+                try {
+                    if (!archiveBatch()) {
+                        break;
+                    }
+                } catch (IOException | RuntimeException e) {
+                    log.error("Ticket archival batch failed: {}", e.getMessage(), e);
+                    break;
+                }
+            }
+        });
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<TicketArchiveIndexEntity> findIndex(UUID ticketId) {
+        return indexRepository.findById(ticketId);
+    }
+
+    public ArchivedTicket readTicket(TicketArchiveIndexEntity index) {
+
+        JsonNode ticket = readRecord(index).path("ticket");
+
+        return new ArchivedTicket(
+                UUID.fromString(ticket.path("id").asText()),
+                text(ticket, "title"),
+                text(ticket, "description"),
+                TicketStatus.valueOf(ticket.path("status").asText()),
+                TicketPriority.valueOf(ticket.path("priority").asText()),
+                uuid(ticket, "owner_id"),
+                uuid(ticket, "assignee_id"),
+                instant(ticket, "created_at"),
+                instant(ticket, "updated_at"),
+                instant(ticket, "resolved_at"),
+                ticket.hasNonNull("rating") ? ticket.get("rating").asInt() : null,
+                text(ticket, "rating_comment"));
+    }
+
+    /**
+     * Puts an archived ticket and its child rows back into the hot tables.
+     * The segment record is left in place and simply stops being indexed.
+     *
+     * @return false if the ticket is not archived
+     */
+    @Transactional
+    public boolean restore(UUID ticketId) {
+
+        Optional<TicketArchiveIndexEntity> index = indexRepository.findForUpdate(ticketId);
+
+        if (index.isEmpty()) {
+            return false;
+        }
+
+        JsonNode record = readRecord(index.get());
+
+        // json_populate_record maps the archived columns back onto the current table types
+        jdbcTemplate.update(
+                "insert into tickets select * from json_populate_record(null::tickets, ?::json)",
+                record.get("ticket").toString());
+
+        jdbcTemplate.update(
+                "insert into ticket_comments select * from json_populate_recordset(null::ticket_comments, ?::json)",
+                record.get("comments").toString());
+
+        jdbcTemplate.update(
+                "insert into ticket_activity select * from json_populate_recordset(null::ticket_activity, ?::json)",
+                record.get("activities").toString());
+
+        jdbcTemplate.update(
+                "insert into ticket_attachments select * from json_populate_recordset(null::ticket_attachments, ?::json)",
+                record.get("attachments").toString());
+
+        indexRepository.delete(index.get());
+
+        log.info("Restored ticket {} from segment {}", ticketId, index.get().getSegmentKey());
+
+        return true;
+    }
+
+    /**
+     * Archives one batch into a new segment.
+     *
+     * @return true if the batch was full and another one may follow
+     */
+    private boolean archiveBatch() throws IOException {
+
+        Instant cutoff = Instant.now().minus(Duration.ofDays(resolvedDays));
+
+        List<Map<String, Object>> candidates = jdbcTemplate.queryForList(
+                CANDIDATES_SQL, Timestamp.from(cutoff), batchSize);
+
+        if (candidates.isEmpty()) {
+            return false;
+        }
+
+        String segmentKey = "tickets/segment-" + Instant.now().toEpochMilli()
+                + "-" + UUID.randomUUID() + ".seg";
+
+        Path tmp = Files.createTempFile("ticket-segment", ".seg");
+        List<PendingEviction> pending = new ArrayList<>();
+
+        try {
+            try (OutputStream out = Files.newOutputStream(tmp)) {
+
+                long offset = 0;
+
+                for (Map<String, Object> candidate : candidates) {
+
+                    UUID id = (UUID) candidate.get("id");
+
+                    Map<String, Object> record = jdbcTemplate.queryForMap(RECORD_SQL, id, id, id, id);
+
+                    byte[] compressed = gzip((String) record.get("body"));
+                    out.write(compressed);
+
+                    pending.add(new PendingEviction(
+                            id,
+                            (UUID) candidate.get("owner_id"),
+                            (UUID) candidate.get("assignee_id"),
+                            (Timestamp) candidate.get("resolved_at"),
+                            (Timestamp) candidate.get("updated_at"),
+                            ((Number) record.get("children")).longValue(),
+                            offset,
+                            compressed.length));
+
+                    offset += compressed.length;
+                }
+            }
+
+            String storedKey = archiveStorage.store(tmp, segmentKey);
+
+            int archived = 0;
+
+            for (PendingEviction p : pending) {
+                try {
+                    if (Boolean.TRUE.equals(transactionTemplate.execute(status -> evict(p, storedKey)))) {
+                        archived++;
+                    }
+                } catch (RuntimeException e) {
+                    log.warn("Could not archive ticket {}: {}", p.ticketId(), e.getMessage());
+                }
+            }
+
+            log.info("Archived {} of {} tickets into {}", archived, pending.size(), storedKey);
+
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+
+        return candidates.size() == batchSize;
+    }
+
+    /**
+     * Deletes the hot rows and indexes the segment record, unless the
+     * ticket changed after it was exported.
+     */
+    private boolean evict(PendingEviction p, String segmentKey) {
+
+        // the row lock also blocks new comments and attachments until we commit
+        List<Timestamp> current = jdbcTemplate.queryForList("""
+                select updated_at from tickets
+                where id = ? and status = 'RESOLVED' and is_deleted = false
+                for update
+                """, Timestamp.class, p.ticketId());
+
+        if (current.isEmpty() || !current.get(0).equals(p.updatedAt())) {
+            return false;
+        }
+
+        Long children = jdbcTemplate.queryForObject(
+                CHILD_COUNT_SQL, Long.class, p.ticketId(), p.ticketId(), p.ticketId());
+
+        if (children == null || children != p.children()) {
+            return false;
+        }
+
+        jdbcTemplate.update("delete from ticket_comments where ticket_id = ?", p.ticketId());
+        jdbcTemplate.update("delete from ticket_activity where ticket_id = ?", p.ticketId());
+        jdbcTemplate.update("delete from ticket_attachments where ticket_id = ?", p.ticketId());
+        jdbcTemplate.update("delete from tickets where id = ?", p.ticketId());
+
+        // the delete bypasses Hibernate, so the second-level cache still holds the ticket
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                entityManagerFactory.getCache().evict(TicketEntity.class, p.ticketId());
+            }
+        });
+
+        jdbcTemplate.update("""
+                insert into ticket_archive_index
+                    (ticket_id, segment_key, record_offset, record_length, owner_id, assignee_id, resolved_at)
+                values (?, ?, ?, ?, ?, ?, ?)
+                """,
+                p.ticketId(),
+                segmentKey,
+                p.offset(),
+                p.length(),
+                p.ownerId(),
+                p.assigneeId(),
+                p.resolvedAt());
+
+        return true;
+    }
+
+    private JsonNode readRecord(TicketArchiveIndexEntity index) {
+
+        try {
+            byte[] compressed = archiveStorage.readRange(
+                    index.getSegmentKey(),
+                    index.getRecordOffset(),
+                    index.getRecordLength());
+
+            try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+                return objectMapper.readTree(in);
+            }
+
+        } catch (IOException e) {
+            throw new UncheckedIOException(
+                    "Failed to read archived ticket " + index.getTicketId(), e);
+        }
+    }
+
+    private byte[] gzip(String body) throws IOException {
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(body.getBytes(StandardCharsets.UTF_8));
+        }
+
+        return bytes.toByteArray();
+    }
+
+    private static String text(JsonNode node, String field) {
+        return node.hasNonNull(field) ? node.get(field).asText() : null;
+    }
+
+    private static UUID uuid(JsonNode node, String field) {
+        return node.hasNonNull(field) ? UUID.fromString(node.get(field).asText()) : null;
+    }
+
+    private static Instant instant(JsonNode node, String field) {
+        return node.hasNonNull(field) ? OffsetDateTime.parse(node.get(field).asText()).toInstant() : null;
+    }
+
+    private record PendingEviction(
+            UUID ticketId,
+            UUID ownerId,
+            UUID assigneeId,
+            Timestamp resolvedAt,
+            Timestamp updatedAt,
+            long children,
+            long offset,
+            int length
+    ) {}
+}
@@ -3,11 +3,16 @@ package com.ticketsmanage.backend.user.controller;
 import com.ticketsmanage.backend.user.dto.UpdateUserRoleRequest;
 import com.ticketsmanage.backend.user.dto.UpdateUserStatusRequest;
 import com.ticketsmanage.backend.user.service.AdminUserService;
+import com.ticketsmanage.backend.user.service.UserImportService;
+import com.ticketsmanage.backend.user.service.UserPhotoService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.UUID;
 import org.springframework.http.MediaType;
 import org.springframework.web.multipart.MultipartFile;
@@ -19,6 +24,8 @@ import org.springframework.web.multipart.MultipartFile;
 public class AdminUserController {
 
     private final AdminUserService adminUserService;
+    private final UserPhotoService userPhotoService;
+    private final UserImportService userImportService;
 
     @PutMapping("/{id}/role")
     public void updateRole(
@@ -38,6 +45,17 @@ public class AdminUserController {
     public void uploadPhoto(
             @PathVariable UUID id,
             @RequestParam("file") MultipartFile file) {
-        adminUserService.updateUserPhoto(id, file);
+        userPhotoService.updatePhoto(id, file);
+    }
+
+    /**
+     * Bulk registration from a CSV or NDJSON request body, streamed in
+     * both directions; the response has one NDJSON result per input line.
+     */
+    @PostMapping(value = "/import", consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE})
+    public void importUsers(
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        userImportService.importUsers(request, response);
     }
 }
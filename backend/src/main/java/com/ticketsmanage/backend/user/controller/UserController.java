@@ -1,8 +1,12 @@
 package com.ticketsmanage.backend.user.controller;
 
+import com.ticketsmanage.backend.common.pagination.CursorPage;
 import com.ticketsmanage.backend.user.dto.AgentStatsResponse;
 import com.ticketsmanage.backend.user.dto.UserResponse;
+import com.ticketsmanage.backend.user.entity.UserRole;
+import com.ticketsmanage.backend.user.service.UserPhotoService;
 import com.ticketsmanage.backend.user.service.UserService;
+import org.springframework.http.ResponseEntity;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
 
@@ -15,17 +19,47 @@ import java.util.UUID;
 public class UserController {
 
     private final UserService userService;
+    private final UserPhotoService userPhotoService;
 
     @GetMapping
     public List<UserResponse> getAllUsers() {
         return userService.getAllUsers();
     }
 
+    /**
+     * Paged and filtered replacement for the full listing above.
+     * {@code q} matches the start of the email, first name or last name.
+     */
+    @GetMapping("/directory")
+    public CursorPage<UserResponse> getDirectory(
+            @RequestParam(required = false) UserRole role,
+            @RequestParam(required = false) Boolean active,
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String order
+    ) {
+        return userService.getDirectory(role, active, q, cursor, limit, order);
+    }
+
     @GetMapping("/{id}")
     public UserResponse getUserById(@PathVariable UUID id) {
         return userService.getUserById(id);
     }
 
+    /**
+     * A resized profile photo. The version in the path changes with every
+     * new photo, so responses are cacheable for a year.
+     */
+    @GetMapping("/{id}/photo/{version}/{size}")
+    public ResponseEntity<byte[]> getPhoto(
+            @PathVariable UUID id,
+            @PathVariable String version,
+            @PathVariable int size
+    ) {
+        return userPhotoService.getVariant(id, version, size);
+    }
+
     @GetMapping("/me")
     public UserResponse getMe(org.springframework.security.core.Authentication authentication) {
         return userService.getCurrentUser(authentication);
@@ -0,0 +1,12 @@
+package com.ticketsmanage.backend.user.dto;
+
+/**
+ * Outcome of one line of a bulk import; line numbers are 1-based and
+ * count the CSV header.
+ */
+public record UserImportResult(
+        long line,
+        String email,
+        UserImportStatus status,
+        String message
+) {}
@@ -0,0 +1,13 @@
+package com.ticketsmanage.backend.user.dto;
+
+/**
+ * One user in a bulk import file. Role defaults to USER; without a
+ * password the user signs in with Google.
+ */
+public record UserImportRow(
+        String email,
+        String firstName,
+        String lastName,
+        String role,
+        String password
+) {}
@@ -0,0 +1,10 @@
+package com.ticketsmanage.backend.user.dto;
+
+public enum UserImportStatus {
+    CREATED,
+    // a user with the email existed before the import
+    EXISTS,
+    // the email already appeared earlier in the same chunk
+    DUPLICATE,
+    INVALID
+}
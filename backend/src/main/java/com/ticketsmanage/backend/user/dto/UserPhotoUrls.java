@@ -0,0 +1,28 @@
+package com.ticketsmanage.backend.user.dto;
+
+import com.ticketsmanage.backend.user.entity.UserEntity;
+
+/**
+ * Sizes of the stored profile photo variants and the URLs they are served at.
+ */
+public final class UserPhotoUrls {
+
+    // edge lengths in pixels of the stored variants
+    public static final int SMALL = 32;
+    public static final int AVATAR = 64;
+    public static final int PROFILE = 256;
+
+    private UserPhotoUrls() {}
+
+    /**
+     * URL of a variant, or null when the user has no processed photo.
+     */
+    public static String of(UserEntity user, int size) {
+
+        if (user.getPhotoVersion() == null) {
+            return null;
+        }
+
+        return "/api/users/" + user.getId() + "/photo/" + user.getPhotoVersion() + "/" + size;
+    }
+}
@@ -1,10 +1,23 @@
 package com.ticketsmanage.backend.user.dto;
 
+import com.ticketsmanage.backend.user.entity.UserEntity;
+
 import java.util.UUID;
 
 public record UserSummaryDto(
         UUID id,
         String email,
         String firstName,
-        String lastName
-) {}
+        String lastName,
+        String avatarUrl
+) {
+
+    public static UserSummaryDto of(UserEntity user) {
+        return new UserSummaryDto(
+                user.getId(),
+                user.getEmail(),
+                user.getFirstName(),
+                user.getLastName(),
+                UserPhotoUrls.of(user, UserPhotoUrls.AVATAR));
+    }
+}
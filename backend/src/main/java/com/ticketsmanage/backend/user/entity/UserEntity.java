@@ -1,13 +1,20 @@
 package com.ticketsmanage.backend.user.entity;
 
+import com.ticketsmanage.backend.config.SecondLevelCacheConfig;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 import java.time.Instant;
 import java.util.UUID;
 
 @Entity
 @Table(name = "users")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.USERS)
+@NaturalIdCache(region = SecondLevelCacheConfig.USERS_BY_EMAIL)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -19,6 +26,8 @@ public class UserEntity {
     @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
 
+    // immutable once saved; looked up through the natural id cache
+    @NaturalId
     @Column(nullable = false, unique = true)
     private String email;
 
@@ -37,6 +46,13 @@ public class UserEntity {
     @Column(name = "profile_picture_url")
     private String profilePictureUrl;
 
+    // hash of the uploaded photo; its resized variants are stored under it
+    @Column(name = "photo_version")
+    private String photoVersion;
+
+    @Column(name = "photo_content_type")
+    private String photoContentType;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private UserRole role;
@@ -0,0 +1,14 @@
+package com.ticketsmanage.backend.user.repository;
+
+import com.ticketsmanage.backend.user.entity.UserEntity;
+
+import java.util.Optional;
+
+public interface UserNaturalIdRepository {
+
+    /**
+     * Loads the user by email through the natural id cache, so a repeat
+     * lookup costs no query.
+     */
+    Optional<UserEntity> findByEmail(String email);
+}
@@ -3,15 +3,18 @@ package com.ticketsmanage.backend.user.repository;
 import com.ticketsmanage.backend.user.entity.UserEntity;
 import com.ticketsmanage.backend.user.entity.UserRole;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 import java.util.UUID;
 
-public interface UserRepository extends JpaRepository<UserEntity, UUID> {
-
-    Optional<UserEntity> findByEmail(String email);
+public interface UserRepository extends JpaRepository<UserEntity, UUID>,
+        JpaSpecificationExecutor<UserEntity>,
+        UserNaturalIdRepository {
 
     Optional<UserEntity> findByGoogleId(String googleId);
 
@@ -20,4 +23,40 @@ public interface UserRepository extends JpaRepository<UserEntity, UUID> {
     Page<UserEntity> findAllByActive(Boolean isActive, Pageable pageable);
 
     boolean existsByRole(UserRole role);
+
+    /**
+     * Admins other than the given user. Every admin row is locked first, in
+     * id order, so concurrent demotions queue behind each other and see
+     * the outcome of the one before instead of each counting the other.
+     */
+    @Query(value = """
+        select count(*)
+        from (
+            select id
+            from users
+            where role = 'ADMIN'
+            order by id
+            for update
+        ) admins
+        where admins.id <> :userId
+    """, nativeQuery = true)
+    long lockAndCountOtherAdmins(@Param("userId") UUID userId);
+
+    /**
+     * Active admins other than the given user, locking the active admin
+     * rows like {@link #lockAndCountOtherAdmins}.
+     */
+    @Query(value = """
+        select count(*)
+        from (
+            select id
+            from users
+            where role = 'ADMIN'
+              and is_active = true
+            order by id
+            for update
+        ) admins
+        where admins.id <> :userId
+    """, nativeQuery = true)
+    long lockAndCountOtherActiveAdmins(@Param("userId") UUID userId);
 }
@@ -0,0 +1,82 @@
+package com.ticketsmanage.backend.user.repository;
+
+import com.ticketsmanage.backend.common.pagination.Cursor;
+import com.ticketsmanage.backend.common.pagination.PageOrder;
+import com.ticketsmanage.backend.user.entity.UserEntity;
+import com.ticketsmanage.backend.user.entity.UserRole;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+public class UserSpecification {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    /**
+     * Directory filters plus the keyset position. The prefix matches the
+     * start of the email, first name or last name, case-insensitively, so
+     * each branch can use its lower(...) text_pattern_ops index.
+     */
+    public static Specification<UserEntity> directory(
+            UserRole role,
+            Boolean active,
+            String prefix,
+            Cursor position,
+            PageOrder order) {
+        return (root, query, criteriaBuilder) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            // Role
+            if (role != null) {
+                predicates.add(criteriaBuilder.equal(root.get("role"), role));
+            }
+
+            // Active
+            if (active != null) {
+                predicates.add(criteriaBuilder.equal(root.get("active"), active));
+            }
+
+            // Name or email prefix
+            if (prefix != null && !prefix.isBlank()) {
+                String pattern = escapeLike(prefix.trim().toLowerCase(Locale.ROOT)) + "%";
+                predicates.add(criteriaBuilder.or(
+                        criteriaBuilder.like(criteriaBuilder.lower(root.get("email")), pattern, LIKE_ESCAPE),
+                        criteriaBuilder.like(criteriaBuilder.lower(root.get("firstName")), pattern, LIKE_ESCAPE),
+                        criteriaBuilder.like(criteriaBuilder.lower(root.get("lastName")), pattern, LIKE_ESCAPE)));
+            }
+
+            // Keyset position on (created_at, id)
+            if (position != null) {
+                Expression<Instant> createdAt = root.get("createdAt");
+                Expression<UUID> id = root.get("id");
+
+                predicates.add(order == PageOrder.OLDEST_FIRST
+                        ? criteriaBuilder.or(
+                                criteriaBuilder.greaterThan(createdAt, position.createdAt()),
+                                criteriaBuilder.and(
+                                        criteriaBuilder.equal(createdAt, position.createdAt()),
+                                        criteriaBuilder.greaterThan(id, position.id())))
+                        : criteriaBuilder.or(
+                                criteriaBuilder.lessThan(createdAt, position.createdAt()),
+                                criteriaBuilder.and(
+                                        criteriaBuilder.equal(createdAt, position.createdAt()),
+                                        criteriaBuilder.lessThan(id, position.id()))));
+            }
+
+            return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    private static String escapeLike(String value) {
+        return value
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+}
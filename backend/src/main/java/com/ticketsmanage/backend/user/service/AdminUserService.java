@@ -1,5 +1,6 @@
 package com.ticketsmanage.backend.user.service;
 
+import com.ticketsmanage.backend.assignment.service.AgentWorkloadTracker;
 import com.ticketsmanage.backend.user.dto.UpdateUserRoleRequest;
 import com.ticketsmanage.backend.user.dto.UpdateUserStatusRequest;
 import com.ticketsmanage.backend.user.entity.UserEntity;
@@ -9,11 +10,6 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import org.springframework.web.multipart.MultipartFile;
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.util.UUID;
 
 @Service
@@ -21,6 +17,7 @@ import java.util.UUID;
 public class AdminUserService {
 
         private final UserRepository userRepository;
+        private final AgentWorkloadTracker agentWorkloadTracker;
 
         @Transactional
         public void updateUserRole(
@@ -34,12 +31,7 @@ public class AdminUserService {
                 if (user.getRole() == UserRole.ADMIN
                                 && request.role() != UserRole.ADMIN) {
 
-                        long adminCount = userRepository.findAll()
-                                        .stream()
-                                        .filter(u -> u.getRole() == UserRole.ADMIN)
-                                        .count();
-
-                        if (adminCount <= 1) {
+                        if (userRepository.lockAndCountOtherAdmins(userId) == 0) {
                                 throw new RuntimeException(
                                                 "Cannot remove the last admin");
                         }
@@ -48,6 +40,8 @@ public class AdminUserService {
                 user.setRole(request.role());
 
                 userRepository.save(user);
+
+                agentWorkloadTracker.userChanged(userId, user.getRole(), user.isActive());
         }
 
         @Transactional
@@ -62,13 +56,7 @@ public class AdminUserService {
                 if (user.getRole() == UserRole.ADMIN
                                 && !request.active()) {
 
-                        long activeAdmins = userRepository.findAll()
-                                        .stream()
-                                        .filter(u -> u.getRole() == UserRole.ADMIN &&
-                                                        u.isActive())
-                                        .count();
-
-                        if (activeAdmins <= 1) {
+                        if (userRepository.lockAndCountOtherActiveAdmins(userId) == 0) {
                                 throw new RuntimeException(
                                                 "Cannot disable the last active admin");
                         }
@@ -77,29 +65,7 @@ public class AdminUserService {
                 user.setActive(request.active());
 
                 userRepository.save(user);
-        }
 
-        @Transactional
-        public void updateUserPhoto(UUID userId, MultipartFile file) {
-                UserEntity user = userRepository.findById(userId)
-                                .orElseThrow(() -> new RuntimeException("User not found"));
-
-                try {
-                        Path userDir = Paths.get("uploads/users").resolve(userId.toString());
-                        Files.createDirectories(userDir);
-
-                        String storedName = UUID.randomUUID() + "_" + file.getOriginalFilename();
-                        Path targetPath = userDir.resolve(storedName);
-
-                        Files.copy(file.getInputStream(), targetPath);
-
-                        // Store the path relative to project root or accessible via API
-                        // Storing absolute string or relative string: "uploads/users/..."
-                        user.setProfilePictureUrl(targetPath.toString());
-                        userRepository.save(user);
-
-                } catch (IOException e) {
-                        throw new RuntimeException("Failed to store file", e);
-                }
+                agentWorkloadTracker.userChanged(userId, user.getRole(), user.isActive());
         }
 }
@@ -0,0 +1,169 @@
+package com.ticketsmanage.backend.user.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ticketsmanage.backend.user.dto.UserImportRow;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads a bulk import file one line at a time, as CSV with a header row or
+ * as NDJSON. A line that cannot be parsed is returned with an error rather
+ * than ending the import. CSV fields may be quoted but not span lines.
+ */
+class UserImportReader {
+
+    record ParsedLine(long line, UserImportRow row, String error) {}
+
+    private final BufferedReader reader;
+    private final ObjectMapper objectMapper;
+    private final boolean csv;
+
+    private Map<String, Integer> columns;
+    private long line;
+
+    UserImportReader(InputStream in, boolean csv, ObjectMapper objectMapper) {
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        this.csv = csv;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * The next non-blank line, or null at the end of the input.
+     */
+    ParsedLine next() throws IOException {
+
+        String text;
+
+        do {
+            text = reader.readLine();
+            line++;
+
+            if (text == null) {
+                return null;
+            }
+
+            // spreadsheet exports often start with a byte order mark
+            if (line == 1 && text.startsWith("\uFEFF")) {
+                text = text.substring(1);
+            }
+
+        } while (text.isBlank());
+
+        if (!csv) {
+            try {
+                return new ParsedLine(line, objectMapper.readValue(text, UserImportRow.class), null);
+            } catch (JsonProcessingException e) {
+                return new ParsedLine(line, null, "Malformed JSON");
+            }
+        }
+
+        if (columns == null) {
+            columns = header(text);
+
+            if (!columns.containsKey("email")) {
+                throw new IllegalArgumentException("CSV header must include an email column");
+            }
+
+            return next();
+        }
+
+        List<String> fields = split(text);
+
+        if (fields == null) {
+            return new ParsedLine(line, null, "Unterminated quoted field");
+        }
+
+        return new ParsedLine(line, new UserImportRow(
+                field(fields, "email"),
+                field(fields, "firstname"),
+                field(fields, "lastname"),
+                field(fields, "role"),
+                field(fields, "password")), null);
+    }
+
+    // first_name, firstName and "First Name" all map to firstname
+    private Map<String, Integer> header(String text) {
+
+        List<String> names = split(text);
+
+        if (names == null) {
+            throw new IllegalArgumentException("Malformed CSV header");
+        }
+
+        Map<String, Integer> byName = new HashMap<>();
+
+        for (int i = 0; i < names.size(); i++) {
+            byName.putIfAbsent(
+                    names.get(i).replaceAll("[\\s_-]", "").toLowerCase(Locale.ROOT),
+                    i);
+        }
+
+        return byName;
+    }
+
+    private String field(List<String> fields, String name) {
+
+        Integer index = columns.get(name);
+
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+
+        String value = fields.get(index).trim();
+
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Splits one CSV line; doubled quotes inside a quoted field are a
+     * literal quote. Returns null if a quote is left open.
+     */
+    private static List<String> split(String text) {
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < text.length(); i++) {
+
+            char c = text.charAt(i);
+
+            if (quoted) {
+                if (c == '"' && i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+
+        if (quoted) {
+            return null;
+        }
+
+        fields.add(current.toString());
+
+        return fields;
+    }
+}
@@ -0,0 +1,375 @@
+package com.ticketsmanage.backend.user.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ticketsmanage.backend.assignment.service.AgentWorkloadTracker;
+import com.ticketsmanage.backend.security.util.SecurityUtils;
+import com.ticketsmanage.backend.user.dto.UserImportResult;
+import com.ticketsmanage.backend.user.dto.UserImportRow;
+import com.ticketsmanage.backend.user.dto.UserImportStatus;
+import com.ticketsmanage.backend.user.entity.UserRole;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registers users in bulk from a streamed CSV or NDJSON file.
+ *
+ * The file is read a chunk at a time. Each chunk costs one IN query for
+ * the emails that already exist, BCrypt hashes for the new users only, run
+ * on a bounded pool, and one JDBC batch insert in its own transaction.
+ * Outcomes are written per line as each chunk commits, so neither the
+ * file nor the results are held in memory. A chunk that collides with a
+ * concurrent registration is checked again and retried.
+ *
+ * The inserts bypass Hibernate, so the entity audit listener never sees
+ * them; each chunk writes its USER_CREATED audit rows itself, in the same
+ * transaction and with the importing admin as actor.
+ */
+@Slf4j
+@Service
+public class UserImportService {
+
+    private static final String EXISTING_SQL = """
+            select email from users where email in (:emails)
+            """;
+
+    private static final String INSERT_SQL = """
+            insert into users (email, password_hash, first_name, last_name, role, is_active)
+            values (?, ?, ?, ?, ?, true)
+            """;
+
+    // the same diff the audit listener records for a created user
+    private static final String AUDIT_SQL = """
+            insert into audit_logs (id, ticket_id, actor_id, action, old_value, new_value, created_at)
+            select gen_random_uuid(), null, :actorId, 'USER_CREATED', null,
+                   jsonb_strip_nulls(jsonb_build_object(
+                           'email', email,
+                           'passwordHash', case when password_hash is null then null else '***' end,
+                           'firstName', first_name,
+                           'lastName', last_name,
+                           'role', role,
+                           'active', is_active)),
+                   now()
+            from users
+            where email in (:emails)
+            """;
+
+    private static final String ACTOR_SQL = """
+            select id from users where email = ?
+            """;
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final ObjectMapper objectMapper;
+    private final AgentWorkloadTracker agentWorkloadTracker;
+    private final ThreadPoolExecutor hashExecutor;
+
+    @Value("${app.users.import.chunk-size:500}")
+    private int chunkSize;
+
+    public UserImportService(
+            JdbcTemplate jdbcTemplate,
+            NamedParameterJdbcTemplate namedJdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            PasswordEncoder passwordEncoder,
+            ObjectMapper objectMapper,
+            AgentWorkloadTracker agentWorkloadTracker,
+            @Value("${app.users.import.hash-threads:4}") int hashThreads,
+            @Value("${app.users.import.hash-queue-capacity:1000}") int queueCapacity
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.passwordEncoder = passwordEncoder;
+        this.objectMapper = objectMapper;
+        this.agentWorkloadTracker = agentWorkloadTracker;
+
+        // BCrypt is deliberately slow; a full queue makes the importing thread hash too
+        this.hashExecutor = new ThreadPoolExecutor(
+                hashThreads,
+                hashThreads,
+                60,
+                TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "user-import-hasher");
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    private record Pending(long line, UserImportRow row, UserRole role, String passwordHash) {
+
+        Pending withHash(String hash) {
+            return new Pending(line, row, role, hash);
+        }
+    }
+
+    /**
+     * Imports the request body and writes one JSON result per line to the
+     * response as NDJSON. The format follows the request content type:
+     * text/csv or application/x-ndjson. Errors in the file itself, such as
+     * a CSV header without an email column, fail the request before any
+     * result is written.
+     */
+    public void importUsers(HttpServletRequest request, HttpServletResponse response) throws IOException {
+
+        UUID actorId = jdbcTemplate.queryForList(ACTOR_SQL, UUID.class, SecurityUtils.getCurrentUsername())
+                .stream()
+                .findFirst()
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        UserImportReader reader = new UserImportReader(
+                request.getInputStream(),
+                isCsv(request.getContentType()),
+                objectMapper);
+
+        OutputStream out = null;
+
+        Map<UserImportStatus, Integer> totals = new HashMap<>();
+        List<UserImportReader.ParsedLine> chunk = new ArrayList<>(chunkSize);
+        UserImportReader.ParsedLine parsed;
+
+        do {
+            parsed = reader.next();
+
+            if (parsed != null) {
+                chunk.add(parsed);
+            }
+
+            if (chunk.size() == chunkSize || (parsed == null && !chunk.isEmpty())) {
+
+                List<UserImportResult> results = importChunk(chunk, actorId);
+
+                if (out == null) {
+                    response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+                    out = response.getOutputStream();
+                }
+
+                for (UserImportResult result : results) {
+                    totals.merge(result.status(), 1, Integer::sum);
+                    out.write(objectMapper.writeValueAsBytes(result));
+                    out.write('\n');
+                }
+
+                out.flush();
+                chunk.clear();
+            }
+
+        } while (parsed != null);
+
+        log.info("User import finished: {}", totals);
+
+        // imported agents have no ids here; a rebuild makes them candidates right away
+        if (totals.containsKey(UserImportStatus.CREATED)) {
+            agentWorkloadTracker.rebuild();
+        }
+    }
+
+    private List<UserImportResult> importChunk(List<UserImportReader.ParsedLine> chunk, UUID actorId) {
+
+        UserImportResult[] results = new UserImportResult[chunk.size()];
+        Map<Integer, Pending> pending = new HashMap<>();
+        Set<String> seen = new HashSet<>();
+
+        for (int i = 0; i < chunk.size(); i++) {
+
+            UserImportReader.ParsedLine parsed = chunk.get(i);
+            UserImportRow row = parsed.row();
+            String email = row == null || row.email() == null ? null : row.email().trim();
+
+            String error = parsed.error() != null ? parsed.error() : validate(row, email);
+
+            if (error != null) {
+                results[i] = new UserImportResult(parsed.line(), email, UserImportStatus.INVALID, error);
+            } else if (!seen.add(email)) {
+                results[i] = new UserImportResult(parsed.line(), email, UserImportStatus.DUPLICATE, null);
+            } else {
+                pending.put(i, new Pending(
+                        parsed.line(),
+                        new UserImportRow(email, row.firstName(), row.lastName(), row.role(), row.password()),
+                        role(row.role()),
+                        null));
+            }
+        }
+
+        markExisting(pending, results);
+        hashPasswords(pending);
+
+        for (int attempt = 1; !pending.isEmpty(); attempt++) {
+            try {
+                insert(pending.values(), actorId);
+
+                pending.forEach((i, p) -> results[i] = new UserImportResult(
+                        p.line(), p.row().email(), UserImportStatus.CREATED, null));
+                pending.clear();
+
+            } catch (DuplicateKeyException e) {
+
+                // someone registered one of the emails since the check
+                if (attempt == MAX_ATTEMPTS) {
+                    throw e;
+                }
+
+                markExisting(pending, results);
+            }
+        }
+
+        return List.of(results);
+    }
+
+    private String validate(UserImportRow row, String email) {
+
+        if (email == null || email.isEmpty()) {
+            return "Email is required";
+        }
+
+        if (email.length() > 255 || email.chars().anyMatch(Character::isWhitespace) || email.indexOf('@') < 1) {
+            return "Invalid email";
+        }
+
+        if (length(row.firstName()) > 100 || length(row.lastName()) > 100) {
+            return "Name longer than 100 characters";
+        }
+
+        try {
+            role(row.role());
+        } catch (IllegalArgumentException e) {
+            return "Unknown role: " + row.role();
+        }
+
+        return null;
+    }
+
+    private int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+
+    private UserRole role(String value) {
+        return value == null || value.isBlank()
+                ? UserRole.USER
+                : UserRole.valueOf(value.trim().toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * Moves rows whose email is taken from pending to EXISTS, with one
+     * IN query for the whole chunk.
+     */
+    private void markExisting(Map<Integer, Pending> pending, UserImportResult[] results) {
+
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        Set<String> existing = new HashSet<>(namedJdbcTemplate.queryForList(
+                EXISTING_SQL,
+                Map.of("emails", pending.values().stream().map(p -> p.row().email()).toList()),
+                String.class));
+
+        pending.entrySet().removeIf(entry -> {
+
+            Pending p = entry.getValue();
+
+            if (!existing.contains(p.row().email())) {
+                return false;
+            }
+
+            results[entry.getKey()] = new UserImportResult(
+                    p.line(), p.row().email(), UserImportStatus.EXISTS, null);
+            return true;
+        });
+    }
+
+    private void hashPasswords(Map<Integer, Pending> pending) {
+
+        Map<Integer, CompletableFuture<String>> hashes = new HashMap<>();
+
+        pending.forEach((i, p) -> {
+            if (p.row().password() != null) {
+                hashes.put(i, CompletableFuture.supplyAsync(
+                        () -> passwordEncoder.encode(p.row().password()),
+                        hashExecutor));
+            }
+        });
+
+        hashes.forEach((i, hash) -> pending.computeIfPresent(i, (k, p) -> p.withHash(hash.join())));
+    }
+
+    private void insert(Iterable<Pending> rows, UUID actorId) {
+
+        List<Pending> batch = new ArrayList<>();
+        rows.forEach(batch::add);
+
+        transactionTemplate.executeWithoutResult(status -> {
+
+            jdbcTemplate.batchUpdate(
+                    INSERT_SQL,
+                    batch,
+                    batch.size(),
+                    (ps, p) -> {
+                        ps.setString(1, p.row().email());
+                        ps.setString(2, p.passwordHash());
+                        ps.setString(3, p.row().firstName());
+                        ps.setString(4, p.row().lastName());
+                        ps.setString(5, p.role().name());
+                    });
+
+            namedJdbcTemplate.update(AUDIT_SQL, new MapSqlParameterSource()
+                    .addValue("actorId", actorId)
+                    .addValue("emails", batch.stream().map(p -> p.row().email()).toList()));
+        });
+    }
+
+    private boolean isCsv(String contentType) {
+
+        if (contentType != null) {
+
+            MediaType type = MediaType.parseMediaType(contentType);
+
+            if (type.isCompatibleWith(MediaType.parseMediaType("text/csv"))) {
+                return true;
+            }
+
+            if (type.isCompatibleWith(MediaType.APPLICATION_NDJSON)) {
+                return false;
+            }
+        }
+
+        throw new IllegalArgumentException("Import must be text/csv or application/x-ndjson");
+    }
+
+    @PreDestroy
+    void shutdown() {
+        hashExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,257 @@
+package com.ticketsmanage.backend.user.service;
+
+import com.ticketsmanage.backend.common.storage.BlobStore;
+import com.ticketsmanage.backend.user.dto.UserPhotoUrls;
+import com.ticketsmanage.backend.user.entity.UserEntity;
+import com.ticketsmanage.backend.user.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Turns uploaded profile photos into small square variants and serves them.
+ *
+ * The original is decoded once, cropped to a centred square and written
+ * at each configured size; the original itself is not kept. Variants live
+ * under a version taken from the upload's SHA-256, so a URL always names
+ * the same bytes and can be cached for a year. A new photo gets a new
+ * version; the previous variants are left to storage reconciliation.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserPhotoService {
+
+    // hex characters of the upload digest used as the version
+    private static final int VERSION_LENGTH = 16;
+
+    private static final List<Integer> SIZES = List.of(
+            UserPhotoUrls.SMALL,
+            UserPhotoUrls.AVATAR,
+            UserPhotoUrls.PROFILE);
+
+    private final UserRepository userRepository;
+    private final BlobStore blobStore;
+
+    @Value("${app.users.photos.max-source-bytes:10485760}")
+    private long maxSourceBytes;
+
+    // guards against decompression bombs: checked from the header before decoding
+    @Value("${app.users.photos.max-source-pixels:50000000}")
+    private long maxSourcePixels;
+
+    /**
+     * Storage key of one variant: users/<id>/<version>/<size>.
+     */
+    public static String variantKey(UUID userId, String version, int size) {
+        return versionPrefix(userId, version) + size;
+    }
+
+    /**
+     * Key prefix shared by all variants of one photo version.
+     */
+    public static String versionPrefix(UUID userId, String version) {
+        return "users/" + userId + "/" + version + "/";
+    }
+
+    @Transactional
+    public void updatePhoto(UUID userId, MultipartFile file) {
+
+        UserEntity user = userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        if (file.getSize() > maxSourceBytes) {
+            throw new MaxUploadSizeExceededException(maxSourceBytes);
+        }
+
+        byte[] original;
+
+        try (InputStream in = file.getInputStream()) {
+            original = in.readAllBytes();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read photo", e);
+        }
+
+        BufferedImage source = decode(original);
+
+        if (source == null) {
+            throw new IllegalArgumentException("Unsupported or oversized image");
+        }
+
+        // JPEG has no alpha channel, transparent images stay PNG
+        boolean alpha = source.getColorModel().hasAlpha();
+        String format = alpha ? "png" : "jpeg";
+        String contentType = alpha ? MediaType.IMAGE_PNG_VALUE : MediaType.IMAGE_JPEG_VALUE;
+
+        BufferedImage square = cropSquare(source);
+        String version = version(original);
+
+        List<CompletableFuture<Void>> writes = new ArrayList<>();
+
+        for (int size : SIZES) {
+            writes.add(blobStore.put(
+                    variantKey(userId, version, size),
+                    encode(scale(square, size, alpha), format),
+                    contentType));
+        }
+
+        BlobStore.await(CompletableFuture.allOf(writes.toArray(CompletableFuture[]::new)));
+
+        user.setPhotoVersion(version);
+        user.setPhotoContentType(contentType);
+        // the raw upload of earlier versions is no longer referenced
+        user.setProfilePictureUrl(null);
+        userRepository.save(user);
+    }
+
+    /**
+     * Serves a variant. Only the current version is served; a stale URL
+     * gets 404 and the client picks up the new one with the user.
+     */
+    @Transactional(readOnly = true)
+    public ResponseEntity<byte[]> getVariant(UUID userId, String version, int size) {
+
+        if (!SIZES.contains(size)) {
+            throw new IllegalArgumentException("Unsupported photo size: " + size);
+        }
+
+        UserEntity user = userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        if (!version.equals(user.getPhotoVersion())) {
+            return ResponseEntity.notFound().build();
+        }
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(user.getPhotoContentType()))
+                .cacheControl(CacheControl.maxAge(Duration.ofDays(365)).cachePrivate().immutable())
+                .eTag(version + "-" + size)
+                .body(BlobStore.await(blobStore.read(variantKey(userId, version, size))));
+    }
+
+    private BufferedImage decode(byte[] bytes) {
+
+        try (ImageInputStream stream = ImageIO.createImageInputStream(new ByteArrayInputStream(bytes))) {
+
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(stream);
+
+            if (!readers.hasNext()) {
+                return null;
+            }
+
+            ImageReader reader = readers.next();
+
+            try {
+                reader.setInput(stream, true, true);
+
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+
+                if ((long) width * height > maxSourcePixels) {
+                    return null;
+                }
+
+                // decode at no more than twice the largest variant, scaling does the rest
+                int step = Math.max(1, Math.min(width, height) / (UserPhotoUrls.PROFILE * 2));
+
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+
+                return reader.read(0, param);
+
+            } finally {
+                reader.dispose();
+            }
+
+        } catch (IOException e) {
+            log.debug("Could not decode photo", e);
+            return null;
+        }
+    }
+
+    private BufferedImage cropSquare(BufferedImage source) {
+
+        int edge = Math.min(source.getWidth(), source.getHeight());
+
+        return source.getSubimage(
+                (source.getWidth() - edge) / 2,
+                (source.getHeight() - edge) / 2,
+                edge,
+                edge);
+    }
+
+    private BufferedImage scale(BufferedImage square, int size, boolean alpha) {
+
+        // never upscale a small photo
+        int edge = Math.min(size, square.getWidth());
+
+        BufferedImage target = new BufferedImage(
+                edge,
+                edge,
+                alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+
+        Graphics2D g = target.createGraphics();
+
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(square, 0, 0, edge, edge, null);
+        } finally {
+            g.dispose();
+        }
+
+        return target;
+    }
+
+    private byte[] encode(BufferedImage image, String format) {
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        try {
+            ImageIO.write(image, format, out);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to encode photo", e);
+        }
+
+        return out.toByteArray();
+    }
+
+    private String version(byte[] bytes) {
+        try {
+            return HexFormat.of()
+                    .formatHex(MessageDigest.getInstance("SHA-256").digest(bytes))
+                    .substring(0, VERSION_LENGTH);
+
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -1,15 +1,22 @@
 package com.ticketsmanage.backend.user.service;
 
+import com.ticketsmanage.backend.common.pagination.Cursor;
+import com.ticketsmanage.backend.common.pagination.CursorPage;
+import com.ticketsmanage.backend.common.pagination.PageOrder;
 import com.ticketsmanage.backend.ticket.entity.TicketEntity;
 import com.ticketsmanage.backend.ticket.entity.TicketStatus;
 import com.ticketsmanage.backend.ticket.repository.TicketRepository;
 import com.ticketsmanage.backend.user.dto.AgentStatsResponse;
+import com.ticketsmanage.backend.user.dto.UserPhotoUrls;
 import com.ticketsmanage.backend.user.dto.UserResponse;
 import com.ticketsmanage.backend.user.entity.UserEntity;
+import com.ticketsmanage.backend.user.entity.UserRole;
 import com.ticketsmanage.backend.user.repository.UserRepository;
+import com.ticketsmanage.backend.user.repository.UserSpecification;
 import org.springframework.security.core.Authentication;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.UUID;
@@ -28,6 +35,37 @@ public class UserService {
                 .toList();
     }
 
+    /**
+     * Keyset page of the user directory, filtered by role, active flag and
+     * a prefix of the email or either name. Fetches one row past the page
+     * instead of counting the matches.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<UserResponse> getDirectory(
+            UserRole role,
+            Boolean active,
+            String prefix,
+            String cursor,
+            Integer limit,
+            String order
+    ) {
+
+        int pageSize = CursorPage.clampLimit(limit);
+        PageOrder pageOrder = PageOrder.parse(order);
+
+        List<UserEntity> rows = userRepository.findBy(
+                UserSpecification.directory(role, active, prefix, Cursor.decode(cursor), pageOrder),
+                q -> q.sortBy(pageOrder.pageable(pageSize).getSort())
+                        .limit(pageSize + 1)
+                        .all());
+
+        return CursorPage.of(
+                rows,
+                pageSize,
+                u -> new Cursor(u.getCreatedAt(), u.getId()),
+                this::toResponse);
+    }
+
     public UserResponse getUserById(UUID id) {
         UserEntity user = userRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("User not found"));
@@ -52,7 +90,7 @@ public class UserService {
                 user.getLastName(),
                 user.getRole(),
                 user.isActive(),
-                user.getProfilePictureUrl());
+                UserPhotoUrls.of(user, UserPhotoUrls.PROFILE));
     }
 
     public AgentStatsResponse getAgentStats(Authentication authentication) {
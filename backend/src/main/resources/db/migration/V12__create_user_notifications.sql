@@ -0,0 +1,51 @@
+CREATE TABLE user_notifications (
+
+    id UUID PRIMARY KEY,
+
+    user_id UUID NOT NULL,
+
+    ticket_id UUID,
+
+    type VARCHAR(50) NOT NULL,
+
+    message TEXT NOT NULL,
+
+    is_read BOOLEAN NOT NULL DEFAULT FALSE,
+
+    created_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+
+    CONSTRAINT fk_notification_user
+        FOREIGN KEY (user_id)
+        REFERENCES users(id)
+        ON DELETE CASCADE,
+
+    CONSTRAINT fk_notification_ticket
+        FOREIGN KEY (ticket_id)
+        REFERENCES tickets(id)
+        ON DELETE CASCADE
+);
+
+-- Inbox keyset scan: newest first per user
+CREATE INDEX idx_user_notifications_inbox
+    ON user_notifications(user_id, created_at DESC, id DESC);
+
+-- Mark-all-read only touches unread rows
+CREATE INDEX idx_user_notifications_unread
+    ON user_notifications(user_id)
+    WHERE is_read = FALSE;
+
+-- Unread badge counters, maintained on every insert / mark-read
+-- so the badge never needs a COUNT over user_notifications
+CREATE TABLE user_notification_counters (
+
+    user_id UUID PRIMARY KEY,
+
+    unread_count BIGINT NOT NULL DEFAULT 0,
+
+    version BIGINT NOT NULL DEFAULT 0,
+
+    CONSTRAINT fk_notification_counter_user
+        FOREIGN KEY (user_id)
+        REFERENCES users(id)
+        ON DELETE CASCADE
+);
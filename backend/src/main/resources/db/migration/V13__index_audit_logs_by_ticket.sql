@@ -0,0 +1,3 @@
+-- Keyset pagination for /api/audit-logs/ticket/{id}
+CREATE INDEX IF NOT EXISTS idx_audit_logs_ticket_created
+    ON audit_logs(ticket_id, created_at DESC, id DESC);
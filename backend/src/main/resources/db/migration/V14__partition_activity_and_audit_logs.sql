@@ -0,0 +1,204 @@
+-- Monthly range partitioning for ticket_activity and audit_logs.
+-- Partitions are named <table>_pYYYY_MM and cover [month start, next month start) in UTC.
+-- PartitionMaintenanceService keeps creating them ahead and archives expired ones.
+
+CREATE OR REPLACE FUNCTION create_monthly_partition(parent TEXT, month_start DATE)
+RETURNS TEXT AS $$
+DECLARE
+    start_date DATE := date_trunc('month', month_start)::date;
+    end_date DATE := (date_trunc('month', month_start) + INTERVAL '1 month')::date;
+    child TEXT := format('%s_p%s', parent, to_char(start_date, 'YYYY_MM'));
+BEGIN
+    EXECUTE format(
+        'CREATE TABLE IF NOT EXISTS %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)',
+        child,
+        parent,
+        start_date::timestamp AT TIME ZONE 'UTC',
+        end_date::timestamp AT TIME ZONE 'UTC');
+    RETURN child;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Drops the primary key of a table so its index name can be reused
+CREATE OR REPLACE FUNCTION drop_primary_key(target REGCLASS)
+RETURNS VOID AS $$
+DECLARE
+    pk TEXT;
+BEGIN
+    SELECT conname INTO pk
+    FROM pg_constraint
+    WHERE conrelid = target AND contype = 'p';
+
+    IF pk IS NOT NULL THEN
+        EXECUTE format('ALTER TABLE %s DROP CONSTRAINT %I', target, pk);
+    END IF;
+END;
+$$ LANGUAGE plpgsql;
+
+-- TICKET ACTIVITY
+
+ALTER TABLE ticket_activity RENAME TO ticket_activity_legacy;
+SELECT drop_primary_key('ticket_activity_legacy');
+
+CREATE TABLE ticket_activity (
+
+    id UUID NOT NULL,
+
+    ticket_id UUID NOT NULL,
+
+    actor_id UUID NOT NULL,
+
+    action VARCHAR(50) NOT NULL,
+
+    old_value TEXT,
+
+    new_value TEXT,
+
+    details TEXT,
+
+    created_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+
+    -- the partition key must be part of the primary key
+    PRIMARY KEY (id, created_at),
+
+    CONSTRAINT fk_activity_ticket
+        FOREIGN KEY (ticket_id)
+        REFERENCES tickets(id),
+
+    CONSTRAINT fk_activity_actor
+        FOREIGN KEY (actor_id)
+        REFERENCES users(id)
+
+) PARTITION BY RANGE (created_at);
+
+CREATE TABLE ticket_activity_default PARTITION OF ticket_activity DEFAULT;
+
+DO $$
+DECLARE
+    m DATE;
+BEGIN
+    m := date_trunc('month',
+            COALESCE((SELECT min(created_at) FROM ticket_activity_legacy), now())
+            AT TIME ZONE 'UTC')::date;
+
+    WHILE m <= (date_trunc('month', now() AT TIME ZONE 'UTC') + INTERVAL '3 months')::date LOOP
+        PERFORM create_monthly_partition('ticket_activity', m);
+        m := (m + INTERVAL '1 month')::date;
+    END LOOP;
+END $$;
+
+INSERT INTO ticket_activity (id, ticket_id, actor_id, action, old_value, new_value, details, created_at)
+SELECT id, ticket_id, actor_id, action, old_value, new_value, details, created_at
+FROM ticket_activity_legacy;
+
+DROP TABLE ticket_activity_legacy;
+
+CREATE INDEX idx_ticket_activity_ticket_created
+    ON ticket_activity(ticket_id, created_at, id);
+
+-- AUDIT LOGS
+
+ALTER TABLE audit_logs RENAME TO audit_logs_legacy;
+SELECT drop_primary_key('audit_logs_legacy');
+DROP INDEX IF EXISTS idx_audit_logs_ticket_created;
+
+CREATE TABLE audit_logs (
+
+    id UUID NOT NULL DEFAULT gen_random_uuid(),
+
+    ticket_id UUID,
+
+    actor_id UUID NOT NULL,
+
+    action VARCHAR(100) NOT NULL,
+
+    old_value JSONB,
+
+    new_value JSONB,
+
+    created_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+
+    PRIMARY KEY (id, created_at),
+
+    CONSTRAINT fk_audit_ticket
+        FOREIGN KEY (ticket_id)
+        REFERENCES tickets(id),
+
+    CONSTRAINT fk_audit_actor
+        FOREIGN KEY (actor_id)
+        REFERENCES users(id)
+
+) PARTITION BY RANGE (created_at);
+
+CREATE TABLE audit_logs_default PARTITION OF audit_logs DEFAULT;
+
+DO $$
+DECLARE
+    m DATE;
+BEGIN
+    m := date_trunc('month',
+            COALESCE((SELECT min(created_at) FROM audit_logs_legacy), now())
+            AT TIME ZONE 'UTC')::date;
+
+    WHILE m <= (date_trunc('month', now() AT TIME ZONE 'UTC') + INTERVAL '3 months')::date LOOP
+        PERFORM create_monthly_partition('audit_logs', m);
+        m := (m + INTERVAL '1 month')::date;
+    END LOOP;
+END $$;
+
+INSERT INTO audit_logs (id, ticket_id, actor_id, action, old_value, new_value, created_at)
+SELECT id, ticket_id, actor_id, action, old_value, new_value, created_at
+FROM audit_logs_legacy;
+
+DROP TABLE audit_logs_legacy;
+
+CREATE INDEX idx_audit_logs_ticket_created
+    ON audit_logs(ticket_id, created_at DESC, id DESC);
+
+-- ARCHIVED PARTITIONS
+
+CREATE TABLE partition_archives (
+
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+
+    parent_table VARCHAR(100) NOT NULL,
+
+    partition_name VARCHAR(100) NOT NULL UNIQUE,
+
+    range_start TIMESTAMPTZ NOT NULL,
+
+    range_end TIMESTAMPTZ NOT NULL,
+
+    storage_key TEXT NOT NULL,
+
+    row_count BIGINT NOT NULL,
+
+    archived_at TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+
+CREATE INDEX idx_partition_archives_parent_range
+    ON partition_archives(parent_table, range_end);
+
+-- Archives are written one gzip member per ticket. Each row locates the
+-- member holding a ticket's rows, so reading a ticket's archived history
+-- is a ranged read per archive rather than a download of every archive.
+
+CREATE TABLE partition_archive_tickets (
+
+    ticket_id UUID NOT NULL,
+
+    archive_id UUID NOT NULL
+        REFERENCES partition_archives(id) ON DELETE CASCADE,
+
+    record_offset BIGINT NOT NULL,
+
+    record_length INTEGER NOT NULL,
+
+    row_count INTEGER NOT NULL,
+
+    first_created_at TIMESTAMPTZ NOT NULL,
+
+    last_created_at TIMESTAMPTZ NOT NULL,
+
+    PRIMARY KEY (ticket_id, archive_id)
+);
@@ -0,0 +1,8 @@
+-- Keyset pagination for comments and attachments on (created_at, id);
+-- btree indexes serve both scan directions
+CREATE INDEX IF NOT EXISTS idx_ticket_comments_ticket_created
+    ON ticket_comments(ticket_id, created_at, id);
+
+CREATE INDEX IF NOT EXISTS idx_ticket_attachments_ticket_created
+    ON ticket_attachments(ticket_id, created_at, id)
+    WHERE deleted = false;
@@ -0,0 +1,36 @@
+-- Cold storage for long-resolved tickets.
+-- Each archived ticket (with its comments, activity and attachment rows)
+-- is one gzip record in an append-only segment file; this table says where.
+
+CREATE TABLE ticket_archive_index (
+
+    ticket_id UUID PRIMARY KEY,
+
+    segment_key TEXT NOT NULL,
+
+    record_offset BIGINT NOT NULL,
+
+    record_length INTEGER NOT NULL,
+
+    -- kept here so access checks do not need to read the segment
+    owner_id UUID NOT NULL,
+
+    assignee_id UUID,
+
+    resolved_at TIMESTAMPTZ,
+
+    archived_at TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+
+CREATE INDEX idx_ticket_archive_segment
+    ON ticket_archive_index(segment_key);
+
+-- Archival candidates
+CREATE INDEX idx_tickets_resolved_at
+    ON tickets(resolved_at)
+    WHERE status = 'RESOLVED' AND is_deleted = false;
+
+-- Audit history and inbox entries outlive the hot ticket row
+ALTER TABLE audit_logs DROP CONSTRAINT IF EXISTS fk_audit_ticket;
+
+ALTER TABLE user_notifications DROP CONSTRAINT IF EXISTS fk_notification_ticket;
@@ -0,0 +1,3 @@
+-- SHA-256 computed while the upload streams through
+ALTER TABLE ticket_attachments
+    ADD COLUMN IF NOT EXISTS checksum_sha256 VARCHAR(64);
@@ -0,0 +1,3 @@
+-- completing a presigned upload checks the key has not been recorded yet
+CREATE INDEX IF NOT EXISTS idx_ticket_attachments_storage_path
+    ON ticket_attachments (storage_path);
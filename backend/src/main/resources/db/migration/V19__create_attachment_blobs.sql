@@ -0,0 +1,15 @@
+-- content-addressed attachment bytes, shared by every attachment with the same SHA-256
+CREATE TABLE IF NOT EXISTS attachment_blobs (
+    sha256       VARCHAR(64) PRIMARY KEY,
+    storage_path TEXT        NOT NULL,
+    size_bytes   BIGINT      NOT NULL,
+    ref_count    INTEGER     NOT NULL,
+    created_at   TIMESTAMPTZ NOT NULL DEFAULT now(),
+    released_at  TIMESTAMPTZ,
+    CONSTRAINT chk_attachment_blobs_ref_count CHECK (ref_count >= 0)
+);
+
+-- garbage collection only looks at unreferenced blobs
+CREATE INDEX IF NOT EXISTS idx_attachment_blobs_unreferenced
+    ON attachment_blobs (released_at)
+    WHERE ref_count = 0;
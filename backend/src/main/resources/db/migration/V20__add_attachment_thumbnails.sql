@@ -0,0 +1,3 @@
+-- thumbnails are stored next to the original; null until one has been generated
+ALTER TABLE ticket_attachments
+    ADD COLUMN IF NOT EXISTS thumbnail_content_type VARCHAR(32);
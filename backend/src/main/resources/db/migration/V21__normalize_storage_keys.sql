@@ -0,0 +1,13 @@
+-- local files used to be recorded as paths under the working directory;
+-- storage keys are now relative to the store's root on every backend
+UPDATE ticket_attachments
+SET storage_path = substring(storage_path from 9)
+WHERE storage_path LIKE 'uploads/%';
+
+UPDATE attachment_blobs
+SET storage_path = substring(storage_path from 9)
+WHERE storage_path LIKE 'uploads/%';
+
+UPDATE users
+SET profile_picture_url = substring(profile_picture_url from 9)
+WHERE profile_picture_url LIKE 'uploads/%';
@@ -0,0 +1,8 @@
+-- text-like uploads may be stored compressed; file_size and checksum_sha256
+-- keep describing the original content
+ALTER TABLE ticket_attachments
+    ADD COLUMN IF NOT EXISTS content_encoding VARCHAR(16),
+    ADD COLUMN IF NOT EXISTS stored_size BIGINT;
+
+ALTER TABLE attachment_blobs
+    ADD COLUMN IF NOT EXISTS content_encoding VARCHAR(16);
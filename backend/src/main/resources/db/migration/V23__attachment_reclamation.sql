@@ -0,0 +1,24 @@
+-- soft-deleted attachments are hard-deleted once deleted_at is past the grace period;
+-- rows deleted before this column existed start their grace period now
+ALTER TABLE ticket_attachments
+    ADD COLUMN IF NOT EXISTS deleted_at TIMESTAMPTZ;
+
+UPDATE ticket_attachments
+SET deleted_at = now()
+WHERE deleted = true
+  AND deleted_at IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_ticket_attachments_reclaimable
+    ON ticket_attachments (deleted_at)
+    WHERE deleted = true;
+
+-- reconciliation looks stored keys up by path
+CREATE INDEX IF NOT EXISTS idx_attachment_blobs_storage_path
+    ON attachment_blobs (storage_path);
+
+-- where the orphan scan of each key prefix stopped, so runs pick up from there
+CREATE TABLE IF NOT EXISTS storage_reconcile_cursors (
+    prefix     TEXT PRIMARY KEY,
+    last_key   TEXT,
+    updated_at TIMESTAMPTZ NOT NULL DEFAULT now()
+);
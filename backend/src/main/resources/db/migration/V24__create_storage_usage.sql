@@ -0,0 +1,30 @@
+-- running attachment totals per uploader (USER) and per ticket (TICKET), in
+-- original bytes of live attachments; updated with each upload and delete
+-- and recounted periodically to correct drift
+CREATE TABLE IF NOT EXISTS storage_usage (
+    scope            VARCHAR(8)  NOT NULL,
+    owner_id         UUID        NOT NULL,
+    bytes            BIGINT      NOT NULL DEFAULT 0,
+    attachment_count INTEGER     NOT NULL DEFAULT 0,
+    updated_at       TIMESTAMPTZ NOT NULL DEFAULT now(),
+    PRIMARY KEY (scope, owner_id),
+    CONSTRAINT chk_storage_usage_bytes CHECK (bytes >= 0)
+);
+
+-- top consumers per scope
+CREATE INDEX IF NOT EXISTS idx_storage_usage_bytes
+    ON storage_usage (scope, bytes DESC);
+
+INSERT INTO storage_usage (scope, owner_id, bytes, attachment_count)
+SELECT 'USER', uploaded_by, sum(file_size), count(*)
+FROM ticket_attachments
+WHERE deleted = false
+GROUP BY uploaded_by
+ON CONFLICT DO NOTHING;
+
+INSERT INTO storage_usage (scope, owner_id, bytes, attachment_count)
+SELECT 'TICKET', ticket_id, sum(file_size), count(*)
+FROM ticket_attachments
+WHERE deleted = false
+GROUP BY ticket_id
+ON CONFLICT DO NOTHING;
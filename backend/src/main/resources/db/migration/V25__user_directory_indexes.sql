@@ -0,0 +1,18 @@
+-- user directory: keyset pages on (created_at, id), optionally narrowed by
+-- role and active flag; the role-leading index also serves the admin counts
+CREATE INDEX IF NOT EXISTS idx_users_created_at
+    ON users (created_at, id);
+
+CREATE INDEX IF NOT EXISTS idx_users_role_active_created_at
+    ON users (role, is_active, created_at, id);
+
+-- case-insensitive prefix search; text_pattern_ops lets LIKE 'abc%' use the
+-- index whatever the database collation
+CREATE INDEX IF NOT EXISTS idx_users_email_prefix
+    ON users (lower(email) text_pattern_ops);
+
+CREATE INDEX IF NOT EXISTS idx_users_first_name_prefix
+    ON users (lower(first_name) text_pattern_ops);
+
+CREATE INDEX IF NOT EXISTS idx_users_last_name_prefix
+    ON users (lower(last_name) text_pattern_ops);
@@ -0,0 +1,6 @@
+-- profile photos are stored as resized variants under users/<id>/<version>/<size>;
+-- profile_picture_url is no longer written: rows that still hold a raw upload
+-- are only cleanup targets, cleared on the next upload and then reclaimed
+ALTER TABLE users
+    ADD COLUMN IF NOT EXISTS photo_version VARCHAR(64),
+    ADD COLUMN IF NOT EXISTS photo_content_type VARCHAR(100);
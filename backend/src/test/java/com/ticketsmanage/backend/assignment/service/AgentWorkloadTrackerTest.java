@@ -0,0 +1,138 @@
+package com.ticketsmanage.backend.assignment.service;
+
+import com.ticketsmanage.backend.ticket.entity.TicketPriority;
+import com.ticketsmanage.backend.ticket.entity.TicketStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AgentWorkloadTrackerTest {
+
+    private static final UUID AGENT = UUID.randomUUID();
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final AgentWorkloadTracker tracker = new AgentWorkloadTracker(jdbcTemplate);
+
+    // committed OPEN/MEDIUM tickets the load query reports for the agent
+    private int committed;
+    private Runnable duringLoad = () -> {};
+
+    @BeforeEach
+    void setUp() throws Exception {
+
+        ReflectionTestUtils.setField(tracker, "priorityWeights", List.of(1, 2, 3, 5));
+
+        when(jdbcTemplate.queryForList(anyString(), eq(UUID.class))).thenReturn(List.of(AGENT));
+
+        doAnswer(invocation -> {
+            duringLoad.run();
+
+            if (committed > 0) {
+                ResultSet rs = mock(ResultSet.class);
+                when(rs.getObject("assignee_id", UUID.class)).thenReturn(AGENT);
+                when(rs.getString("status")).thenReturn("OPEN");
+                when(rs.getString("priority")).thenReturn("MEDIUM");
+                when(rs.getInt("tickets")).thenReturn(committed);
+
+                invocation.getArgument(1, RowCallbackHandler.class).processRow(rs);
+            }
+
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class));
+
+        tracker.rebuild();
+    }
+
+    @AfterEach
+    void tearDown() {
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void keepsMovesMadeWhileTheRebuildReads() {
+
+        committed = 2;
+        duringLoad = () -> tracker.move(null, null, AGENT, TicketStatus.OPEN, TicketPriority.MEDIUM);
+
+        tracker.rebuild();
+
+        assertThat(openMedium()).isEqualTo(3);
+    }
+
+    @Test
+    void dropsRollbackOfAMoveTheRebuildNeverSaw() {
+
+        TransactionSynchronizationManager.initSynchronization();
+        tracker.move(null, null, AGENT, TicketStatus.OPEN, TicketPriority.MEDIUM);
+
+        committed = 2;
+        tracker.rebuild();
+
+        rollBack();
+
+        assertThat(openMedium()).isEqualTo(2);
+    }
+
+    @Test
+    void undoesRollbackOfAMoveReplayedOntoTheRebuild() {
+
+        committed = 2;
+        duringLoad = () -> {
+            TransactionSynchronizationManager.initSynchronization();
+            tracker.move(null, null, AGENT, TicketStatus.OPEN, TicketPriority.MEDIUM);
+            rollBack();
+        };
+
+        tracker.rebuild();
+
+        assertThat(openMedium()).isEqualTo(2);
+    }
+
+    @Test
+    void doesNotReplayRollbackOfAMoveFromBeforeTheRebuild() {
+
+        TransactionSynchronizationManager.initSynchronization();
+        tracker.move(null, null, AGENT, TicketStatus.OPEN, TicketPriority.MEDIUM);
+
+        committed = 2;
+        duringLoad = this::rollBack;
+
+        tracker.rebuild();
+
+        assertThat(openMedium()).isEqualTo(2);
+    }
+
+    private void rollBack() {
+
+        List<TransactionSynchronization> synchronizations =
+                TransactionSynchronizationManager.getSynchronizations();
+
+        TransactionSynchronizationManager.clearSynchronization();
+
+        synchronizations.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+    }
+
+    private int openMedium() {
+        return tracker.snapshot().get(0).open().get(TicketPriority.MEDIUM);
+    }
+}
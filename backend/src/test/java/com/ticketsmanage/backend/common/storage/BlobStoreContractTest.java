@@ -0,0 +1,246 @@
+package com.ticketsmanage.backend.common.storage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Behaviour every {@link BlobStore} must share; each implementation runs
+ * it through a subclass that supplies the store.
+ */
+abstract class BlobStoreContractTest {
+
+    protected BlobStore store;
+
+    protected abstract BlobStore createStore() throws Exception;
+
+    @BeforeEach
+    void createBlobStore() throws Exception {
+        store = createStore();
+    }
+
+    @Test
+    void putBytesThenReadBack() {
+
+        byte[] content = bytes(4096);
+
+        BlobStore.await(store.put("contract/bytes", content, "application/octet-stream"));
+
+        assertThat(BlobStore.await(store.read("contract/bytes"))).isEqualTo(content);
+    }
+
+    @Test
+    void putStreamOfKnownLengthThenOpen() throws Exception {
+
+        byte[] content = bytes(100_000);
+
+        BlobStore.await(store.put(
+                "contract/known", new ByteArrayInputStream(content), (long) content.length, "text/plain"));
+
+        try (InputStream in = BlobStore.await(store.open("contract/known"))) {
+            assertThat(in.readAllBytes()).isEqualTo(content);
+        }
+    }
+
+    @Test
+    void putStreamOfUnknownLength() {
+
+        byte[] content = bytes(70_000);
+
+        BlobStore.await(store.put("contract/unknown", new ByteArrayInputStream(content), null, "text/plain"));
+
+        assertThat(BlobStore.await(store.read("contract/unknown"))).isEqualTo(content);
+    }
+
+    @Test
+    void putReplacesExistingObject() {
+
+        BlobStore.await(store.put("contract/replace", "first".getBytes(StandardCharsets.UTF_8), "text/plain"));
+        BlobStore.await(store.put("contract/replace", "second".getBytes(StandardCharsets.UTF_8), "text/plain"));
+
+        assertThat(new String(BlobStore.await(store.read("contract/replace")), StandardCharsets.UTF_8))
+                .isEqualTo("second");
+    }
+
+    @Test
+    void emptyObjectRoundTrips() throws Exception {
+
+        BlobStore.await(store.put("contract/empty", new byte[0], "text/plain"));
+
+        assertThat(BlobStore.await(store.read("contract/empty"))).isEmpty();
+
+        try (InputStream in = BlobStore.await(store.open("contract/empty"))) {
+            assertThat(in.readAllBytes()).isEmpty();
+        }
+
+        assertThat(BlobStore.await(store.head("contract/empty")))
+                .hasValueSatisfying(m -> assertThat(m.size()).isZero());
+    }
+
+    @Test
+    void missingKeyFailsWithNoSuchFile() {
+
+        assertThatThrownBy(() -> BlobStore.await(store.open("contract/missing")))
+                .hasRootCauseInstanceOf(NoSuchFileException.class);
+
+        assertThatThrownBy(() -> BlobStore.await(store.read("contract/missing")))
+                .hasRootCauseInstanceOf(NoSuchFileException.class);
+    }
+
+    @Test
+    void readRangeReturnsTheRequestedBytes() {
+
+        byte[] content = bytes(50_000);
+
+        BlobStore.await(store.put("contract/range", content, "application/octet-stream"));
+
+        assertThat(BlobStore.await(store.readRange("contract/range", 12_345, 1000)))
+                .isEqualTo(slice(content, 12_345, 1000));
+        assertThat(BlobStore.await(store.readRange("contract/range", 0, 1)))
+                .isEqualTo(slice(content, 0, 1));
+        assertThat(BlobStore.await(store.readRange("contract/range", content.length - 10, 10)))
+                .isEqualTo(slice(content, content.length - 10, 10));
+    }
+
+    @Test
+    void readRangePastTheEndFails() {
+
+        BlobStore.await(store.put("contract/short", bytes(100), "application/octet-stream"));
+
+        assertThatThrownBy(() -> BlobStore.await(store.readRange("contract/short", 90, 20)))
+                .isInstanceOf(UncheckedIOException.class)
+                .hasRootCauseInstanceOf(EOFException.class);
+    }
+
+    @Test
+    void headReportsSizeAndChecksumWhenKnown() throws Exception {
+
+        byte[] content = bytes(2048);
+
+        BlobStore.await(store.put("contract/head", content, "application/octet-stream"));
+
+        Optional<BlobMetadata> metadata = BlobStore.await(store.head("contract/head"));
+
+        assertThat(metadata).isPresent();
+        assertThat(metadata.get().size()).isEqualTo(content.length);
+
+        // stores that keep no checksum report none rather than a wrong one
+        if (metadata.get().checksumSha256() != null) {
+            assertThat(metadata.get().checksumSha256()).isEqualTo(sha256(content));
+        }
+
+        assertThat(BlobStore.await(store.head("contract/no-such-key"))).isEmpty();
+    }
+
+    @Test
+    void deleteRemovesAndToleratesMissingKeys() {
+
+        BlobStore.await(store.put("contract/delete", bytes(10), "text/plain"));
+
+        BlobStore.await(store.delete("contract/delete"));
+        BlobStore.await(store.delete("contract/delete"));
+
+        assertThat(BlobStore.await(store.head("contract/delete"))).isEmpty();
+    }
+
+    @Test
+    void deleteAllRemovesEveryKey() {
+
+        List<String> keys = List.of("contract/all/a", "contract/all/b", "contract/all/c");
+
+        keys.forEach(key -> BlobStore.await(store.put(key, bytes(10), "text/plain")));
+
+        List<String> failed = BlobStore.await(store.deleteAll(
+                List.of("contract/all/a", "contract/all/b", "contract/all/c", "contract/all/missing")));
+
+        assertThat(failed).isEmpty();
+        keys.forEach(key -> assertThat(BlobStore.await(store.head(key))).isEmpty());
+    }
+
+    @Test
+    void listPagesThroughAPrefixInKeyOrder() {
+
+        for (String key : List.of("contract/list/c", "contract/list/a", "contract/list/b", "contract/other/x")) {
+            BlobStore.await(store.put(key, bytes(7), "text/plain"));
+        }
+
+        List<BlobListing> first = BlobStore.await(store.list("contract/list/", null, 2));
+
+        assertThat(first).extracting(BlobListing::key).containsExactly("contract/list/a", "contract/list/b");
+        assertThat(first).allSatisfy(listing -> {
+            assertThat(listing.size()).isEqualTo(7);
+            assertThat(listing.lastModified()).isNotNull();
+        });
+
+        assertThat(BlobStore.await(store.list("contract/list/", "contract/list/b", 2)))
+                .extracting(BlobListing::key)
+                .containsExactly("contract/list/c");
+
+        assertThat(BlobStore.await(store.list("contract/list/", "contract/list/c", 2))).isEmpty();
+        assertThat(BlobStore.await(store.list("contract/none/", null, 10))).isEmpty();
+    }
+
+    @Test
+    void localPathWhenPresentHoldsTheObject() throws Exception {
+
+        byte[] content = bytes(512);
+
+        BlobStore.await(store.put("contract/local", content, "text/plain"));
+
+        Optional<Path> path = store.localPath("contract/local");
+
+        if (path.isPresent()) {
+            assertThat(Files.readAllBytes(path.get())).isEqualTo(content);
+        }
+    }
+
+    @Test
+    void operationsCanOverlap() {
+
+        List<CompletableFuture<Void>> writes = List.of(
+                store.put("contract/overlap/1", bytes(1000), "text/plain"),
+                store.put("contract/overlap/2", bytes(2000), "text/plain"),
+                store.put("contract/overlap/3", bytes(3000), "text/plain"));
+
+        CompletableFuture.allOf(writes.toArray(CompletableFuture[]::new)).join();
+
+        assertThat(BlobStore.await(store.list("contract/overlap/", null, 10))).hasSize(3);
+    }
+
+    protected static byte[] bytes(int size) {
+
+        byte[] content = new byte[size];
+        new Random(size).nextBytes(content);
+
+        return content;
+    }
+
+    protected static byte[] slice(byte[] content, int offset, int length) {
+
+        byte[] range = new byte[length];
+        System.arraycopy(content, offset, range, 0, length);
+
+        return range;
+    }
+
+    private static String sha256(byte[] content) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+    }
+}
@@ -0,0 +1,92 @@
+package com.ticketsmanage.backend.common.storage;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.NoSuchFileException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps every object on the heap, for tests.
+ */
+public class InMemoryBlobStore implements BlobStore {
+
+    private record Stored(byte[] content, String contentType, Instant storedAt) {
+    }
+
+    private final Map<String, Stored> objects = new ConcurrentHashMap<>();
+
+    @Override
+    public CompletableFuture<Void> put(
+            String key,
+            InputStream content,
+            Long contentLength,
+            String contentType) {
+
+        try {
+            return put(key, content.readAllBytes(), contentType);
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> put(String key, byte[] content, String contentType) {
+        objects.put(key, new Stored(content.clone(), contentType, Instant.now()));
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public CompletableFuture<InputStream> open(String key) {
+        return read(key).thenApply(ByteArrayInputStream::new);
+    }
+
+    @Override
+    public CompletableFuture<byte[]> read(String key) {
+
+        Stored stored = objects.get(key);
+
+        return stored != null
+                ? CompletableFuture.completedFuture(stored.content().clone())
+                : CompletableFuture.failedFuture(new NoSuchFileException(key));
+    }
+
+    @Override
+    public CompletableFuture<Optional<BlobMetadata>> head(String key) {
+        return CompletableFuture.completedFuture(Optional.ofNullable(objects.get(key))
+                .map(s -> new BlobMetadata(s.content().length, s.contentType(), sha256(s.content()))));
+    }
+
+    @Override
+    public CompletableFuture<Void> delete(String key) {
+        objects.remove(key);
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public CompletableFuture<List<BlobListing>> list(String prefix, String startAfter, int limit) {
+        return CompletableFuture.completedFuture(objects.entrySet().stream()
+                .filter(e -> e.getKey().startsWith(prefix))
+                .filter(e -> startAfter == null || e.getKey().compareTo(startAfter) > 0)
+                .sorted(Map.Entry.comparingByKey())
+                .limit(limit)
+                .map(e -> new BlobListing(e.getKey(), e.getValue().content().length, e.getValue().storedAt()))
+                .toList());
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.ticketsmanage.backend.common.storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LocalBlobStoreTest extends BlobStoreContractTest {
+
+    @TempDir
+    Path root;
+
+    @Override
+    protected BlobStore createStore() {
+        return new LocalBlobStore(root);
+    }
+
+    @Test
+    void rejectsKeysOutsideTheRoot() {
+
+        assertThatThrownBy(() -> store.localPath("../escape"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void localPathResolvesUnderTheRoot() {
+
+        assertThat(store.localPath("contract/nested/key"))
+                .hasValue(root.toAbsolutePath().normalize().resolve("contract/nested/key"));
+    }
+}
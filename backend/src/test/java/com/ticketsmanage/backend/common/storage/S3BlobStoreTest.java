@@ -0,0 +1,200 @@
+package com.ticketsmanage.backend.common.storage;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.MinIOContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.model.CreateBucketRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.ListMultipartUploadsRequest;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs the contract and the multipart and ranged paths against MinIO.
+ * Parts are at S3's 5 MiB minimum so the multipart paths are reached
+ * with small objects.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class S3BlobStoreTest extends BlobStoreContractTest {
+
+    private static final String BUCKET = "blob-store-test";
+    private static final int PART_SIZE = 5 * 1024 * 1024;
+    private static final long MULTIPART_THRESHOLD = 6L * 1024 * 1024;
+    private static final int MAX_CONCURRENT_PARTS = 2;
+
+    @Container
+    private static final MinIOContainer MINIO = new MinIOContainer("minio/minio:RELEASE.2023-09-04T19-57-37Z");
+
+    private static S3AsyncClient client;
+    private static S3Presigner presigner;
+
+    @BeforeAll
+    static void createBucket() {
+
+        URI endpoint = URI.create(MINIO.getS3URL());
+        StaticCredentialsProvider credentials = StaticCredentialsProvider.create(
+                AwsBasicCredentials.create(MINIO.getUserName(), MINIO.getPassword()));
+
+        client = S3AsyncClient.builder()
+                .endpointOverride(endpoint)
+                .region(Region.US_EAST_1)
+                .credentialsProvider(credentials)
+                .forcePathStyle(true)
+                .build();
+
+        presigner = S3Presigner.builder()
+                .endpointOverride(endpoint)
+                .region(Region.US_EAST_1)
+                .credentialsProvider(credentials)
+                .serviceConfiguration(S3Configuration.builder().pathStyleAccessEnabled(true).build())
+                .build();
+
+        client.createBucket(CreateBucketRequest.builder().bucket(BUCKET).build()).join();
+    }
+
+    @AfterAll
+    static void closeClients() {
+        client.close();
+        presigner.close();
+    }
+
+    @Override
+    protected BlobStore createStore() {
+        return new S3BlobStore(client, presigner, BUCKET, PART_SIZE, MULTIPART_THRESHOLD, MAX_CONCURRENT_PARTS);
+    }
+
+    @Test
+    void uploadsAboveThePartSizeInParts() {
+
+        byte[] content = bytes(2 * PART_SIZE + 123_456);
+
+        BlobStore.await(store.put(
+                "s3/multipart", new ByteArrayInputStream(content), (long) content.length, "application/octet-stream"));
+
+        assertThat(BlobStore.await(store.read("s3/multipart"))).isEqualTo(content);
+        assertThat(partCount("s3/multipart")).isEqualTo(3);
+    }
+
+    @Test
+    void uploadsBodiesOfUnknownLength() {
+
+        byte[] large = bytes(PART_SIZE + 1);
+        byte[] small = bytes(1000);
+
+        BlobStore.await(store.put("s3/unknown-large", new ByteArrayInputStream(large), null, "text/plain"));
+        BlobStore.await(store.put("s3/unknown-small", new ByteArrayInputStream(small), null, "text/plain"));
+
+        assertThat(BlobStore.await(store.read("s3/unknown-large"))).isEqualTo(large);
+        assertThat(partCount("s3/unknown-large")).isEqualTo(2);
+
+        // under one part the upload is a plain PUT
+        assertThat(BlobStore.await(store.read("s3/unknown-small"))).isEqualTo(small);
+        assertThat(partCount("s3/unknown-small")).isZero();
+    }
+
+    @Test
+    void reassemblesParallelRangedReadsInOrder() throws Exception {
+
+        byte[] content = bytes(3 * PART_SIZE + 777);
+
+        BlobStore.await(store.put("s3/ranged", content, "application/octet-stream"));
+
+        try (InputStream in = BlobStore.await(store.open("s3/ranged"))) {
+
+            assertThat(in).isInstanceOf(ParallelRangeInputStream.class);
+
+            // odd read sizes cross part boundaries
+            byte[] read = new byte[content.length];
+            int position = 0;
+            int chunk = 1;
+
+            while (position < read.length) {
+                int n = in.read(read, position, Math.min(chunk, read.length - position));
+                assertThat(n).isPositive();
+                position += n;
+                chunk = chunk * 3 % 100_003 + 1;
+            }
+
+            assertThat(in.read()).isEqualTo(-1);
+            assertThat(read).isEqualTo(content);
+        }
+    }
+
+    @Test
+    void abortedUploadLeavesNoObjectOrParts() throws Exception {
+
+        InputStream failing = new InputStream() {
+
+            private final InputStream content = new ByteArrayInputStream(bytes(PART_SIZE + PART_SIZE / 2));
+
+            @Override
+            public int read() throws IOException {
+                throw new IOException("client went away");
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+
+                int n = content.read(buffer, offset, length);
+
+                if (n < 0) {
+                    throw new IOException("client went away");
+                }
+
+                return n;
+            }
+        };
+
+        CompletableFuture<Void> upload = store.put("s3/aborted", failing, null, "application/octet-stream");
+
+        assertThatThrownBy(() -> BlobStore.await(upload)).hasRootCauseMessage("client went away");
+
+        assertThat(BlobStore.await(store.head("s3/aborted"))).isEmpty();
+
+        // the abort is sent without waiting for it
+        for (int attempt = 0; attempt < 50 && pendingUploads("s3/aborted") > 0; attempt++) {
+            Thread.sleep(100);
+        }
+
+        assertThat(pendingUploads("s3/aborted")).isZero();
+    }
+
+    // multipart objects carry an ETag of "<md5>-<parts>"
+    private static int partCount(String key) {
+
+        String eTag = client.headObject(HeadObjectRequest.builder().bucket(BUCKET).key(key).build())
+                .join()
+                .eTag()
+                .replace("\"", "");
+
+        int dash = eTag.lastIndexOf('-');
+
+        return dash < 0 ? 0 : Integer.parseInt(eTag.substring(dash + 1));
+    }
+
+    private static int pendingUploads(String key) {
+        return client.listMultipartUploads(ListMultipartUploadsRequest.builder()
+                        .bucket(BUCKET)
+                        .prefix(key)
+                        .build())
+                .join()
+                .uploads()
+                .size();
+    }
+}
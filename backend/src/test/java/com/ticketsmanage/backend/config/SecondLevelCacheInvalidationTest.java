@@ -0,0 +1,244 @@
+package com.ticketsmanage.backend.config;
+
+import com.ticketsmanage.backend.ticket.dto.AssignTicketRequest;
+import com.ticketsmanage.backend.ticket.dto.UpdateTicketStatusRequest;
+import com.ticketsmanage.backend.ticket.entity.TicketEntity;
+import com.ticketsmanage.backend.ticket.entity.TicketPriority;
+import com.ticketsmanage.backend.ticket.entity.TicketStatus;
+import com.ticketsmanage.backend.ticket.repository.TicketRepository;
+import com.ticketsmanage.backend.ticket.service.TicketService;
+import com.ticketsmanage.backend.user.dto.UpdateUserRoleRequest;
+import com.ticketsmanage.backend.user.dto.UpdateUserStatusRequest;
+import com.ticketsmanage.backend.user.entity.UserEntity;
+import com.ticketsmanage.backend.user.entity.UserRole;
+import com.ticketsmanage.backend.user.repository.UserRepository;
+import com.ticketsmanage.backend.user.service.AdminUserService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Writes through the services must invalidate the second-level cache
+ * regions they touch, and a rolled-back write must leave them alone.
+ * Every read runs in its own transaction, so it can only be served by
+ * the database or the shared cache, never the persistence context.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@WithMockUser(username = SecondLevelCacheInvalidationTest.ADMIN_EMAIL)
+class SecondLevelCacheInvalidationTest {
+
+    static final String ADMIN_EMAIL = "cache-admin@example.com";
+
+    @Autowired
+    private AdminUserService adminUserService;
+
+    @Autowired
+    private TicketService ticketService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private UserEntity agent;
+    private UserEntity otherAgent;
+    private TicketEntity ticket;
+
+    @BeforeEach
+    void setUp() {
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        if (userRepository.findByEmail(ADMIN_EMAIL).isEmpty()) {
+            save(user(ADMIN_EMAIL, UserRole.ADMIN));
+        }
+
+        agent = save(user("agent-" + UUID.randomUUID() + "@example.com", UserRole.SUPPORT_AGENT));
+        otherAgent = save(user("agent-" + UUID.randomUUID() + "@example.com", UserRole.SUPPORT_AGENT));
+        UserEntity customer = save(user("customer-" + UUID.randomUUID() + "@example.com", UserRole.USER));
+
+        ticket = inTransaction(() -> ticketRepository.save(TicketEntity.builder()
+                .title("Printer on fire")
+                .description("Again")
+                .status(TicketStatus.OPEN)
+                .priority(TicketPriority.HIGH)
+                .owner(customer)
+                .assignee(agent)
+                .deleted(false)
+                .build()));
+
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void roleChangeIsReadBackThroughBothUserRegions() {
+
+        warmUser(agent);
+
+        adminUserService.updateUserRole(agent.getId(), new UpdateUserRoleRequest(UserRole.USER));
+
+        assertThat(byEmail(agent).getRole()).isEqualTo(UserRole.USER);
+        assertThat(byId(agent).getRole()).isEqualTo(UserRole.USER);
+    }
+
+    @Test
+    void statusChangeIsReadBackThroughBothUserRegions() {
+
+        warmUser(agent);
+
+        adminUserService.updateUserStatus(agent.getId(), new UpdateUserStatusRequest(false));
+
+        assertThat(byEmail(agent).isActive()).isFalse();
+        assertThat(byId(agent).isActive()).isFalse();
+    }
+
+    @Test
+    void ticketStatusAndAssigneeChangesAreReadBack() {
+
+        warmTicket();
+
+        ticketService.updateStatus(ticket.getId(), new UpdateTicketStatusRequest(TicketStatus.IN_PROGRESS));
+
+        assertThat(ticketById().getStatus()).isEqualTo(TicketStatus.IN_PROGRESS);
+
+        warmTicket();
+
+        ticketService.assignTicket(ticket.getId(), new AssignTicketRequest(otherAgent.getId()));
+
+        assertThat(inTransaction(() -> ticketRepository.findById(ticket.getId()).orElseThrow()
+                .getAssignee()
+                .getId()))
+                .isEqualTo(otherAgent.getId());
+    }
+
+    @Test
+    void rolledBackUserChangeLeavesTheCachedValue() {
+
+        warmUser(agent);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            adminUserService.updateUserRole(agent.getId(), new UpdateUserRoleRequest(UserRole.USER));
+            adminUserService.updateUserStatus(agent.getId(), new UpdateUserStatusRequest(false));
+            status.setRollbackOnly();
+        });
+
+        UserEntity cached = fromCache(() -> byId(agent));
+
+        assertThat(cached.getRole()).isEqualTo(UserRole.SUPPORT_AGENT);
+        assertThat(cached.isActive()).isTrue();
+        assertThat(byEmail(agent).getRole()).isEqualTo(UserRole.SUPPORT_AGENT);
+    }
+
+    @Test
+    void rolledBackTicketChangeLeavesTheCachedValue() {
+
+        warmTicket();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            ticketService.updateStatus(ticket.getId(), new UpdateTicketStatusRequest(TicketStatus.IN_PROGRESS));
+            ticketService.assignTicket(ticket.getId(), new AssignTicketRequest(otherAgent.getId()));
+            status.setRollbackOnly();
+        });
+
+        TicketEntity cached = fromCache(this::ticketById);
+
+        assertThat(cached.getStatus()).isEqualTo(TicketStatus.OPEN);
+        assertThat(inTransaction(() -> ticketRepository.findById(ticket.getId()).orElseThrow()
+                .getAssignee()
+                .getId()))
+                .isEqualTo(agent.getId());
+    }
+
+    // loads the user by email and by id, then checks both are now served from the cache
+    private void warmUser(UserEntity user) {
+
+        byEmail(user);
+        byId(user);
+
+        long naturalIdHits = statistics.getNaturalIdCacheHitCount();
+        long hits = statistics.getSecondLevelCacheHitCount();
+
+        byEmail(user);
+        byId(user);
+
+        assertThat(statistics.getNaturalIdCacheHitCount()).isGreaterThan(naturalIdHits);
+        assertThat(statistics.getSecondLevelCacheHitCount()).isGreaterThan(hits);
+        assertThat(entityManagerFactory.getCache().contains(UserEntity.class, user.getId())).isTrue();
+    }
+
+    private void warmTicket() {
+
+        ticketById();
+
+        assertThat(entityManagerFactory.getCache().contains(TicketEntity.class, ticket.getId())).isTrue();
+    }
+
+    /**
+     * Reads twice and returns the second read, which must be a cache hit.
+     * An update that was flushed before its rollback leaves the entry
+     * locked, so the first read may go to the database; either way it
+     * puts the committed value back.
+     */
+    private <T> T fromCache(Supplier<T> read) {
+
+        read.get();
+
+        long hits = statistics.getSecondLevelCacheHitCount();
+        T cached = read.get();
+
+        assertThat(statistics.getSecondLevelCacheHitCount()).isGreaterThan(hits);
+
+        return cached;
+    }
+
+    private UserEntity byEmail(UserEntity user) {
+        return inTransaction(() -> userRepository.findByEmail(user.getEmail()).orElseThrow());
+    }
+
+    private UserEntity byId(UserEntity user) {
+        return inTransaction(() -> userRepository.findById(user.getId()).orElseThrow());
+    }
+
+    private TicketEntity ticketById() {
+        return inTransaction(() -> ticketRepository.findById(ticket.getId()).orElseThrow());
+    }
+
+    private UserEntity save(UserEntity user) {
+        return inTransaction(() -> userRepository.save(user));
+    }
+
+    private <T> T inTransaction(Supplier<T> work) {
+        return transactionTemplate.execute(status -> work.get());
+    }
+
+    private static UserEntity user(String email, UserRole role) {
+        return UserEntity.builder()
+                .email(email)
+                .firstName("Cache")
+                .lastName("Test")
+                .role(role)
+                .active(true)
+                .build();
+    }
+}
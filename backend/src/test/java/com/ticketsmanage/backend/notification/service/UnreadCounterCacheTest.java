@@ -0,0 +1,148 @@
+package com.ticketsmanage.backend.notification.service;
+
+import com.ticketsmanage.backend.notification.repository.NotificationCounterRepository;
+import com.ticketsmanage.backend.notification.repository.UnreadCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.RepeatedTest;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Increments, single reads, mark-all-read and cache loads racing on one
+ * user must leave the cached count equal to the table's. Each write runs
+ * in a simulated transaction whose afterCommit is delayed by a random
+ * pause, so commits reach the cache out of order. Writers move in lockstep
+ * rounds, so the last writes race as hard as the first.
+ */
+class UnreadCounterCacheTest {
+
+    private static final UUID USER = UUID.randomUUID();
+    private static final int WRITERS = 8;
+    private static final int ROUNDS = 500;
+
+    private final NotificationCounterRepository counterRepository = mock(NotificationCounterRepository.class);
+
+    // user_notification_counters, with the row lock as the monitor
+    private final Object row = new Object();
+    private long count;
+    private long version;
+
+    private UnreadCounterCache cache;
+
+    @BeforeEach
+    void setUp() {
+
+        when(counterRepository.find(any())).thenAnswer(invocation -> {
+            synchronized (row) {
+                return new UnreadCounter(count, version);
+            }
+        });
+
+        when(counterRepository.applyDelta(any(), anyLong())).thenAnswer(invocation -> {
+            synchronized (row) {
+                count = Math.max(count + invocation.getArgument(1, Long.class), 0);
+                version++;
+                return new UnreadCounter(count, version);
+            }
+        });
+
+        cache = new UnreadCounterCache(counterRepository, 1_000, Duration.ofMinutes(5));
+    }
+
+    @RepeatedTest(5)
+    void concurrentUpdatesAreNotLost() throws Exception {
+
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS + 1);
+        CountDownLatch start = new CountDownLatch(1);
+        CyclicBarrier round = new CyclicBarrier(WRITERS);
+        List<Future<?>> writers = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < WRITERS; i++) {
+                writers.add(executor.submit(() -> {
+                    start.await();
+
+                    for (int r = 0; r < ROUNDS; r++) {
+
+                        round.await(30, TimeUnit.SECONDS);
+
+                        int roll = ThreadLocalRandom.current().nextInt(10);
+
+                        if (roll < 6) {
+                            inTransaction(() -> cache.apply(USER, 1));
+                        } else if (roll < 9) {
+                            inTransaction(() -> cache.apply(USER, -1));
+                        } else {
+                            // mark all read subtracts whatever it saw unread
+                            inTransaction(() -> cache.apply(USER, -cache.get(USER)));
+                        }
+                    }
+                    return null;
+                }));
+            }
+
+            // the first read loads the entry while the writers are already offering to it
+            Future<?> reader = executor.submit(() -> {
+                start.await();
+
+                while (!writers.stream().allMatch(Future::isDone)) {
+                    cache.get(USER);
+                }
+                return null;
+            });
+
+            start.countDown();
+
+            for (Future<?> writer : writers) {
+                writer.get(30, TimeUnit.SECONDS);
+            }
+            reader.get(30, TimeUnit.SECONDS);
+
+        } finally {
+            executor.shutdownNow();
+        }
+
+        synchronized (row) {
+            assertThat(version).isPositive();
+            assertThat(cache.get(USER)).isEqualTo(count);
+        }
+    }
+
+    private static void inTransaction(Runnable work) {
+
+        TransactionSynchronizationManager.initSynchronization();
+
+        List<TransactionSynchronization> synchronizations;
+
+        try {
+            work.run();
+            synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // the row lock is released at commit, before afterCommit runs
+        LockSupport.parkNanos(ThreadLocalRandom.current().nextLong(200_000));
+
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+    }
+}
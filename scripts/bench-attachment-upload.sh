@@ -0,0 +1,55 @@
+#!/usr/bin/env bash
+# Compares the multipart upload with the streaming upload for one large file.
+#
+# Reports wall time and throughput per run; with BACKEND_PID set (backend on
+# the same machine) it also reports bytes the backend process wrote to disk,
+# read from /proc/<pid>/io.
+#
+# Usage:
+#   TOKEN=<jwt> TICKET_ID=<uuid> [BASE_URL=http://localhost:8080] \
+#   [SIZE_MB=100] [RUNS=3] [BACKEND_PID=<pid>] scripts/bench-attachment-upload.sh
+
+set -euo pipefail
+
+: "${TOKEN:?TOKEN is required}"
+: "${TICKET_ID:?TICKET_ID is required}"
+
+BASE_URL="${BASE_URL:-http://localhost:8080}"
+SIZE_MB="${SIZE_MB:-100}"
+RUNS="${RUNS:-3}"
+URL="$BASE_URL/api/tickets/$TICKET_ID/attachments"
+
+FILE="$(mktemp)"
+trap 'rm -f "$FILE"' EXIT
+
+dd if=/dev/urandom of="$FILE" bs=1M count="$SIZE_MB" status=none
+
+written_bytes() {
+    if [[ -n "${BACKEND_PID:-}" ]]; then
+        awk '/^write_bytes/ {print $2}' "/proc/$BACKEND_PID/io"
+    else
+        echo 0
+    fi
+}
+
+run() {
+    local label="$1"
+    shift
+
+    for i in $(seq 1 "$RUNS"); do
+        local before after seconds
+        before="$(written_bytes)"
+
+        seconds="$(curl -sS -o /dev/null -w '%{time_total}' --fail \
+            -H "Authorization: Bearer $TOKEN" "$@")"
+
+        after="$(written_bytes)"
+
+        awk -v l="$label" -v i="$i" -v s="$seconds" -v mb="$SIZE_MB" -v w="$((after - before))" \
+            'BEGIN { printf "%-10s run %d: %6.2fs  %7.1f MB/s  disk written %6.1f MB\n", l, i, s, mb / s, w / 1048576 }'
+    done
+}
+
+run multipart -X POST -F "file=@$FILE;type=application/octet-stream" "$URL"
+run stream -X POST -H "Content-Type: application/octet-stream" \
+    -T "$FILE" "$URL/stream?fileName=bench.bin"
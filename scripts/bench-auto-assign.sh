@@ -0,0 +1,53 @@
+#!/usr/bin/env bash
+# Creates tickets concurrently and reports how fast they were created and
+# auto-assigned, then how evenly the load spread across agents.
+#
+# TOKEN must belong to an admin, so the per-agent load can be read back.
+# The spread is the gap between the most and least loaded eligible agent,
+# in weighted load; with correct assignment it stays within one ticket's
+# weight however high CONCURRENCY is.
+#
+# Usage:
+#   TOKEN=<admin jwt> [BASE_URL=http://localhost:8080] \
+#   [TICKETS=2000] [CONCURRENCY=32] scripts/bench-auto-assign.sh
+
+set -euo pipefail
+
+: "${TOKEN:?TOKEN is required}"
+
+BASE_URL="${BASE_URL:-http://localhost:8080}"
+TICKETS="${TICKETS:-2000}"
+CONCURRENCY="${CONCURRENCY:-32}"
+
+create() {
+    local priorities=(LOW MEDIUM HIGH URGENT)
+    local priority="${priorities[$(( $1 % 4 ))]}"
+
+    curl -sS -o /dev/null --fail -X POST \
+        -H "Authorization: Bearer $TOKEN" \
+        -H "Content-Type: application/json" \
+        -d "{\"title\":\"bench $1\",\"description\":\"auto-assign benchmark\",\"priority\":\"$priority\"}" \
+        "$BASE_URL/api/tickets"
+}
+
+export -f create
+export TOKEN BASE_URL
+
+start="$(date +%s.%N)"
+
+seq 1 "$TICKETS" | xargs -P "$CONCURRENCY" -I{} bash -c 'create {}'
+
+end="$(date +%s.%N)"
+
+awk -v n="$TICKETS" -v s="$start" -v e="$end" -v c="$CONCURRENCY" \
+    'BEGIN { printf "created %d tickets with %d clients in %.2fs: %.0f tickets/s\n", n, c, e - s, n / (e - s) }'
+
+curl -sS --fail -H "Authorization: Bearer $TOKEN" "$BASE_URL/api/admin/assignment/load" \
+    | python3 -c '
+import json, sys
+loads = [a["weightedLoad"] for a in json.load(sys.stdin) if a["eligible"]]
+if loads:
+    print(f"{len(loads)} agents, weighted load min {min(loads)} max {max(loads)} spread {max(loads) - min(loads)}")
+else:
+    print("no eligible agents")
+'